@@ -0,0 +1,48 @@
+package com.smartgrievance.benchmarks;
+
+import com.smartgrievance.controller.AdminController;
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.model.User;
+import com.smartgrievance.service.FeedbackService;
+import com.smartgrievance.shard.SingleShardResolver;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO mapping in AdminController.allFeedbacks and FeedbackService.my.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    @Param({"10000", "100000"})
+    public int size;
+
+    private AdminController adminController;
+    private FeedbackService feedbackService;
+    private User citizen;
+
+    @Setup
+    public void setup() {
+        Fixtures fx = Fixtures.generate(size);
+        feedbackService = new FeedbackService(InMemoryRepositories.feedbacks(fx.feedbacks), InMemoryRepositories.emptyArchive(), InMemoryRepositories.users(fx.users), null, event -> {}, null,
+                new SingleShardResolver(), InMemoryRepositories.shardExecutor(), false);
+        adminController = new AdminController(InMemoryRepositories.users(fx.users), feedbackService, new BCryptPasswordEncoder(), null, null, null, null, new SingleShardResolver(), null, null);
+        citizen = fx.citizens.get(0);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<FeedbackDtos.AdminItem>> adminAllFeedbacks() {
+        return adminController.allFeedbacks(null);
+    }
+
+    @Benchmark
+    public List<FeedbackDtos.FeedbackResponse> citizenMy() {
+        return feedbackService.my(citizen);
+    }
+}
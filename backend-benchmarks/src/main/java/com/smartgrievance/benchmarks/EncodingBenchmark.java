@@ -0,0 +1,91 @@
+package com.smartgrievance.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.smartgrievance.controller.AdminController;
+import com.smartgrievance.dto.CompactEncoding;
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.service.FeedbackService;
+import com.smartgrievance.shard.SingleShardResolver;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialization cost and size of the admin feedback list and the statistics response as
+// JSON (the default), plain CBOR and CBOR in the compact form (enum codes, epoch millis).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+    @Param({"10000"})
+    public int size;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper compact;
+    private List<FeedbackDtos.AdminItem> items;
+    private FeedbackDtos.StatisticsResponse statistics;
+
+    @Setup
+    public void setup() throws IOException {
+        // the same builder Spring Boot configures the application's mapper with
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = json.copyWith(new CBORFactory());
+        compact = CompactEncoding.mapper(json);
+        Fixtures fx = Fixtures.generate(size);
+        FeedbackService feedbackService = new FeedbackService(InMemoryRepositories.feedbacks(fx.feedbacks), InMemoryRepositories.emptyArchive(), InMemoryRepositories.users(fx.users), null, event -> {}, null,
+                new SingleShardResolver(), InMemoryRepositories.shardExecutor(), false);
+        AdminController adminController = new AdminController(InMemoryRepositories.users(fx.users), feedbackService, new BCryptPasswordEncoder(), null, null, null, null, new SingleShardResolver(), null, null);
+        items = adminController.allFeedbacks(null).getBody();
+        statistics = feedbackService.getAdminStatistics();
+        System.out.printf("%nadmin list of %d: json %s, cbor %s, compact cbor %s%n", items.size(),
+                sizes(json, items), sizes(cbor, items), sizes(compact, items));
+        System.out.printf("statistics: json %s, cbor %s, compact cbor %s%n",
+                sizes(json, statistics), sizes(cbor, statistics), sizes(compact, statistics));
+    }
+
+    @Benchmark
+    public byte[] adminListJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] adminListCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] adminListCompact() throws JsonProcessingException {
+        return compact.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] statisticsJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(statistics);
+    }
+
+    @Benchmark
+    public byte[] statisticsCompact() throws JsonProcessingException {
+        return compact.writeValueAsBytes(statistics);
+    }
+
+    // "raw bytes (gzipped bytes)"
+    private static String sizes(ObjectMapper mapper, Object value) throws IOException {
+        byte[] raw = mapper.writeValueAsBytes(value);
+        ByteArrayOutputStream gz = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gz)) {
+            out.write(raw);
+        }
+        return raw.length + " (" + gz.size() + " gzipped)";
+    }
+}
@@ -0,0 +1,90 @@
+package com.smartgrievance.benchmarks;
+
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic data: same seed, same dataset, so runs are comparable.
+final class Fixtures {
+    static final int OFFICERS = 50;
+    static final int FEEDBACKS_PER_CITIZEN = 10;
+
+    private static final String DESCRIPTION = "Streetlight on the corner has been out for two weeks and the road is unsafe "
+            + "for pedestrians after dark. Several neighbours have reported the same problem.";
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BRRZ.8Gv2Z7gR/u8Z0Hh/2lUjvH.";
+
+    final List<User> users = new ArrayList<>();
+    final List<User> officers = new ArrayList<>();
+    final List<User> citizens = new ArrayList<>();
+    final List<Feedback> feedbacks = new ArrayList<>();
+
+    private Fixtures() {}
+
+    static Fixtures generate(int feedbackCount) {
+        Fixtures fx = new Fixtures();
+        SplittableRandom rnd = new SplittableRandom(42);
+        long userId = 1;
+        fx.users.add(user(userId++, "admin@example.com", Role.ADMIN));
+        for (int i = 0; i < OFFICERS; i++) {
+            User o = user(userId++, "officer" + i + "@example.com", Role.OFFICER);
+            fx.officers.add(o);
+            fx.users.add(o);
+        }
+        int citizenCount = Math.max(1, feedbackCount / FEEDBACKS_PER_CITIZEN);
+        for (int i = 0; i < citizenCount; i++) {
+            User c = user(userId++, "citizen" + i + "@example.com", Role.CITIZEN);
+            fx.citizens.add(c);
+            fx.users.add(c);
+        }
+
+        FeedbackType[] types = FeedbackType.values();
+        FeedbackStatus[] statuses = FeedbackStatus.values();
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        for (long id = 1; id <= feedbackCount; id++) {
+            Feedback f = new Feedback();
+            f.setId(id);
+            f.setTitle("Grievance #" + id);
+            f.setDescription(DESCRIPTION);
+            boolean anonymous = rnd.nextInt(4) == 0;
+            f.setAnonymous(anonymous);
+            f.setPublic(!anonymous);
+            f.setType(types[rnd.nextInt(types.length)]);
+            f.setSubmissionType(rnd.nextBoolean() ? SubmissionType.GRIEVANCE : SubmissionType.FEEDBACK);
+            f.setStatus(statuses[rnd.nextInt(statuses.length)]);
+            f.setCreatedAt(base.plusSeconds(id * 60));
+            f.setUpdatedAt(base.plusSeconds(id * 60 + rnd.nextInt(86_400)));
+            f.setCitizen(fx.citizens.get((int) ((id - 1) % citizenCount)));
+            if (f.getStatus() != FeedbackStatus.SUBMITTED) {
+                f.setAssignedOfficer(fx.officers.get(rnd.nextInt(OFFICERS)));
+            }
+            if (f.getSubmissionType() == SubmissionType.GRIEVANCE && rnd.nextBoolean()) {
+                f.setDeadline(LocalDateTime.of(2025, 1, 1, 23, 59).plusDays(rnd.nextInt(365)));
+            }
+            if (f.getStatus() == FeedbackStatus.RESOLVED && rnd.nextBoolean()) {
+                f.setRating(1 + rnd.nextInt(5));
+                f.setRatingComment("Resolved quickly");
+            }
+            fx.feedbacks.add(f);
+        }
+        return fx;
+    }
+
+    private static User user(long id, String email, Role role) {
+        User u = new User();
+        u.setId(id);
+        u.setName(email.substring(0, email.indexOf('@')));
+        u.setEmail(email);
+        u.setPassword(PASSWORD_HASH);
+        u.setRole(role);
+        return u;
+    }
+}
@@ -0,0 +1,113 @@
+package com.smartgrievance.benchmarks;
+
+import com.smartgrievance.config.ShardingProperties;
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.ArchivedFeedbackRepository;
+import com.smartgrievance.repository.FeedbackRepository;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.shard.ShardExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Repository fakes backed by plain collections. Only the methods exercised by the
+// benchmarks are implemented; anything else fails loudly so a benchmark never
+// silently measures a no-op.
+final class InMemoryRepositories {
+    private InMemoryRepositories() {}
+
+    static FeedbackRepository feedbacks(List<Feedback> all) {
+        Map<Long, List<Feedback>> byCitizen = new HashMap<>();
+        Map<Long, List<Feedback>> byOfficer = new HashMap<>();
+        for (Feedback f : all) {
+            byCitizen.computeIfAbsent(f.getCitizen().getId(), k -> new ArrayList<>()).add(f);
+            if (f.getAssignedOfficer() != null) {
+                byOfficer.computeIfAbsent(f.getAssignedOfficer().getId(), k -> new ArrayList<>()).add(f);
+            }
+        }
+        return proxy(FeedbackRepository.class, (name, args) -> switch (name) {
+            case "findAll" -> all;
+            case "count" -> (long) all.size();
+            case "findByCitizen" -> byCitizen.getOrDefault(((User) args[0]).getId(), List.of());
+            case "findByAssignedOfficer" -> byOfficer.getOrDefault(((User) args[0]).getId(), List.of());
+            case "countGroupedByDepartment" -> countGrouped(all, (String) args[0]);
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    // An empty archive: benchmarks measure the live table
+    static ArchivedFeedbackRepository emptyArchive() {
+        return proxy(ArchivedFeedbackRepository.class, (name, args) -> switch (name) {
+            case "count" -> 0L;
+            case "findByCitizenIdOrderByCreatedAtDesc", "aggregateByOfficerTypeAndStatus",
+                 "ratingTotalsForOfficer", "countGroupedByDepartment" -> List.of();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static UserRepository users(List<User> all) {
+        Map<String, User> byEmail = new HashMap<>();
+        for (User u : all) byEmail.put(u.getEmail(), u);
+        return proxy(UserRepository.class, (name, args) -> switch (name) {
+            case "findAll" -> all;
+            case "findByEmail" -> Optional.ofNullable(byEmail.get((String) args[0]));
+            case "existsByEmail" -> byEmail.containsKey((String) args[0]);
+            case "findByRole" -> all.stream().filter(u -> u.getRole() == (Role) args[0]).toList();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    // status, type, submissionType, count, assigned count, as the GROUP BY query returns them
+    private static List<Object[]> countGrouped(List<Feedback> all, String department) {
+        Map<List<Object>, long[]> groups = new LinkedHashMap<>();
+        for (Feedback f : all) {
+            if (!department.equals(f.getDepartment())) continue;
+            long[] c = groups.computeIfAbsent(List.of(f.getStatus(), f.getType(), f.getSubmissionType()), k -> new long[2]);
+            c[0]++;
+            if (f.getAssignedOfficer() != null) c[1]++;
+        }
+        List<Object[]> rows = new ArrayList<>(groups.size());
+        groups.forEach((k, c) -> rows.add(new Object[]{k.get(0), k.get(1), k.get(2), c[0], c[1]}));
+        return rows;
+    }
+
+    // A single-department ShardExecutor whose transactions are no-ops
+    static ShardExecutor shardExecutor() {
+        PlatformTransactionManager noTransactions = new PlatformTransactionManager() {
+            @Override public TransactionStatus getTransaction(TransactionDefinition definition) { return new SimpleTransactionStatus(); }
+            @Override public void commit(TransactionStatus status) {}
+            @Override public void rollback(TransactionStatus status) {}
+        };
+        return new ShardExecutor(new ShardingProperties("single", List.of("general"), Map.of(), 1), noTransactions, new SimpleMeterRegistry());
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> p == args[0];
+                    case "hashCode" -> System.identityHashCode(p);
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.invoke(method.getName(), args);
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.smartgrievance.benchmarks;
+
+import com.smartgrievance.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "VGhpc0lzQVN1cGVyU2VjcmV0S2V5Rm9yU21hcnRHcmlldmFuY2UxMjM0NQ==";
+
+    private JwtUtil jwtUtil;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, new SimpleMeterRegistry());
+        claims = Map.of("role", "CITIZEN", "uid", 12345L);
+        token = jwtUtil.generateToken("citizen@example.com", claims);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("citizen@example.com", claims);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtUtil.parse(token);
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartgrievance.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.model.Feedback;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Response body of a status change: the Feedback entity (with both users and the @Lob
+// fields) as it used to be returned, against the MutationResult DTO.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutationResponseBenchmark {
+    private ObjectMapper mapper;
+    private Feedback feedback;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Fixtures fx = Fixtures.generate(100);
+        feedback = fx.feedbacks.stream().filter(f -> f.getAssignedOfficer() != null).findFirst().orElseThrow();
+        feedback.setAdminMessage("Please prioritise this one, it has been reported several times.");
+        feedback.setRatingComment("Quick response, thank you.");
+        System.out.printf("%nentity: %d bytes, mutation result: %d bytes%n",
+                mapper.writeValueAsBytes(feedback).length,
+                mapper.writeValueAsBytes(FeedbackDtos.MutationResult.of(feedback)).length);
+    }
+
+    @Benchmark
+    public byte[] entity() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(feedback);
+    }
+
+    @Benchmark
+    public byte[] mutationResult() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(FeedbackDtos.MutationResult.of(feedback));
+    }
+}
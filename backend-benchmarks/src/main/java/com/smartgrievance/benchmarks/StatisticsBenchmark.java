@@ -0,0 +1,33 @@
+package com.smartgrievance.benchmarks;
+
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.service.FeedbackService;
+import com.smartgrievance.shard.SingleShardResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class StatisticsBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private FeedbackService feedbackService;
+
+    @Setup
+    public void setup() {
+        Fixtures fx = Fixtures.generate(size);
+        feedbackService = new FeedbackService(InMemoryRepositories.feedbacks(fx.feedbacks), InMemoryRepositories.emptyArchive(), InMemoryRepositories.users(fx.users), null, event -> {}, null,
+                new SingleShardResolver(), InMemoryRepositories.shardExecutor(), false);
+    }
+
+    @Benchmark
+    public FeedbackDtos.StatisticsResponse adminStatistics() {
+        return feedbackService.getAdminStatistics();
+    }
+}
@@ -0,0 +1,33 @@
+package com.smartgrievance.benchmarks;
+
+import com.smartgrievance.service.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+    private CustomUserDetailsService userDetailsService;
+    private String[] emails;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Fixtures fx = Fixtures.generate(1_000_000);
+        userDetailsService = new CustomUserDetailsService(InMemoryRepositories.users(fx.users));
+        emails = fx.citizens.stream().limit(4096).map(u -> u.getEmail()).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        String email = emails[next];
+        next = (next + 1) & (emails.length - 1);
+        return userDetailsService.loadUserByUsername(email);
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartgrievance.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histogram (microsecond resolution, up to one minute) plus request/error counters.
+class EndpointStats {
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    record Summary(long requests, long errors, double throughputPerSecond,
+                   double meanMs, double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    void record(long nanos, boolean ok) {
+        latencyMicros.recordValue(Math.min(MAX_MICROS, Math.max(1, nanos / 1_000)));
+        requests.increment();
+        if (!ok) errors.increment();
+    }
+
+    void merge(EndpointStats other) {
+        latencyMicros.add(other.latencyMicros);
+        requests.add(other.requests());
+        errors.add(other.errors());
+    }
+
+    long requests() { return requests.sum(); }
+    long errors() { return errors.sum(); }
+
+    Summary summary(double elapsedSeconds) {
+        return new Summary(
+                requests(),
+                errors(),
+                elapsedSeconds > 0 ? requests() / elapsedSeconds : 0,
+                latencyMicros.getMean() / 1_000.0,
+                latencyMicros.getValueAtPercentile(50) / 1_000.0,
+                latencyMicros.getValueAtPercentile(99) / 1_000.0,
+                latencyMicros.getValueAtPercentile(99.9) / 1_000.0,
+                latencyMicros.getMaxValue() / 1_000.0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.smartgrievance.loadtest;
+
+import com.smartgrievance.SmartGrievanceApplication;
+import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.service.FeedbackImportService;
+import com.smartgrievance.service.TrendService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Generates a legacy CSV file and imports it through FeedbackImportService on the
+// in-memory database. Every 500th row references an unknown citizen so the rejection
+// path is exercised. Trend rollups must account for every inserted row, and a second
+// run with the same import id must be a no-op.
+//   mvn -pl backend-benchmarks exec:exec@importtest -Dimporttest.args="--rows=500000"
+public class ImportThroughput {
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int rows = Integer.parseInt(opts.getOrDefault("rows", "200000"));
+        int citizens = Integer.parseInt(opts.getOrDefault("citizens", "20000"));
+        int officers = Integer.parseInt(opts.getOrDefault("officers", "50"));
+        double minRate = Double.parseDouble(opts.getOrDefault("min-rows-per-second", "0"));
+
+        int exitCode = 0;
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(SmartGrievanceApplication.class)
+                .profiles("loadtest")
+                .run()) {
+            seedUsers(ctx.getBean(UserRepository.class), citizens, officers);
+            Path file = Path.of("target", "import-" + rows + ".csv");
+            writeCsv(file, rows, citizens, officers);
+
+            FeedbackImportService importer = ctx.getBean(FeedbackImportService.class);
+            AdminDtos.ImportReport report;
+            try (InputStream in = Files.newInputStream(file)) {
+                report = importer.importFeedback("throughput", FeedbackImportService.Format.CSV, in);
+            }
+            System.out.printf("Imported %s: read %d, inserted %d, rejected %d in %d ms -> %.0f rows/s%n",
+                    file, report.read(), report.inserted(), report.rejected(), report.elapsedMs(), report.rowsPerSecond());
+            long expectedRejected = rows / 500;
+            if (report.rejected() != expectedRejected || report.inserted() != rows - expectedRejected) {
+                System.out.printf("FAILED: expected %d rejected rows%n", expectedRejected);
+                exitCode = 1;
+            }
+            long trended = ctx.getBean(TrendService.class)
+                    .trends(Instant.now().minus(4 * 365, ChronoUnit.DAYS), Instant.now().plus(1, ChronoUnit.DAYS), TrendService.Granularity.DAY)
+                    .stream().mapToLong(p -> p.count()).sum();
+            if (trended != report.inserted()) {
+                System.out.printf("FAILED: trend rollups count %d creations, expected %d%n", trended, report.inserted());
+                exitCode = 1;
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                AdminDtos.ImportReport again = importer.importFeedback("throughput", FeedbackImportService.Format.CSV, in);
+                if (again.inserted() != 0) {
+                    System.out.println("FAILED: re-running a completed import inserted rows");
+                    exitCode = 1;
+                }
+            }
+            if (report.rowsPerSecond() < minRate) {
+                System.out.printf("FAILED: %.0f rows/s is below %.0f%n", report.rowsPerSecond(), minRate);
+                exitCode = 1;
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static void seedUsers(UserRepository users, int citizens, int officers) {
+        // imported rows only reference users by email, so a placeholder hash is enough
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < citizens + officers; i++) {
+            User u = new User();
+            boolean officer = i < officers;
+            u.setName(officer ? "Officer " + i : "Citizen " + i);
+            u.setEmail(officer ? "officer" + i + "@import.local" : "citizen" + i + "@import.local");
+            u.setPassword("not-a-login-account");
+            u.setRole(officer ? Role.OFFICER : Role.CITIZEN);
+            batch.add(u);
+            if (batch.size() == 1000) {
+                users.saveAll(batch);
+                batch.clear();
+            }
+        }
+        users.saveAll(batch);
+    }
+
+    private static void writeCsv(Path file, int rows, int citizens, int officers) throws Exception {
+        Files.createDirectories(file.getParent());
+        SplittableRandom rnd = new SplittableRandom(11);
+        FeedbackType[] types = FeedbackType.values();
+        FeedbackStatus[] statuses = {FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS, FeedbackStatus.RESOLVED, FeedbackStatus.REJECTED};
+        Instant start = Instant.now().minus(3 * 365, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        try (BufferedWriter w = Files.newBufferedWriter(file)) {
+            w.write("submissionType,type,status,title,description,createdAt,citizenEmail,anonymous,isPublic,officerEmail,rating\n");
+            for (int i = 1; i <= rows; i++) {
+                boolean anonymous = rnd.nextInt(4) == 0;
+                FeedbackStatus status = statuses[rnd.nextInt(statuses.length)];
+                String citizen = i % 500 == 0 ? "unknown" + i + "@import.local" : "citizen" + (officers + rnd.nextInt(citizens)) + "@import.local";
+                String officer = status == FeedbackStatus.SUBMITTED ? "" : "officer" + rnd.nextInt(officers) + "@import.local";
+                String rating = status == FeedbackStatus.RESOLVED && rnd.nextBoolean() ? Integer.toString(1 + rnd.nextInt(5)) : "";
+                w.write(rnd.nextBoolean() ? "GRIEVANCE" : "FEEDBACK");
+                w.write(',');
+                w.write(types[rnd.nextInt(types.length)].name());
+                w.write(',');
+                w.write(status.name());
+                w.write(",Legacy grievance " + i + ",\"Migrated from the legacy portal, record " + i + "\",");
+                w.write(start.plusSeconds(i * 60L).toString());
+                w.write(',');
+                w.write(citizen);
+                w.write(',');
+                w.write(Boolean.toString(anonymous));
+                w.write(',');
+                w.write(Boolean.toString(!anonymous));
+                w.write(',');
+                w.write(officer);
+                w.write(',');
+                w.write(rating);
+                w.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.smartgrievance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartgrievance.SmartGrievanceApplication;
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.FeedbackRepository;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.service.OfficerAssignmentEngine;
+import com.smartgrievance.service.OfficerWorkQueue;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Boots the application on an in-memory database and drives closed-loop traffic
+// against the real HTTP endpoints. See backend-benchmarks/README.md for options.
+public class LoadTest {
+    private static final String PASSWORD = "loadtest123";
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    private final LoadTestOptions options;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final List<String> citizenEmails = new ArrayList<>();
+    private final List<String> officerEmails = new ArrayList<>();
+    private String baseUrl;
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode;
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(SmartGrievanceApplication.class)
+                .profiles("loadtest")
+                .run()) {
+            exitCode = new LoadTest(options).run(ctx);
+        }
+        System.exit(exitCode);
+    }
+
+    int run(ConfigurableApplicationContext ctx) throws Exception {
+        int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        seed(ctx);
+
+        System.out.printf("Load test: %s, %d threads, mix %s, warmup %ds, duration %ds%n",
+                baseUrl, options.threads(), options.mixLabel(), options.warmupSeconds(), options.durationSeconds());
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads());
+        for (int i = 0; i < options.threads(); i++) {
+            workers.submit(this::workerLoop);
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.warmupSeconds()));
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.durationSeconds()));
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+
+        return report(elapsedSeconds);
+    }
+
+    private void seed(ConfigurableApplicationContext ctx) {
+        UserRepository users = ctx.getBean(UserRepository.class);
+        FeedbackRepository feedbacks = ctx.getBean(FeedbackRepository.class);
+        String hash = ctx.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> officers = new ArrayList<>();
+        for (int i = 0; i < options.officers(); i++) {
+            officers.add(user("Officer " + i, "officer" + i + "@loadtest.local", hash, Role.OFFICER));
+        }
+        List<User> citizens = new ArrayList<>();
+        for (int i = 0; i < options.citizens(); i++) {
+            citizens.add(user("Citizen " + i, "citizen" + i + "@loadtest.local", hash, Role.CITIZEN));
+        }
+        officers = users.saveAll(officers);
+        citizens = users.saveAll(citizens);
+        officers.forEach(u -> officerEmails.add(u.getEmail()));
+        citizens.forEach(u -> citizenEmails.add(u.getEmail()));
+
+        SplittableRandom rnd = new SplittableRandom(7);
+        FeedbackType[] types = FeedbackType.values();
+        FeedbackStatus[] statuses = {FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS, FeedbackStatus.RESOLVED, FeedbackStatus.REJECTED};
+        List<Feedback> batch = new ArrayList<>();
+        for (int i = 0; i < options.seedFeedbacks(); i++) {
+            Feedback f = new Feedback();
+            f.setTitle("Seeded grievance " + i);
+            f.setDescription("Seeded by the load test to give list and statistics endpoints realistic volume.");
+            boolean anonymous = rnd.nextInt(4) == 0;
+            f.setAnonymous(anonymous);
+            f.setPublic(!anonymous);
+            f.setType(types[rnd.nextInt(types.length)]);
+            f.setSubmissionType(rnd.nextBoolean() ? SubmissionType.GRIEVANCE : SubmissionType.FEEDBACK);
+            f.setStatus(statuses[rnd.nextInt(statuses.length)]);
+            f.setCitizen(citizens.get(rnd.nextInt(citizens.size())));
+            if (f.getStatus() != FeedbackStatus.SUBMITTED) {
+                f.setAssignedOfficer(officers.get(rnd.nextInt(officers.size())));
+            }
+            batch.add(f);
+            if (batch.size() == 500) {
+                feedbacks.saveAll(batch);
+                batch.clear();
+            }
+        }
+        feedbacks.saveAll(batch);
+        // seeding bypasses FeedbackService, so let the assignment engine pick up the new officers and load
+        ctx.getBean(OfficerAssignmentEngine.class).rebuild();
+        ctx.getBean(OfficerWorkQueue.class).rebuild();
+        System.out.printf("Seeded %d officers, %d citizens, %d feedbacks%n", officers.size(), citizens.size(), options.seedFeedbacks());
+    }
+
+    private static User user(String name, String email, String hash, Role role) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setPassword(hash);
+        u.setRole(role);
+        return u;
+    }
+
+    private void workerLoop() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        while (running) {
+            try {
+                Role role = options.pickRole(rnd.nextInt(options.mixTotal()));
+                if (role == null) {
+                    publicAction(rnd);
+                    continue;
+                }
+                switch (role) {
+                    case CITIZEN -> citizenAction(rnd);
+                    case OFFICER -> officerAction(rnd);
+                    case ADMIN -> adminAction(rnd);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // counted as an error by the call that failed; keep the worker alive
+            }
+        }
+    }
+
+    private void citizenAction(ThreadLocalRandom rnd) throws Exception {
+        String email = citizenEmails.get(rnd.nextInt(citizenEmails.size()));
+        String token = token(email, PASSWORD, rnd);
+        if (rnd.nextInt(100) < 30) {
+            FeedbackType type = FeedbackType.values()[rnd.nextInt(FeedbackType.values().length)];
+            boolean anonymous = rnd.nextInt(4) == 0;
+            String body = mapper.writeValueAsString(Map.of(
+                    "title", "Load test grievance",
+                    "description", "Water supply interrupted in the block since morning.",
+                    "isPublic", !anonymous,
+                    "isAnonymous", anonymous,
+                    "type", type.name(),
+                    "submissionType", rnd.nextBoolean() ? "GRIEVANCE" : "FEEDBACK"));
+            call("POST /api/feedback", post("/api/feedback", body, token));
+        } else {
+            call("GET /api/feedback/my", get("/api/feedback/my", token));
+        }
+    }
+
+    private void officerAction(ThreadLocalRandom rnd) throws Exception {
+        String email = officerEmails.get(rnd.nextInt(officerEmails.size()));
+        String token = token(email, PASSWORD, rnd);
+        int draw = rnd.nextInt(3);
+        if (draw == 0) {
+            call("GET /api/feedback/assigned", get("/api/feedback/assigned", token));
+        } else if (draw == 1) {
+            call("GET /api/feedback/assigned/next", get("/api/feedback/assigned/next?limit=10", token));
+        } else {
+            call("GET /api/feedback/statistics", get("/api/feedback/statistics", token));
+        }
+    }
+
+    private void adminAction(ThreadLocalRandom rnd) throws Exception {
+        String token = token(ADMIN_EMAIL, ADMIN_PASSWORD, rnd);
+        int draw = rnd.nextInt(100);
+        if (draw < 40) {
+            call("GET /api/admin/feedbacks", get("/api/admin/feedbacks", token));
+        } else if (draw < 80) {
+            call("GET /api/admin/feedbacks/statistics", get("/api/admin/feedbacks/statistics", token));
+        } else {
+            call("GET /api/admin/feedbacks/trends", get("/api/admin/feedbacks/trends?granularity=HOUR", token));
+        }
+    }
+
+    // Anonymous visitors mostly read the first pages, sometimes filtered by type
+    private void publicAction(ThreadLocalRandom rnd) throws Exception {
+        String path = "/api/public/feedback?page=" + (rnd.nextInt(10) < 8 ? 0 : rnd.nextInt(1, 5));
+        if (rnd.nextInt(4) == 0) {
+            path += "&type=" + FeedbackType.values()[rnd.nextInt(FeedbackType.values().length)].name();
+        }
+        call("GET /api/public/feedback", get(path, null));
+    }
+
+    // Logs in on first use and again with probability login-ratio, so login shows up in the mix.
+    private String token(String email, String password, ThreadLocalRandom rnd) throws Exception {
+        String token = tokens.get(email);
+        if (token != null && rnd.nextDouble() >= options.loginRatio()) {
+            return token;
+        }
+        String body = mapper.writeValueAsString(Map.of("email", email, "password", password));
+        HttpResponse<String> res = call("POST /api/auth/login", post("/api/auth/login", body, null));
+        if (res.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": HTTP " + res.statusCode());
+        }
+        JsonNode json = mapper.readTree(res.body());
+        token = json.get("token").asText();
+        tokens.put(email, token);
+        return token;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> res;
+        try {
+            res = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+        record(endpoint, System.nanoTime() - start, res.statusCode() < 400);
+        return res;
+    }
+
+    private void record(String endpoint, long nanos, boolean ok) {
+        if (!recording) return;
+        stats.computeIfAbsent(endpoint, k -> new EndpointStats()).record(nanos, ok);
+    }
+
+    private int report(double elapsedSeconds) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        EndpointStats total = new EndpointStats();
+        stats.keySet().stream().sorted().forEach(name -> {
+            EndpointStats s = stats.get(name);
+            endpoints.put(name, s.summary(elapsedSeconds));
+            total.merge(s);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", options.asMap());
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("total", total.summary(elapsedSeconds));
+        report.put("endpoints", endpoints);
+
+        Path out = Path.of(options.reportPath());
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        mapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+
+        System.out.printf("%n%-36s %9s %8s %9s %9s %9s %9s%n", "endpoint", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        endpoints.forEach((name, summary) -> printRow(name, (EndpointStats.Summary) summary));
+        printRow("TOTAL", total.summary(elapsedSeconds));
+        System.out.println("Report written to " + out.toAbsolutePath());
+
+        double errorRate = total.requests() == 0 ? 1.0 : (double) total.errors() / total.requests();
+        if (errorRate > options.maxErrorRate()) {
+            System.out.printf("FAILED: error rate %.4f exceeds %.4f%n", errorRate, options.maxErrorRate());
+            return 1;
+        }
+        return 0;
+    }
+
+    private static void printRow(String name, EndpointStats.Summary s) {
+        System.out.printf("%-36s %9.1f %8d %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.throughputPerSecond(), s.errors(), s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs());
+    }
+}
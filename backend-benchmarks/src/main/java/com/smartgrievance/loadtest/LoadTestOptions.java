@@ -0,0 +1,83 @@
+package com.smartgrievance.loadtest;
+
+import com.smartgrievance.model.Role;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+record LoadTestOptions(int durationSeconds,
+                       int warmupSeconds,
+                       int threads,
+                       int citizenWeight,
+                       int officerWeight,
+                       int adminWeight,
+                       int publicWeight,
+                       int citizens,
+                       int officers,
+                       int seedFeedbacks,
+                       double loginRatio,
+                       String reportPath,
+                       double maxErrorRate) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String[] mix = opts.getOrDefault("mix", "80:15:5").split(":");
+        if (mix.length != 3 && mix.length != 4) {
+            throw new IllegalArgumentException("--mix must be citizen:officer:admin[:public], e.g. 80:15:5");
+        }
+        LoadTestOptions o = new LoadTestOptions(
+                Integer.parseInt(opts.getOrDefault("duration", "60")),
+                Integer.parseInt(opts.getOrDefault("warmup", "15")),
+                Integer.parseInt(opts.getOrDefault("threads", "32")),
+                Integer.parseInt(mix[0]),
+                Integer.parseInt(mix[1]),
+                Integer.parseInt(mix[2]),
+                mix.length == 4 ? Integer.parseInt(mix[3]) : 0,
+                Integer.parseInt(opts.getOrDefault("citizens", "500")),
+                Integer.parseInt(opts.getOrDefault("officers", "25")),
+                Integer.parseInt(opts.getOrDefault("seed-feedbacks", "5000")),
+                Double.parseDouble(opts.getOrDefault("login-ratio", "0.02")),
+                opts.getOrDefault("report", "target/loadtest-report.json"),
+                Double.parseDouble(opts.getOrDefault("max-error-rate", "0.01")));
+        if (o.mixTotal() <= 0 || o.citizens() <= 0 || o.officers() <= 0) {
+            throw new IllegalArgumentException("mix, citizens and officers must be positive");
+        }
+        return o;
+    }
+
+    int mixTotal() { return citizenWeight + officerWeight + adminWeight + publicWeight; }
+
+    // null is an anonymous visitor of the public feed
+    Role pickRole(int draw) {
+        if (draw < citizenWeight) return Role.CITIZEN;
+        if (draw < citizenWeight + officerWeight) return Role.OFFICER;
+        if (draw < citizenWeight + officerWeight + adminWeight) return Role.ADMIN;
+        return null;
+    }
+
+    String mixLabel() {
+        String label = citizenWeight + ":" + officerWeight + ":" + adminWeight;
+        return publicWeight == 0 ? label : label + ":" + publicWeight;
+    }
+
+    Map<String, Object> asMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("durationSeconds", durationSeconds);
+        m.put("warmupSeconds", warmupSeconds);
+        m.put("threads", threads);
+        m.put("mix", mixLabel());
+        m.put("citizens", citizens);
+        m.put("officers", officers);
+        m.put("seedFeedbacks", seedFeedbacks);
+        m.put("loginRatio", loginRatio);
+        return m;
+    }
+}
@@ -0,0 +1,243 @@
+package com.smartgrievance.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartgrievance.SmartGrievanceApplication;
+import com.smartgrievance.config.SqlStatementRecorder;
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.FeedbackRepository;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.service.OfficerAssignmentEngine;
+import com.smartgrievance.service.OfficerWorkQueue;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+// Boots the application with the SQL audit on, calls every controller endpoint as the
+// role that uses it and fails when a request ran more statements than its budget
+// (app.sql-audit.budgets) or repeated a select, the N+1 signature. The scenario runs
+// twice and only the second pass counts, so one-off cache warm-up is not charged.
+//   mvn -pl backend-benchmarks exec:exec@querybudget -Dquerybudget.args="--feedbacks=2000"
+public class QueryBudgetCheck {
+    private static final String PASSWORD = "budget123";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Set<String> failures = new LinkedHashSet<>();
+    private String baseUrl;
+
+    // seeded data the scenario works on
+    private final List<User> officers = new ArrayList<>();
+    private final List<User> citizens = new ArrayList<>();
+    private final List<Feedback> feedbacks = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int citizenCount = Integer.parseInt(opts.getOrDefault("citizens", "50"));
+        int officerCount = Integer.parseInt(opts.getOrDefault("officers", "10"));
+        int feedbackCount = Integer.parseInt(opts.getOrDefault("feedbacks", "500"));
+
+        int exitCode;
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(SmartGrievanceApplication.class)
+                .profiles("loadtest")
+                .run("--app.sql-audit.enabled=true", "--app.rate-limit.enabled=false")) {
+            exitCode = new QueryBudgetCheck().run(ctx, citizenCount, officerCount, feedbackCount);
+        }
+        System.exit(exitCode);
+    }
+
+    int run(ConfigurableApplicationContext ctx, int citizenCount, int officerCount, int feedbackCount) throws Exception {
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+        seed(ctx, citizenCount, officerCount, feedbackCount);
+        SqlStatementRecorder recorder = ctx.getBean(SqlStatementRecorder.class);
+
+        scenario(0);
+        recorder.clear();
+        failures.clear();
+        scenario(1);
+
+        System.out.printf("%n%-52s %10s%n", "endpoint", "statements");
+        new TreeMap<>(recorder.peaks()).forEach((endpoint, n) -> System.out.printf("%-52s %10d%n", endpoint, n));
+        for (SqlStatementRecorder.Violation v : recorder.violations()) {
+            failures.add(v.kind() == SqlStatementRecorder.Kind.BUDGET
+                    ? v.endpoint() + " ran " + v.statements() + " statements, budget " + v.limit()
+                    : v.endpoint() + " ran the same select " + v.statements() + " times: " + v.sql());
+        }
+        failures.forEach(f -> System.out.println("FAILED: " + f));
+        return failures.isEmpty() ? 0 : 1;
+    }
+
+    // pass picks different rows for the mutations, since most of them change what they touch
+    private void scenario(int pass) throws Exception {
+        String admin = login("admin@example.com", "admin123");
+        User officer = officers.get(pass);
+        User citizen = citizens.get(pass);
+        String officerToken = login(officer.getEmail(), PASSWORD);
+        String citizenToken = login(citizen.getEmail(), PASSWORD);
+        List<Feedback> own = ownedBy(citizen);
+        List<Feedback> assigned = feedbacks.stream()
+                .filter(f -> f.getAssignedOfficer() != null && f.getAssignedOfficer().getId().equals(officer.getId())
+                        && f.getStatus() == FeedbackStatus.IN_PROGRESS)
+                .toList();
+        // a SUBMITTED grievance of a citizen the scenario does not otherwise touch
+        Feedback target = ownedBy(citizens.get(citizens.size() / 2 + pass)).get(0);
+
+        // citizen
+        call("GET", "/api/auth/me", null, citizenToken);
+        call("GET", "/api/me", null, citizenToken);
+        call("PUT", "/api/me", "{\"name\":\"Citizen renamed\"}", citizenToken);
+        call("GET", "/api/feedback/my", null, citizenToken);
+        call("GET", "/api/feedback/my?includeArchived=true", null, citizenToken);
+        call("GET", "/api/feedback/my?fields=id,title,status,officerName", null, citizenToken);
+        call("GET", "/api/feedback/" + own.get(0).getId() + "/attachments", null, citizenToken);
+        call("POST", "/api/feedback", mapper.writeValueAsString(Map.of(
+                "title", "Budget check " + pass,
+                "description", "Submitted by the query budget check.",
+                "isPublic", true,
+                "isAnonymous", false,
+                "type", "WATER_SUPPLY",
+                "submissionType", "GRIEVANCE")), citizenToken);
+        call("POST", "/api/feedback/" + own.get(1).getId() + "/escalate", null, citizenToken);
+        call("POST", "/api/feedback/" + own.get(2).getId() + "/withdraw", null, citizenToken);
+        call("GET", "/api/feedback/officer/" + officer.getEmail() + "/rating", null, citizenToken);
+        call("GET", "/api/public/feedback", null, null);
+
+        // officer
+        call("GET", "/api/feedback/assigned", null, officerToken);
+        call("GET", "/api/feedback/assigned?fields=id,title,status,citizenName", null, officerToken);
+        call("GET", "/api/feedback/assigned/next?limit=10", null, officerToken);
+        call("GET", "/api/feedback/assigned/counts", null, officerToken);
+        call("GET", "/api/feedback/statistics", null, officerToken);
+        call("PUT", "/api/feedback/" + assigned.get(0).getId() + "/status?status=RESOLVED", null, officerToken);
+        call("POST", "/api/feedback/" + assigned.get(0).getId() + "/rating", "{\"rating\":4,\"comment\":\"ok\"}",
+                login(assigned.get(0).getCitizen().getEmail(), PASSWORD));
+
+        // admin
+        call("GET", "/api/admin/departments", null, admin);
+        call("GET", "/api/admin/users?size=50", null, admin);
+        call("GET", "/api/admin/officers", null, admin);
+        call("GET", "/api/admin/feedbacks", null, admin);
+        call("GET", "/api/admin/feedbacks?fields=id,title,status,citizenName,citizenEmail,officerEmail", null, admin);
+        call("GET", "/api/admin/feedbacks/counts", null, admin);
+        call("GET", "/api/admin/feedbacks/statistics", null, admin);
+        call("GET", "/api/admin/feedbacks/trends?granularity=DAY", null, admin);
+        call("GET", "/api/admin/feedbacks/export?format=csv", null, admin);
+        call("PUT", "/api/admin/feedbacks/" + target.getId() + "/assign?officerId=" + officer.getId(), null, admin);
+        call("PUT", "/api/admin/feedbacks/" + target.getId() + "/deadline", "{\"deadline\":\"2030-01-01T12:00:00\"}", admin);
+        call("PUT", "/api/admin/feedbacks/" + own.get(1).getId() + "/message", "{\"message\":\"Please look at this\"}", admin);
+        call("GET", "/api/admin/assignments/workload", null, admin);
+        call("POST", "/api/admin/assignments/suggest", "{\"limit\":20}", admin);
+        call("PUT", "/api/admin/users/" + citizens.get(citizens.size() - 1 - pass).getId() + "/role?role=CITIZEN", null, admin);
+        call("DELETE", "/api/feedback/" + ownedBy(citizens.get(citizens.size() / 2 + pass)).get(2).getId(), null, admin);
+    }
+
+    private void seed(ConfigurableApplicationContext ctx, int citizenCount, int officerCount, int feedbackCount) {
+        UserRepository users = ctx.getBean(UserRepository.class);
+        FeedbackRepository feedbackRepository = ctx.getBean(FeedbackRepository.class);
+        String hash = ctx.getBean(PasswordEncoder.class).encode(PASSWORD);
+        for (int i = 0; i < officerCount; i++) {
+            officers.add(user("Officer " + i, "officer" + i + "@budget.local", hash, Role.OFFICER));
+        }
+        for (int i = 0; i < citizenCount; i++) {
+            citizens.add(user("Citizen " + i, "citizen" + i + "@budget.local", hash, Role.CITIZEN));
+        }
+        List<User> savedOfficers = users.saveAll(officers);
+        List<User> savedCitizens = users.saveAll(citizens);
+        officers.clear();
+        officers.addAll(savedOfficers);
+        citizens.clear();
+        citizens.addAll(savedCitizens);
+
+        SplittableRandom rnd = new SplittableRandom(11);
+        FeedbackType[] types = FeedbackType.values();
+        FeedbackStatus[] statuses = {FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS, FeedbackStatus.RESOLVED};
+        List<Feedback> batch = new ArrayList<>();
+        for (int i = 0; i < feedbackCount; i++) {
+            Feedback f = new Feedback();
+            f.setTitle("Seeded grievance " + i);
+            f.setDescription("Seeded by the query budget check.");
+            boolean anonymous = rnd.nextInt(4) == 0;
+            f.setAnonymous(anonymous);
+            f.setPublic(!anonymous);
+            f.setType(types[rnd.nextInt(types.length)]);
+            f.setSubmissionType(rnd.nextBoolean() ? SubmissionType.GRIEVANCE : SubmissionType.FEEDBACK);
+            f.setStatus(statuses[rnd.nextInt(statuses.length)]);
+            f.setCitizen(citizens.get(i % citizenCount));
+            // every citizen's first three items are SUBMITTED grievances, the second one
+            // past its deadline so it can be escalated
+            if (i < citizenCount * 3) {
+                f.setSubmissionType(SubmissionType.GRIEVANCE);
+                f.setStatus(FeedbackStatus.SUBMITTED);
+                if (i / citizenCount == 1) f.setDeadline(LocalDateTime.now().minusDays(1));
+            }
+            if (f.getStatus() != FeedbackStatus.SUBMITTED) {
+                f.setAssignedOfficer(officers.get(rnd.nextInt(officers.size())));
+            }
+            batch.add(f);
+        }
+        feedbacks.addAll(feedbackRepository.saveAll(batch));
+        ctx.getBean(OfficerAssignmentEngine.class).rebuild();
+        ctx.getBean(OfficerWorkQueue.class).rebuild();
+        System.out.printf("Seeded %d officers, %d citizens, %d feedbacks%n", officerCount, citizenCount, feedbackCount);
+    }
+
+    private List<Feedback> ownedBy(User citizen) {
+        return feedbacks.stream().filter(f -> f.getCitizen().getId().equals(citizen.getId())).toList();
+    }
+
+    private static User user(String name, String email, String hash, Role role) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setPassword(hash);
+        u.setRole(role);
+        return u;
+    }
+
+    private String login(String email, String password) throws Exception {
+        String body = mapper.writeValueAsString(Map.of("email", email, "password", password));
+        HttpResponse<String> res = call("POST", "/api/auth/login", body, null);
+        if (res.statusCode() != 200) throw new IllegalStateException("Login failed for " + email + ": HTTP " + res.statusCode());
+        return mapper.readTree(res.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> call(String method, String path, String body, String token) throws Exception {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) b.header("Content-Type", "application/json");
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        HttpResponse<String> res = http.send(b.build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() >= 400) failures.add(method + " " + path + " returned HTTP " + res.statusCode());
+        return res;
+    }
+}
@@ -0,0 +1,143 @@
+package com.smartgrievance.loadtest;
+
+import com.smartgrievance.SmartGrievanceApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Starts the application in a fresh JVM several times and measures the time from
+// process launch to the first successful response on --path, the number a new instance
+// behind a load balancer actually pays. Also reads the in-app
+// grievance.startup.first.request gauge from /actuator/prometheus on a separate management
+// port, where scraping needs no token. With --jar the application runs from that jar (e.g.
+// the one extracted by -Pfast-start, so the CDS archive applies) with only H2 added to its
+// class path.
+//   mvn -pl backend-benchmarks exec:exec@startup -Dstartup.args="--runs=5"
+//   mvn -pl backend-benchmarks exec:exec@startup -Dstartup.args="--profiles=fast-start,loadtest"
+public class StartupProbe {
+    private static final Pattern GAUGE = Pattern.compile("^grievance_startup_first_request_seconds\\{[^}]*} ([0-9.Ee+-]+)$", Pattern.MULTILINE);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        int runs = Integer.parseInt(opts.getOrDefault("runs", "3"));
+        String profiles = opts.getOrDefault("profiles", "loadtest");
+        // comma separated, since exec:exec splits startup.args on spaces
+        List<String> jvmArgs = split(opts.getOrDefault("jvm-args", ""));
+        String path = opts.getOrDefault("path", "/api/public/feedback");
+        long timeoutMs = Long.parseLong(opts.getOrDefault("timeout-seconds", "180")) * 1000;
+        long maxMs = Long.parseLong(opts.getOrDefault("max-ms", "0"));
+        String jar = opts.get("jar");
+        String classPath = System.getProperty("java.class.path");
+        List<String> appArgs = new ArrayList<>(List.of("--spring.profiles.active=" + profiles));
+        File workingDir = null;
+        if (jar != null) {
+            // The CDS archive records the class path relative to the jar's directory, so the
+            // application runs from there with the jar first and nothing but jars after it
+            Path jarPath = Path.of(jar).toAbsolutePath();
+            workingDir = jarPath.getParent().toFile();
+            StringBuilder cp = new StringBuilder(jarPath.getFileName().toString());
+            for (String entry : classPath.split(File.pathSeparator)) {
+                if (Path.of(entry).getFileName().toString().startsWith("h2-")) cp.append(File.pathSeparator).append(entry);
+            }
+            classPath = cp.toString();
+            // application-loadtest.properties is read from this module's output directory
+            appArgs.add("--spring.config.additional-location=optional:file:" + Path.of("target", "classes").toAbsolutePath() + "/");
+        }
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long[] firstRequest = new long[runs];
+        System.out.printf("Startup probe: profiles %s, jvm args %s, %s, %d runs%n",
+                profiles, jvmArgs, jar != null ? jar : "module class path", runs);
+        for (int run = 0; run < runs; run++) {
+            int port = freePort();
+            int managementPort = freePort();
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            command.addAll(List.of("-cp", classPath, SmartGrievanceApplication.class.getName(),
+                    "--server.port=" + port, "--management.server.port=" + managementPort));
+            command.addAll(appArgs);
+            Path logFile = Path.of("target", "startup-run-" + run + ".log");
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).directory(workingDir)
+                    .redirectErrorStream(true).redirectOutput(logFile.toAbsolutePath().toFile()).start();
+            try {
+                URI uri = URI.create("http://localhost:" + port + path);
+                while (true) {
+                    if (!process.isAlive()) {
+                        throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + logFile);
+                    }
+                    if ((System.nanoTime() - start) / 1_000_000 > timeoutMs) {
+                        throw new IllegalStateException("No successful response within " + timeoutMs + " ms, see " + logFile);
+                    }
+                    if (ok(http, uri)) break;
+                    Thread.sleep(20);
+                }
+                firstRequest[run] = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("run %d: first successful %s after %d ms (in-app gauge %s)%n",
+                        run + 1, path, firstRequest[run], gauge(http, managementPort));
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        long[] sorted = firstRequest.clone();
+        Arrays.sort(sorted);
+        long median = sorted[runs / 2];
+        System.out.printf("time to first request: min %d ms, median %d ms, max %d ms%n", sorted[0], median, sorted[runs - 1]);
+        if (maxMs > 0 && median > maxMs) {
+            System.out.printf("FAILED: median %d ms is above %d ms%n", median, maxMs);
+            System.exit(1);
+        }
+    }
+
+    private static boolean ok(HttpClient http, URI uri) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String gauge(HttpClient http, int port) throws InterruptedException {
+        try {
+            String body = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            Matcher m = GAUGE.matcher(body);
+            return m.find() ? Math.round(Double.parseDouble(m.group(1)) * 1000) + " ms" : "n/a";
+        } catch (IOException e) {
+            return "n/a";
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> split(String s) {
+        return s.isBlank() ? List.of() : List.of(s.trim().split("\\s*,\\s*"));
+    }
+}
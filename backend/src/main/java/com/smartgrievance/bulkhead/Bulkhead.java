@@ -0,0 +1,14 @@
+package com.smartgrievance.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Puts a controller method (or every method of a controller) in a traffic class; a
+// method's own annotation wins over its controller's
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+    TrafficClass value();
+}
@@ -0,0 +1,123 @@
+package com.smartgrievance.bulkhead;
+
+import com.smartgrievance.config.BulkheadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounds the requests of each traffic class that run at once, so a burst of one class
+// (admins pulling statistics and exports) holds at most its own share of the Tomcat
+// threads. A request over the limit waits in the class's queue for up to max-wait-ms;
+// when the queue is full or the wait runs out it is rejected with 503 and Retry-After.
+// Runs after authentication, so only the handler's own work is bounded.
+public class BulkheadInterceptor implements HandlerInterceptor {
+    private static final String PERMIT = BulkheadInterceptor.class.getName() + ".permit";
+
+    private static final class Compartment {
+        final Semaphore slots;
+        final int maxQueue;
+        final long maxWaitNanos;
+        final AtomicInteger queued = new AtomicInteger();
+        final Counter queueFull;
+        final Counter timedOut;
+
+        Compartment(TrafficClass c, BulkheadProperties.Limits limits, MeterRegistry registry) {
+            this.slots = new Semaphore(limits.maxConcurrent());
+            this.maxQueue = limits.maxQueue();
+            this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(limits.maxWaitMs());
+            String name = c.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            Gauge.builder("grievance.bulkhead.active", () -> limits.maxConcurrent() - slots.availablePermits())
+                    .tag("class", name).register(registry);
+            Gauge.builder("grievance.bulkhead.queued", queued::get).tag("class", name).register(registry);
+            this.queueFull = Counter.builder("grievance.bulkhead.rejected").tag("class", name).tag("reason", "queue-full").register(registry);
+            this.timedOut = Counter.builder("grievance.bulkhead.rejected").tag("class", name).tag("reason", "timeout").register(registry);
+        }
+
+        // false when rejected
+        boolean acquire() throws InterruptedException {
+            if (slots.tryAcquire()) return true;
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                queueFull.increment();
+                return false;
+            }
+            try {
+                if (slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) return true;
+                timedOut.increment();
+                return false;
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    private final Map<TrafficClass, Compartment> compartments = new EnumMap<>(TrafficClass.class);
+
+    public BulkheadInterceptor(BulkheadProperties properties, MeterRegistry registry) {
+        if (properties.classes() != null) {
+            properties.classes().forEach((c, limits) -> {
+                if (limits.maxConcurrent() > 0) compartments.put(c, new Compartment(c, limits, registry));
+            });
+        }
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws IOException {
+        TrafficClass c = classOf(handler);
+        if (c == null) return true;
+        Compartment compartment = compartments.get(c);
+        if (compartment != null) {
+            boolean acquired;
+            try {
+                acquired = compartment.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                // written here rather than through sendError: the /error dispatch is not
+                // authenticated and would turn the 503 into a 401
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("Too busy, retry shortly");
+                return false;
+            }
+            request.setAttribute(PERMIT, compartment);
+        }
+        TrafficClass.enter(c);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        TrafficClass.exit();
+        if (request.getAttribute(PERMIT) instanceof Compartment compartment) {
+            request.removeAttribute(PERMIT);
+            compartment.slots.release();
+        }
+    }
+
+    private static TrafficClass classOf(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) return null;
+        Bulkhead b = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Bulkhead.class);
+        if (b == null) b = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Bulkhead.class);
+        return b != null ? b.value() : null;
+    }
+}
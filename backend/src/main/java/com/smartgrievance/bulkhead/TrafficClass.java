@@ -0,0 +1,49 @@
+package com.smartgrievance.bulkhead;
+
+import java.util.function.Supplier;
+
+// The kinds of request that must not starve each other. A handler method marked with
+// @Bulkhead runs with its class set on the request thread: BulkheadInterceptor limits how
+// many requests of the class run at once, and the routing data source gives the class
+// its own connection pool. Requests without a class share what is left.
+public enum TrafficClass {
+    CITIZEN_WRITES, OFFICER_READS, ADMIN_ANALYTICS, FILE_IO;
+
+    private static final ThreadLocal<TrafficClass> CURRENT = new ThreadLocal<>();
+
+    // null outside a classified request
+    public static TrafficClass current() {
+        return CURRENT.get();
+    }
+
+    static void enter(TrafficClass c) {
+        CURRENT.set(c);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+
+    // Runs work on another thread (department fan-out, export producers) in the caller's class
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        TrafficClass c = current();
+        if (c == null) return work;
+        return () -> {
+            TrafficClass previous = CURRENT.get();
+            CURRENT.set(c);
+            try {
+                return work.get();
+            } finally {
+                if (previous == null) CURRENT.remove(); else CURRENT.set(previous);
+            }
+        };
+    }
+
+    public static Runnable propagate(Runnable work) {
+        Supplier<Object> s = propagate(() -> {
+            work.run();
+            return null;
+        });
+        return s::get;
+    }
+}
@@ -0,0 +1,33 @@
+package com.smartgrievance.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Hands each traffic class the connections of its own pool, and everything else (requests
+// without a class, authentication, schedulers, startup) the shared one. Connections are
+// taken per transaction, so the class in force when a transaction begins decides the pool.
+public class TrafficClassRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    private final Map<TrafficClass, HikariDataSource> partitions;
+
+    public TrafficClassRoutingDataSource(HikariDataSource shared, Map<TrafficClass, HikariDataSource> partitions) {
+        this.partitions = partitions;
+        setDefaultTargetDataSource(shared);
+        setTargetDataSources(new HashMap<>(partitions));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TrafficClass.current();
+    }
+
+    // the shared pool is a bean of its own and closed by the container
+    @Override
+    public void destroy() {
+        partitions.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,73 @@
+package com.smartgrievance.config;
+
+import com.smartgrievance.bulkhead.BulkheadInterceptor;
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.bulkhead.TrafficClassRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Bulkheads per traffic class (app.bulkhead.*): a concurrency limit with a bounded queue
+// on the @Bulkhead handler methods and, with partition-pools, a connection pool per class
+// next to the shared one.
+@Configuration
+@ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig implements WebMvcConfigurer {
+    private final BulkheadInterceptor interceptor;
+
+    public BulkheadConfig(BulkheadProperties properties, MeterRegistry registry) {
+        this.interceptor = new BulkheadInterceptor(properties, registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+
+    // Replaces the auto-configured pool: the shared pool is built from spring.datasource.*
+    // as before, and each class with a pool-size gets a copy of its settings with that size.
+    @Configuration
+    @ConditionalOnProperty(name = "app.bulkhead.partition-pools", havingValue = "true")
+    static class PartitionedPools {
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        HikariDataSource sharedDataSource(DataSourceProperties properties) {
+            HikariDataSource shared = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            shared.setPoolName("grievance-shared");
+            return shared;
+        }
+
+        @Bean
+        @Primary
+        TrafficClassRoutingDataSource dataSource(HikariDataSource sharedDataSource, BulkheadProperties properties, MeterRegistry registry) {
+            Map<TrafficClass, HikariDataSource> partitions = new EnumMap<>(TrafficClass.class);
+            if (properties.classes() != null) {
+                properties.classes().forEach((c, limits) -> {
+                    if (limits.poolSize() <= 0) return;
+                    HikariDataSource pool = new HikariDataSource();
+                    sharedDataSource.copyStateTo(pool);
+                    pool.setPoolName("grievance-" + c.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+                    pool.setMaximumPoolSize(limits.poolSize());
+                    if (pool.getMinimumIdle() > limits.poolSize()) pool.setMinimumIdle(limits.poolSize());
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                    partitions.put(c, pool);
+                });
+            }
+            return new TrafficClassRoutingDataSource(sharedDataSource, partitions);
+        }
+    }
+}
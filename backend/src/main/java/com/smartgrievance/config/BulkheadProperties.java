@@ -0,0 +1,21 @@
+package com.smartgrievance.config;
+
+import com.smartgrievance.bulkhead.TrafficClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties("app.bulkhead")
+public record BulkheadProperties(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue("false") boolean partitionPools,
+                                 Map<TrafficClass, Limits> classes) {
+
+    // maxQueue requests may wait up to maxWaitMs for one of maxConcurrent slots; more are
+    // rejected with 503. poolSize > 0 gives the class its own connections when
+    // partitionPools is on. A class without limits is not bounded.
+    public record Limits(int maxConcurrent,
+                         @DefaultValue("0") int maxQueue,
+                         @DefaultValue("1000") long maxWaitMs,
+                         @DefaultValue("0") int poolSize) {}
+}
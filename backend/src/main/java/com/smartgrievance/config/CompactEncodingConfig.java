@@ -0,0 +1,29 @@
+package com.smartgrievance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartgrievance.dto.CompactEncoding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Clients that send Accept: application/cbor (the officer mobile app, dashboards on slow
+// links) get CBOR in the compact form. The converter stays behind the JSON one, so
+// browsers and anything sending */* keep getting JSON.
+@Configuration
+public class CompactEncodingConfig implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+
+    public CompactEncodingConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // replaces the plain CBOR converter Spring adds when the CBOR module is present
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(CompactEncoding.mapper(objectMapper)));
+    }
+}
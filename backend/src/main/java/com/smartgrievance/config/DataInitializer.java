@@ -14,6 +14,11 @@ public class DataInitializer {
     public CommandLineRunner seedAdmin(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
             userRepository.findByEmail("admin@example.com").ifPresentOrElse(existing -> {
+                // Nothing to do on a normal restart; only repair the row if it was changed
+                if (existing.getRole() == Role.ADMIN && existing.getPassword() != null
+                        && passwordEncoder.matches("admin123", existing.getPassword())) {
+                    return;
+                }
                 existing.setRole(Role.ADMIN);
                 existing.setPassword(passwordEncoder.encode("admin123"));
                 userRepository.save(existing);
@@ -0,0 +1,30 @@
+package com.smartgrievance.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The fast-start profile turns on spring.main.lazy-initialization. A lazy bean is only
+// post-processed when something first uses it, so its @Scheduled methods would never
+// be registered; those beans are kept eager.
+@Configuration
+public class FastStartConfig {
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> type) {
+        if (type == null) return false;
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(type,
+                m -> found.set(true),
+                m -> !found.get() && AnnotatedElementUtils.hasAnnotation(m, Scheduled.class));
+        return found.get();
+    }
+}
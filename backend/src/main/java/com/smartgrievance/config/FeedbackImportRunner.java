@@ -0,0 +1,43 @@
+package com.smartgrievance.config;
+
+import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.service.FeedbackImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Command-line import, e.g.
+//   java -jar backend.jar --spring.main.web-application-type=none --app.import.file=legacy.csv
+// The import id defaults to the file name, so running the same command again resumes.
+@Configuration
+@ConditionalOnProperty("app.import.file")
+public class FeedbackImportRunner {
+    private static final Logger log = LoggerFactory.getLogger(FeedbackImportRunner.class);
+
+    @Bean
+    public CommandLineRunner importFeedbackFile(FeedbackImportService importService,
+                                                @Value("${app.import.file}") String file,
+                                                @Value("${app.import.id:}") String importId,
+                                                @Value("${app.import.format:}") String format) {
+        return args -> {
+            Path path = Path.of(file);
+            String id = importId.isBlank() ? path.getFileName().toString() : importId;
+            FeedbackImportService.Format f = FeedbackImportService.formatOf(format.isBlank() ? path.toString() : format);
+            try (InputStream in = Files.newInputStream(path)) {
+                AdminDtos.ImportReport report = importService.importFeedback(id, f, in);
+                log.info("Import {}: read {}, inserted {}, rejected {} in {} ms ({} rows/s)",
+                        report.importId(), report.read(), report.inserted(), report.rejected(),
+                        report.elapsedMs(), (long) report.rowsPerSecond());
+                report.rejections().forEach(r -> log.warn("Rejected record {}: {}", r.record(), r.reason()));
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.smartgrievance.config;
+
+import com.smartgrievance.idempotency.IdempotencyFilter;
+import com.smartgrievance.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Idempotency keys (app.idempotency.*) for retried submissions, state changes and uploads
+@Configuration
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore store, MeterRegistry registry,
+            @Value("${app.idempotency.wait-ms:5000}") long waitMs,
+            @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(store, waitMs, maxBodyBytes, registry));
+        // right after the security chain: keys are scoped to the authenticated caller
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
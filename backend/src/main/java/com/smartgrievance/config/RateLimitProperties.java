@@ -0,0 +1,29 @@
+package com.smartgrievance.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("100000") int maxKeys,
+                                  @DefaultValue("64") int stripes,
+                                  List<Rule> rules) {
+
+    public enum KeyType { IP, USER }
+
+    public record Limit(int permitsPerMinute, @DefaultValue("1") int burst) {}
+
+    // USER rules key on the subject of the caller's verified bearer token and fall back to the
+    // client IP when there is no valid one. roles overrides the default limit for callers whose
+    // token carries that role.
+    public record Rule(String name,
+                       String method,
+                       String path,
+                       @DefaultValue("IP") KeyType key,
+                       int permitsPerMinute,
+                       @DefaultValue("1") int burst,
+                       Map<String, Limit> roles) {}
+}
@@ -0,0 +1,65 @@
+package com.smartgrievance.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+// Per-request phase timing (app.server-timing.*): JWT parsing and the user lookup are
+// timed in JwtAuthenticationFilter, repository calls by an interceptor added to every
+// Spring Data repository, and SQL statements are counted by a statement inspector.
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestTimingConfig {
+    @Bean
+    FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            @Value("${app.server-timing.header:false}") boolean header,
+            @Value("${app.server-timing.log-sample-rate:0.01}") double sampleRate,
+            @Value("${app.server-timing.slow-threshold-ms:1000}") long slowThresholdMs) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTimingFilter(header, sampleRate, slowThresholdMs));
+        // after StartupTimer and the SQL audit, before the security chain
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryTiming() {
+        MethodInterceptor timer = invocation -> {
+            long start = RequestTimings.start();
+            try {
+                return invocation.proceed();
+            } finally {
+                RequestTimings.record(RequestTimings.Phase.DB, start);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factory) {
+                    factory.addRepositoryFactoryCustomizer(f -> f.addRepositoryProxyPostProcessor((proxy, info) -> proxy.addAdvice(0, timer)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Hibernate takes one inspector, so this one chains onto the SQL audit's when both are on
+    @Bean
+    HibernatePropertiesCustomizer statementCounter() {
+        StatementInspector counter = sql -> {
+            RequestTimings.statement();
+            return sql;
+        };
+        return props -> props.merge(AvailableSettings.STATEMENT_INSPECTOR, counter,
+                (other, self) -> (StatementInspector) sql -> counter.inspect(((StatementInspector) other).inspect(sql)));
+    }
+}
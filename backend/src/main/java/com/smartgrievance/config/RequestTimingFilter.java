@@ -0,0 +1,120 @@
+package com.smartgrievance.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Opens the request's RequestTimings and reports them. The Server-Timing header (off unless
+// app.server-timing.header is set) is added when the body starts or an error is sent (the
+// message converters flush, so later is too late) and therefore covers everything up to
+// serialization; responses without a body get it at the end. The log line adds
+// serialization and the total: a sample of requests at INFO, and every request slower
+// than the threshold at WARN.
+public class RequestTimingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestTimingFilter.class);
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean header;
+    private final double sampleRate;
+    private final long slowNanos;
+
+    public RequestTimingFilter(boolean header, double sampleRate, long slowThresholdMs) {
+        this.header = header;
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowThresholdMs * 1_000_000;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            chain.doFilter(request, new TimedResponse(response, timings, header));
+        } finally {
+            if (header && !response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, timings.header());
+            }
+            long elapsed = timings.elapsed();
+            boolean slow = elapsed >= slowNanos;
+            if (slow || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                String line = line(request, response, timings, elapsed);
+                if (slow) log.warn("slow request {}", line); else log.info("request {}", line);
+            }
+            timings.end();
+        }
+    }
+
+    // method=GET path=/api/admin/feedbacks status=200 total_ms=41.870 jwt_ms=0.210 user_ms=0.944
+    // db_ms=12.301 db_calls=2 sql=2 ser_ms=26.415
+    private static String line(HttpServletRequest request, HttpServletResponse response, RequestTimings t, long elapsed) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        StringBuilder sb = new StringBuilder(192)
+                .append("method=").append(request.getMethod())
+                .append(" path=").append(pattern != null ? pattern : request.getRequestURI())
+                .append(" status=").append(response.getStatus());
+        RequestTimings.millis(sb.append(" total_ms="), elapsed);
+        for (RequestTimings.Phase p : RequestTimings.Phase.values()) {
+            RequestTimings.millis(sb.append(' ').append(p.metric).append("_ms="), t.nanos(p));
+        }
+        sb.append(" db_calls=").append(t.calls(RequestTimings.Phase.DB)).append(" sql=").append(t.statements());
+        return RequestTimings.millis(sb.append(" ser_ms="), t.serialization()).toString();
+    }
+
+    // Marks the start of the body and adds the header before anything can be written
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private final boolean header;
+
+        TimedResponse(HttpServletResponse response, RequestTimings timings, boolean header) {
+            super(response);
+            this.timings = timings;
+            this.header = header;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            body();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            body();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            body();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            body();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            body();
+            super.sendError(sc);
+        }
+
+        private void body() {
+            if (header && !isCommitted() && !containsHeader(SERVER_TIMING)) setHeader(SERVER_TIMING, timings.header());
+            timings.writing();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.smartgrievance.config;
+
+import java.util.Arrays;
+
+// Phase times of the request on the current thread, for the Server-Timing header and the
+// request log. One instance per thread is reused across requests, so recording a phase is
+// a ThreadLocal read and two additions. Phases may overlap: the user lookup's query is
+// counted in both user and db. Calls outside a request (schedulers, startup) are ignored.
+public final class RequestTimings {
+    public enum Phase {
+        JWT("jwt"), USER("user"), DB("db");
+
+        final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] calls = new int[PHASES.length];
+    private boolean active;
+    private long started;
+    private long writeStarted;
+    private int statements;
+
+    private RequestTimings() {}
+
+    static RequestTimings begin() {
+        RequestTimings t = CURRENT.get();
+        Arrays.fill(t.nanos, 0);
+        Arrays.fill(t.calls, 0);
+        t.statements = 0;
+        t.writeStarted = 0;
+        t.started = System.nanoTime();
+        t.active = true;
+        return t;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    // Start of a phase, passed back to record
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void record(Phase phase, long start) {
+        RequestTimings t = CURRENT.get();
+        if (!t.active) return;
+        t.nanos[phase.ordinal()] += System.nanoTime() - start;
+        t.calls[phase.ordinal()]++;
+    }
+
+    static void statement() {
+        RequestTimings t = CURRENT.get();
+        if (t.active) t.statements++;
+    }
+
+    // The response body starts; everything after it counts as serialization
+    void writing() {
+        if (writeStarted == 0) writeStarted = System.nanoTime();
+    }
+
+    long nanos(Phase phase) { return nanos[phase.ordinal()]; }
+    int calls(Phase phase) { return calls[phase.ordinal()]; }
+    int statements() { return statements; }
+    long elapsed() { return System.nanoTime() - started; }
+    long serialization() { return writeStarted == 0 ? 0 : System.nanoTime() - writeStarted; }
+
+    // jwt;dur=0.214, user;dur=1.032, db;dur=3.870;desc="calls: 4", sql;desc="5", app;dur=6.115
+    String header() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase p : PHASES) {
+            if (calls[p.ordinal()] == 0) continue;
+            millis(sb.append(p.metric).append(";dur="), nanos[p.ordinal()]);
+            if (p == Phase.DB) sb.append(";desc=\"calls: ").append(calls[p.ordinal()]).append('"');
+            sb.append(", ");
+        }
+        sb.append("sql;desc=\"").append(statements).append("\", ");
+        return millis(sb.append("app;dur="), (writeStarted == 0 ? System.nanoTime() : writeStarted) - started).toString();
+    }
+
+    // Milliseconds with three decimals, without going through String.format
+    static StringBuilder millis(StringBuilder sb, long nanos) {
+        long micros = nanos / 1000;
+        long frac = micros % 1000;
+        sb.append(micros / 1000).append('.');
+        if (frac < 100) sb.append('0');
+        if (frac < 10) sb.append('0');
+        return sb.append(frac);
+    }
+}
@@ -0,0 +1,17 @@
+package com.smartgrievance.config;
+
+import com.smartgrievance.model.FeedbackType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+// Departments are logical shards of the grievance data. routes sends each FeedbackType to
+// a department; unrouted types go to the first department in the list.
+@ConfigurationProperties("app.sharding")
+public record ShardingProperties(@DefaultValue("department") String mode,
+                                 @DefaultValue("general") List<String> departments,
+                                 Map<FeedbackType, String> routes,
+                                 @DefaultValue("4") int parallelism) {
+}
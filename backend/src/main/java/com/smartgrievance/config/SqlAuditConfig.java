@@ -0,0 +1,39 @@
+package com.smartgrievance.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Per-request SQL statement counts (app.sql-audit.enabled). Off by default; the load
+// test profile and QueryBudgetCheck turn it on to catch N+1 queries and count regressions.
+@Configuration
+@ConditionalOnProperty(name = "app.sql-audit.enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlAuditProperties.class)
+public class SqlAuditConfig {
+    @Bean
+    SqlStatementRecorder sqlStatementRecorder(SqlAuditProperties properties, MeterRegistry registry) {
+        return new SqlStatementRecorder(properties, registry);
+    }
+
+    // Hibernate takes one inspector, so this one chains onto the request timing's when both are on
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementRecorder recorder) {
+        return props -> props.merge(AvailableSettings.STATEMENT_INSPECTOR, recorder,
+                (other, self) -> (StatementInspector) sql -> recorder.inspect(((StatementInspector) other).inspect(sql)));
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlAuditFilter> sqlAuditFilter(SqlStatementRecorder recorder, SqlAuditProperties properties) {
+        FilterRegistrationBean<SqlAuditFilter> registration = new FilterRegistrationBean<>(new SqlAuditFilter(recorder, properties));
+        // after StartupTimer, before the security chain
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.smartgrievance.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+// Records the SQL of each request from before authentication (so the user lookup counts)
+// to the end of the response. Requests are labelled by their handler's path pattern.
+public class SqlAuditFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final SqlStatementRecorder recorder;
+    private final SqlAuditProperties.Budget fallback;
+    private final List<SqlAuditProperties.Budget> budgets;
+
+    public SqlAuditFilter(SqlStatementRecorder recorder, SqlAuditProperties properties) {
+        this.recorder = recorder;
+        this.fallback = new SqlAuditProperties.Budget(null, "/**", properties.defaultBudget(), properties.maxRepeats());
+        this.budgets = properties.budgets() == null ? List.of() : properties.budgets();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain) throws ServletException, IOException {
+        SqlAuditProperties.Budget budget = budget(request);
+        SqlStatementRecorder.Recording recording = recorder.start(budget.maxStatements(),
+                budget.maxRepeats() != null ? budget.maxRepeats() : fallback.maxRepeats());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+            recorder.finish(recording, endpoint);
+        }
+    }
+
+    private SqlAuditProperties.Budget budget(HttpServletRequest request) {
+        for (SqlAuditProperties.Budget b : budgets) {
+            if (b.method() != null && !b.method().equalsIgnoreCase(request.getMethod())) continue;
+            if (PATHS.match(b.path(), request.getRequestURI())) return b;
+        }
+        return fallback;
+    }
+}
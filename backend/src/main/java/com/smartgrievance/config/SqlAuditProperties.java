@@ -0,0 +1,21 @@
+package com.smartgrievance.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+// maxRepeats is how often one select may run within a request; a query that comes back
+// for every row of a list is the N+1 pattern. The SQL is compared without its parameters,
+// so an endpoint that legitimately runs one lookup for two different keys raises its own
+// max-repeats. Budgets are checked in order and the first whose method and path match
+// the request applies; otherwise defaultBudget and maxRepeats.
+@ConfigurationProperties("app.sql-audit")
+public record SqlAuditProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("false") boolean strict,
+                                 @DefaultValue("10") int defaultBudget,
+                                 @DefaultValue("1") int maxRepeats,
+                                 List<Budget> budgets) {
+
+    public record Budget(String method, String path, int maxStatements, Integer maxRepeats) {}
+}
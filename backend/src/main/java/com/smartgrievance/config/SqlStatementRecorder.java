@@ -0,0 +1,133 @@
+package com.smartgrievance.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a recording is
+// open (SqlAuditFilter opens one per request) and checks them against the request's
+// budget and the repeat limit. Statements run on other threads, such as the parallel
+// shard fan-out, are not seen. In strict mode a repeated select fails the request at the
+// statement, so an N+1 shows up as an error with the offending query in the log.
+public class SqlStatementRecorder implements StatementInspector {
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementRecorder.class);
+    private static final int MAX_VIOLATIONS = 200;
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    public enum Kind { BUDGET, REPEAT }
+
+    public record Violation(String endpoint, Kind kind, int statements, int limit, String sql) {}
+
+    public static final class Recording {
+        private final int maxStatements;
+        private final int maxRepeats;
+        private final Map<String, Integer> selects = new HashMap<>();
+        private int statements;
+        private String repeated;
+        private int repeats;
+
+        private Recording(int maxStatements, int maxRepeats) {
+            this.maxStatements = maxStatements;
+            this.maxRepeats = maxRepeats;
+        }
+
+        public int statements() { return statements; }
+    }
+
+    private final boolean strict;
+    private final MeterRegistry registry;
+    private final Counter budgetViolations;
+    private final Counter repeatViolations;
+    private final Deque<Violation> violations = new ArrayDeque<>();
+    // most statements seen per endpoint since start (or the last clear)
+    private final Map<String, Integer> peaks = new ConcurrentHashMap<>();
+
+    public SqlStatementRecorder(SqlAuditProperties properties, MeterRegistry registry) {
+        this.strict = properties.strict();
+        this.registry = registry;
+        this.budgetViolations = Counter.builder("grievance.sql.violations").tag("kind", "budget").register(registry);
+        this.repeatViolations = Counter.builder("grievance.sql.violations").tag("kind", "repeat").register(registry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Recording r = CURRENT.get();
+        if (r == null) return sql;
+        r.statements++;
+        if (isSelect(sql)) {
+            int n = r.selects.merge(sql, 1, Integer::sum);
+            if (n > r.maxRepeats && n > r.repeats) {
+                r.repeated = sql;
+                r.repeats = n;
+                if (strict && n == r.maxRepeats + 1) {
+                    throw new IllegalStateException("Select repeated within one request: " + sql);
+                }
+            }
+        }
+        return sql;
+    }
+
+    public Recording start(int maxStatements, int maxRepeats) {
+        Recording r = new Recording(maxStatements, maxRepeats);
+        CURRENT.set(r);
+        return r;
+    }
+
+    // Closes the thread's recording and checks it; endpoint is "METHOD /pattern"
+    public void finish(Recording r, String endpoint) {
+        CURRENT.remove();
+        DistributionSummary.builder("grievance.sql.statements")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(r.statements);
+        peaks.merge(endpoint, r.statements, Math::max);
+        if (r.statements > r.maxStatements) {
+            budgetViolations.increment();
+            violation(new Violation(endpoint, Kind.BUDGET, r.statements, r.maxStatements, null));
+        }
+        if (r.repeated != null) {
+            repeatViolations.increment();
+            violation(new Violation(endpoint, Kind.REPEAT, r.repeats, r.maxRepeats, r.repeated));
+        }
+    }
+
+    public synchronized List<Violation> violations() {
+        return new ArrayList<>(violations);
+    }
+
+    public Map<String, Integer> peaks() {
+        return Map.copyOf(peaks);
+    }
+
+    public synchronized void clear() {
+        violations.clear();
+        peaks.clear();
+    }
+
+    private synchronized void violation(Violation v) {
+        if (violations.size() == MAX_VIOLATIONS) violations.removeFirst();
+        violations.addLast(v);
+        if (v.kind() == Kind.BUDGET) {
+            log.warn("{} ran {} SQL statements, budget {}", v.endpoint(), v.statements(), v.limit());
+        } else {
+            log.warn("{} ran the same select {} times: {}", v.endpoint(), v.statements(), v.sql());
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        int i = 0;
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) i++;
+        return sql.regionMatches(true, i, "select", 0, 6) || sql.regionMatches(true, i, "with", 0, 4);
+    }
+}
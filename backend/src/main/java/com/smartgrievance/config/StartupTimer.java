@@ -0,0 +1,50 @@
+package com.smartgrievance.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Records the time from JVM start to the first successfully answered request as the
+// grievance.startup.first.request gauge. Unlike application.ready.time this includes
+// lazily created beans and the first-request warm-up, which is what a new instance
+// behind a load balancer actually costs.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimer extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(StartupTimer.class);
+
+    private final MeterRegistry registry;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    public StartupTimer(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        if (!recorded.get() && response.getStatus() < 400 && recorded.compareAndSet(false, true)) {
+            long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            TimeGauge.builder("grievance.startup.first.request", () -> millis, TimeUnit.MILLISECONDS)
+                    .description("Time from JVM start to the first successful request")
+                    .register(registry);
+            log.info("First successful request ({} {}) answered {} ms after JVM start",
+                    request.getMethod(), request.getRequestURI(), millis);
+        }
+    }
+}
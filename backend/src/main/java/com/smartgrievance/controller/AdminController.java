@@ -1,20 +1,44 @@
 package com.smartgrievance.controller;
 
+import com.smartgrievance.bulkhead.Bulkhead;
+import com.smartgrievance.bulkhead.TrafficClass;
 import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.dto.AuthDtos;
 import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.dto.SparseList;
 import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
 import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
 import com.smartgrievance.model.User;
 import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.security.UserPrincipal;
+import com.smartgrievance.service.DashboardCache;
+import com.smartgrievance.service.FeedbackExportService;
 import com.smartgrievance.service.FeedbackService;
+import com.smartgrievance.service.OfficerAssignmentEngine;
+import com.smartgrievance.service.SparseFieldService;
+import com.smartgrievance.service.TrendService;
+import com.smartgrievance.service.UserDirectoryService;
+import com.smartgrievance.shard.ShardResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -26,14 +50,69 @@ public class AdminController {
     private final UserRepository userRepository;
     private final FeedbackService feedbackService;
     private final PasswordEncoder passwordEncoder;
+    private final TrendService trendService;
+    private final OfficerAssignmentEngine assignmentEngine;
+    private final FeedbackExportService exportService;
+    private final UserDirectoryService userDirectory;
+    private final ShardResolver shardResolver;
+    private final SparseFieldService sparseFields;
+    private final DashboardCache dashboardCache;
 
-    public AdminController(UserRepository userRepository, FeedbackService feedbackService, PasswordEncoder passwordEncoder) { this.userRepository = userRepository; this.feedbackService = feedbackService; this.passwordEncoder = passwordEncoder; }
+    public AdminController(UserRepository userRepository, FeedbackService feedbackService, PasswordEncoder passwordEncoder, TrendService trendService, OfficerAssignmentEngine assignmentEngine, FeedbackExportService exportService, UserDirectoryService userDirectory, ShardResolver shardResolver, SparseFieldService sparseFields, DashboardCache dashboardCache) { this.userRepository = userRepository; this.feedbackService = feedbackService; this.passwordEncoder = passwordEncoder; this.trendService = trendService; this.assignmentEngine = assignmentEngine; this.exportService = exportService; this.userDirectory = userDirectory; this.shardResolver = shardResolver; this.sparseFields = sparseFields; this.dashboardCache = dashboardCache; }
 
+    // Departments the signed-in admin may read: their own, or all of them
+    private List<String> departments(UserDetails principal) {
+        User admin = principal == null ? null : UserPrincipal.user(principal);
+        return shardResolver.visibleTo(admin);
+    }
+
+    @GetMapping("/departments")
+    public ResponseEntity<List<String>> departments() {
+        return ResponseEntity.ok(shardResolver.shards());
+    }
+
+    // q is a prefix of the sort column; pass nextCursor back as cursor for the next page
     @GetMapping("/users")
-    public ResponseEntity<List<User>> users() { return ResponseEntity.ok(userRepository.findAll()); }
+    public ResponseEntity<AdminDtos.UserPage> users(@AuthenticationPrincipal UserDetails principal,
+                                                    @RequestParam(required = false) Role role,
+                                                    @RequestParam(required = false) String q,
+                                                    @RequestParam(defaultValue = "EMAIL") UserDirectoryService.SortBy sort,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userDirectory.page(UserPrincipal.user(principal), role, q, sort, cursor, size));
+    }
+
+    // Never hand the entity to Jackson; it carries the password hash
+    private static AuthDtos.UserDto toDto(User u) {
+        return AuthDtos.UserDto.of(u);
+    }
+
+    // An admin with a department manages only users of that department: the user must be
+    // in it before and after the change, and other admins are off limits, as is granting
+    // ADMIN. current is null for a new user. Admins without a department manage everyone.
+    private boolean mayManage(User admin, User current, Role role, String department) {
+        List<String> visible = shardResolver.visibleTo(admin);
+        if (visible.containsAll(shardResolver.shards())) return true;
+        if (current != null) {
+            if (current.getDepartment() == null || !visible.contains(current.getDepartment())) return false;
+            if (current.getRole() == Role.ADMIN && !current.getId().equals(admin.getId())) return false;
+        }
+        boolean grantsAdmin = role == Role.ADMIN && (current == null || current.getRole() != Role.ADMIN);
+        return !grantsAdmin && department != null && visible.contains(department);
+    }
 
     @PostMapping("/users")
-    public ResponseEntity<User> createUser(@Valid @RequestBody AdminDtos.CreateUserRequest req) {
+    public ResponseEntity<AuthDtos.UserDto> createUser(@AuthenticationPrincipal UserDetails principal,
+                                                       @Valid @RequestBody AdminDtos.CreateUserRequest req) {
+        User admin = UserPrincipal.user(principal);
+        Role role = req.role() == null ? Role.CITIZEN : req.role();
+        String department = shardResolver.checkDepartment(req.department());
+        // a department admin's new users join their department unless told otherwise
+        List<String> visible = shardResolver.visibleTo(admin);
+        if (department == null && !visible.containsAll(shardResolver.shards())) department = visible.get(0);
+        if (!mayManage(admin, null, role, department)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         if (userRepository.existsByEmail(req.email())) {
             return ResponseEntity.badRequest().build();
         }
@@ -41,48 +120,87 @@ public class AdminController {
         u.setName(req.name());
         u.setEmail(req.email());
         u.setPassword(passwordEncoder.encode(req.password()));
-        u.setRole(req.role() == null ? Role.CITIZEN : req.role());
-        return ResponseEntity.ok(userRepository.save(u));
+        u.setRole(role);
+        u.setDepartment(department);
+        User saved = userRepository.save(u);
+        assignmentEngine.syncOfficer(saved);
+        dashboardCache.officersChanged();
+        return ResponseEntity.ok(toDto(saved));
     }
 
     @PutMapping("/users/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody AdminDtos.UpdateUserRequest req) {
+    public ResponseEntity<AuthDtos.UserDto> updateUser(@AuthenticationPrincipal UserDetails principal,
+                                                       @PathVariable Long id, @Valid @RequestBody AdminDtos.UpdateUserRequest req) {
         User u = userRepository.findById(id).orElse(null);
         if (u == null) return ResponseEntity.notFound().build();
+        Role role = req.role() != null ? req.role() : u.getRole();
+        // a blank department clears it
+        String department = req.department() != null ? shardResolver.checkDepartment(req.department()) : u.getDepartment();
+        if (!mayManage(UserPrincipal.user(principal), u, role, department)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         // unique email check if changed
         if (!u.getEmail().equals(req.email()) && userRepository.existsByEmail(req.email())) {
             return ResponseEntity.badRequest().build();
         }
         u.setName(req.name());
         u.setEmail(req.email());
-        if (req.role() != null) u.setRole(req.role());
+        u.setRole(role);
+        u.setDepartment(department);
         if (req.password() != null && !req.password().isEmpty()) {
             u.setPassword(passwordEncoder.encode(req.password()));
         }
-        return ResponseEntity.ok(userRepository.save(u));
+        User saved = userRepository.save(u);
+        assignmentEngine.syncOfficer(saved);
+        dashboardCache.officersChanged();
+        return ResponseEntity.ok(toDto(saved));
     }
 
     @DeleteMapping("/users/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        if (!userRepository.existsById(id)) return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> deleteUser(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id) {
+        User u = userRepository.findById(id).orElse(null);
+        if (u == null) return ResponseEntity.notFound().build();
+        if (!mayManage(UserPrincipal.user(principal), u, u.getRole(), u.getDepartment())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         userRepository.deleteById(id);
+        assignmentEngine.removeOfficer(id);
+        dashboardCache.officersChanged();
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/users/{id}/role")
-    public ResponseEntity<User> setRole(@PathVariable Long id, @RequestParam Role role) {
+    public ResponseEntity<AuthDtos.UserDto> setRole(@AuthenticationPrincipal UserDetails principal,
+                                                    @PathVariable Long id, @RequestParam Role role) {
         User u = userRepository.findById(id).orElseThrow();
+        if (!mayManage(UserPrincipal.user(principal), u, role, u.getDepartment())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         u.setRole(role);
-        return ResponseEntity.ok(userRepository.save(u));
+        User saved = userRepository.save(u);
+        assignmentEngine.syncOfficer(saved);
+        dashboardCache.officersChanged();
+        return ResponseEntity.ok(toDto(saved));
     }
 
+    // Officers who can work on the admin's departments, including those without a department
     @GetMapping("/officers")
-    public ResponseEntity<java.util.List<User>> officers() { return ResponseEntity.ok(userRepository.findByRole(Role.OFFICER)); }
+    public ResponseEntity<java.util.List<AuthDtos.UserDto>> officers(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(dashboardCache.officers(departments(principal)));
+    }
+
+    // ?fields=id,title,... returns only those AdminItem fields, read with a narrow select
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
+    @GetMapping(value = "/feedbacks", params = "fields")
+    public ResponseEntity<SparseList> feedbackFields(@AuthenticationPrincipal UserDetails principal, @RequestParam String fields) {
+        return ResponseEntity.ok(sparseFields.admin(fields, departments(principal)));
+    }
 
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
     @GetMapping("/feedbacks")
-    public ResponseEntity<java.util.List<FeedbackDtos.AdminItem>> allFeedbacks() {
+    public ResponseEntity<java.util.List<FeedbackDtos.AdminItem>> allFeedbacks(@AuthenticationPrincipal UserDetails principal) {
         DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
-        java.util.List<FeedbackDtos.AdminItem> out = feedbackService.findAll().stream().map(f -> {
+        java.util.List<FeedbackDtos.AdminItem> out = feedbackService.findAll(departments(principal)).stream().map(f -> {
             boolean anon = f.isAnonymous();
             String citizenName = anon ? "Anonymous user" : (f.getCitizen() != null ? f.getCitizen().getName() : "");
             String citizenEmail = anon ? "" : (f.getCitizen() != null ? f.getCitizen().getEmail() : "");
@@ -113,37 +231,100 @@ public class AdminController {
     public ResponseEntity<Void> assign(@AuthenticationPrincipal UserDetails principal,
                                        @PathVariable Long id,
                                        @RequestParam("officerId") Long officerId) {
-        User admin = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User admin = UserPrincipal.user(principal);
         feedbackService.assignToOfficer(admin, id, officerId);
         return ResponseEntity.noContent().build();
     }
 
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
     @GetMapping("/feedbacks/counts")
-    public ResponseEntity<com.smartgrievance.service.FeedbackService.Counts> counts() {
-        return ResponseEntity.ok(feedbackService.adminCounts());
+    public ResponseEntity<com.smartgrievance.service.FeedbackService.Counts> counts(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(dashboardCache.adminCounts(departments(principal)));
     }
 
     @PutMapping("/feedbacks/{id}/deadline")
-    public ResponseEntity<Feedback> assignDeadline(@AuthenticationPrincipal UserDetails principal,
-                                                    @PathVariable Long id,
-                                                    @RequestBody FeedbackDtos.DeadlineRequest req) {
-        User admin = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+    public ResponseEntity<FeedbackDtos.MutationResult> assignDeadline(@AuthenticationPrincipal UserDetails principal,
+                                                                      @PathVariable Long id,
+                                                                      @RequestBody FeedbackDtos.DeadlineRequest req) {
+        User admin = UserPrincipal.user(principal);
         Feedback f = feedbackService.assignDeadline(admin, id, req.deadline());
-        return ResponseEntity.ok(f);
+        return ResponseEntity.ok(FeedbackDtos.MutationResult.of(f));
     }
 
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
     @GetMapping("/feedbacks/statistics")
-    public ResponseEntity<FeedbackDtos.StatisticsResponse> statistics() {
-        return ResponseEntity.ok(feedbackService.getAdminStatistics());
+    public ResponseEntity<FeedbackDtos.StatisticsResponse> statistics(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(dashboardCache.adminStatistics(departments(principal)));
+    }
+
+    // from/to accept an ISO instant or a date (start of day, UTC); defaults to the last 30 days.
+    // The rollups are not kept per department, so only admins who see every department get them.
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
+    @GetMapping("/feedbacks/trends")
+    public ResponseEntity<List<FeedbackDtos.TrendPoint>> trends(@AuthenticationPrincipal UserDetails principal,
+                                                                @RequestParam(required = false) String from,
+                                                                @RequestParam(required = false) String to,
+                                                                @RequestParam(defaultValue = "DAY") String granularity) {
+        if (!departments(principal).containsAll(shardResolver.shards())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Instant start, end;
+        TrendService.Granularity g;
+        try {
+            end = to == null ? Instant.now() : parseInstant(to);
+            start = from == null ? end.minus(30, ChronoUnit.DAYS) : parseInstant(from);
+            g = TrendService.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!start.isBefore(end)) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(trendService.trends(start, end, g));
+    }
+
+    // Streams every matching row straight to the response; from/to filter on createdAt
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
+    @GetMapping("/feedbacks/export")
+    public void export(@AuthenticationPrincipal UserDetails principal,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(required = false) FeedbackStatus status,
+                       @RequestParam(required = false) FeedbackType type,
+                       @RequestParam(required = false) SubmissionType submissionType,
+                       @RequestParam(required = false) String from,
+                       @RequestParam(required = false) String to,
+                       @RequestParam(defaultValue = "false") boolean includeArchived,
+                       HttpServletResponse response) throws IOException {
+        FeedbackExportService.Format f;
+        FeedbackDtos.ExportFilter filter;
+        try {
+            f = FeedbackExportService.Format.valueOf(format.toUpperCase());
+            filter = new FeedbackDtos.ExportFilter(status, type, submissionType,
+                    from == null ? null : parseInstant(from),
+                    to == null ? null : parseInstant(to),
+                    includeArchived);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // set directly: sendError would go through the unauthenticated /error dispatch
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        String extension = f == FeedbackExportService.Format.CSV ? "csv" : "ndjson";
+        response.setContentType(f == FeedbackExportService.Format.CSV ? "text/csv; charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"feedback-export-" + LocalDate.now(ZoneOffset.UTC) + "." + extension + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        exportService.export(filter, f, response.getOutputStream(), departments(principal));
+    }
+
+    private static Instant parseInstant(String value) {
+        return value.contains("T") ? Instant.parse(value) : LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
     }
 
     @PutMapping("/feedbacks/{id}/message")
-    public ResponseEntity<Feedback> sendAdminMessage(@AuthenticationPrincipal UserDetails principal,
-                                                     @PathVariable Long id,
-                                                     @RequestBody FeedbackDtos.AdminMessageRequest req) {
-        User admin = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        Feedback f = feedbackService.sendAdminMessage(admin, id, req.message());
-        return ResponseEntity.ok(f);
+    public ResponseEntity<Void> sendAdminMessage(@AuthenticationPrincipal UserDetails principal,
+                                                 @PathVariable Long id,
+                                                 @RequestBody FeedbackDtos.AdminMessageRequest req) {
+        User admin = UserPrincipal.user(principal);
+        feedbackService.sendAdminMessage(admin, id, req.message());
+        return ResponseEntity.noContent().build();
     }
 }
 
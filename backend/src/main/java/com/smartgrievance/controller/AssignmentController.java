@@ -0,0 +1,113 @@
+package com.smartgrievance.controller;
+
+import com.smartgrievance.bulkhead.Bulkhead;
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.FeedbackRepository;
+import com.smartgrievance.security.UserPrincipal;
+import com.smartgrievance.service.FeedbackService;
+import com.smartgrievance.service.OfficerAssignmentEngine;
+import com.smartgrievance.shard.ShardResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/assignments")
+@CrossOrigin
+@PreAuthorize("hasRole('ADMIN')")
+public class AssignmentController {
+    private static final int MAX_BATCH = 500;
+
+    private final OfficerAssignmentEngine assignmentEngine;
+    private final FeedbackService feedbackService;
+    private final FeedbackRepository feedbackRepository;
+    private final ShardResolver shardResolver;
+
+    public AssignmentController(OfficerAssignmentEngine assignmentEngine, FeedbackService feedbackService,
+                                FeedbackRepository feedbackRepository, ShardResolver shardResolver) {
+        this.assignmentEngine = assignmentEngine;
+        this.feedbackService = feedbackService;
+        this.feedbackRepository = feedbackRepository;
+        this.shardResolver = shardResolver;
+    }
+
+    // Departments the signed-in admin may read: their own, or all of them
+    private List<String> departments(UserDetails principal) {
+        return shardResolver.visibleTo(UserPrincipal.user(principal));
+    }
+
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
+    @GetMapping("/workload")
+    public ResponseEntity<List<OfficerAssignmentEngine.OfficerWorkload>> workload(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(assignmentEngine.workload(departments(principal)));
+    }
+
+    // Proposals only; nothing is assigned until the admin posts them (possibly edited) to /apply.
+    // Items outside the admin's departments are left out.
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
+    @PostMapping("/suggest")
+    public ResponseEntity<List<AdminDtos.AssignmentSuggestion>> suggest(@AuthenticationPrincipal UserDetails principal,
+                                                                        @RequestBody(required = false) AdminDtos.AssignmentSuggestRequest req) {
+        List<String> departments = departments(principal);
+        List<Feedback> items;
+        if (req != null && req.feedbackIds() != null && !req.feedbackIds().isEmpty()) {
+            if (req.feedbackIds().size() > MAX_BATCH) {
+                throw new IllegalArgumentException("At most " + MAX_BATCH + " items per batch");
+            }
+            items = feedbackRepository.findByIdInAndDepartmentIn(req.feedbackIds(), departments);
+        } else {
+            int limit = req == null || req.limit() == null ? 100 : Math.min(Math.max(req.limit(), 1), MAX_BATCH);
+            items = feedbackRepository.findByAssignedOfficerIsNullAndStatusInAndDepartmentInOrderByCreatedAtAsc(
+                    List.of(FeedbackStatus.SUBMITTED, FeedbackStatus.ESCALATED), departments, PageRequest.of(0, limit));
+        }
+        Map<Long, Feedback> byId = new HashMap<>();
+        List<FeedbackSnapshot> snapshots = new ArrayList<>(items.size());
+        for (Feedback f : items) {
+            byId.put(f.getId(), f);
+            snapshots.add(FeedbackSnapshot.of(f));
+        }
+        List<AdminDtos.AssignmentSuggestion> out = assignmentEngine.suggest(snapshots).stream()
+                .map(p -> {
+                    Feedback f = byId.get(p.feedbackId());
+                    return new AdminDtos.AssignmentSuggestion(f.getId(), f.getTitle(),
+                            f.getType() != null ? f.getType().name() : null, p.officerId(), p.officerEmail());
+                })
+                .toList();
+        return ResponseEntity.ok(out);
+    }
+
+    // Each item is assigned in its own transaction; failures are reported, not fatal
+    @PostMapping("/apply")
+    public ResponseEntity<AdminDtos.AssignmentApplyResult> apply(@AuthenticationPrincipal UserDetails principal,
+                                                                 @RequestBody AdminDtos.AssignmentApplyRequest req) {
+        User admin = UserPrincipal.user(principal);
+        List<AdminDtos.AssignmentItem> assignments = req.assignments() == null ? List.of() : req.assignments();
+        if (assignments.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " items per batch");
+        }
+        int applied = 0;
+        List<AdminDtos.AssignmentFailure> failed = new ArrayList<>();
+        for (AdminDtos.AssignmentItem item : assignments) {
+            try {
+                feedbackService.assignToOfficer(admin, item.feedbackId(), item.officerId());
+                applied++;
+            } catch (RuntimeException e) {
+                failed.add(new AdminDtos.AssignmentFailure(item.feedbackId(), e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+            }
+        }
+        return ResponseEntity.ok(new AdminDtos.AssignmentApplyResult(applied, failed));
+    }
+}
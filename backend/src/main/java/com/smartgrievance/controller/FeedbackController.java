@@ -1,11 +1,18 @@
 package com.smartgrievance.controller;
 
+import com.smartgrievance.bulkhead.Bulkhead;
+import com.smartgrievance.bulkhead.TrafficClass;
 import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.dto.SparseList;
+import com.smartgrievance.dto.UploadDtos;
 import com.smartgrievance.model.Feedback;
 import com.smartgrievance.model.FeedbackStatus;
 import com.smartgrievance.model.User;
-import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.security.UserPrincipal;
+import com.smartgrievance.service.DashboardCache;
 import com.smartgrievance.service.FeedbackService;
+import com.smartgrievance.service.OfficerWorkQueue;
+import com.smartgrievance.service.SparseFieldService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,32 +30,64 @@ import java.util.stream.Collectors;
 @CrossOrigin
 public class FeedbackController {
     private final FeedbackService feedbackService;
-    private final UserRepository userRepository;
+    private final OfficerWorkQueue workQueue;
+    private final SparseFieldService sparseFields;
+    private final DashboardCache dashboardCache;
 
-    public FeedbackController(FeedbackService feedbackService, UserRepository userRepository) {
+    public FeedbackController(FeedbackService feedbackService, OfficerWorkQueue workQueue, SparseFieldService sparseFields, DashboardCache dashboardCache) {
         this.feedbackService = feedbackService;
-        this.userRepository = userRepository;
+        this.workQueue = workQueue;
+        this.sparseFields = sparseFields;
+        this.dashboardCache = dashboardCache;
     }
 
+    @Bulkhead(TrafficClass.CITIZEN_WRITES)
     @PostMapping
     @PreAuthorize("hasRole('CITIZEN')")
     public ResponseEntity<Long> submit(@AuthenticationPrincipal UserDetails principal, @Valid @RequestBody FeedbackDtos.SubmitRequest req) {
-        User citizen = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User citizen = UserPrincipal.user(principal);
         Feedback f = feedbackService.submit(citizen, req);
         return ResponseEntity.ok(f.getId());
     }
 
+    @GetMapping("/{id}/attachments")
+    public ResponseEntity<List<UploadDtos.Attachment>> attachments(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id) {
+        User viewer = UserPrincipal.user(principal);
+        return ResponseEntity.ok(feedbackService.attachments(viewer, id));
+    }
+
     @GetMapping("/my")
     @PreAuthorize("hasRole('CITIZEN')")
-    public ResponseEntity<List<FeedbackDtos.FeedbackResponse>> my(@AuthenticationPrincipal UserDetails principal) {
-        User citizen = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(feedbackService.my(citizen));
+    public ResponseEntity<List<FeedbackDtos.FeedbackResponse>> my(@AuthenticationPrincipal UserDetails principal,
+                                                                 @RequestParam(defaultValue = "false") boolean includeArchived) {
+        User citizen = UserPrincipal.user(principal);
+        return ResponseEntity.ok(feedbackService.my(citizen, includeArchived));
+    }
+
+    // ?fields=id,title,... returns only those FeedbackResponse fields
+    @GetMapping(value = "/my", params = "fields")
+    @PreAuthorize("hasRole('CITIZEN')")
+    public ResponseEntity<SparseList> myFields(@AuthenticationPrincipal UserDetails principal,
+                                               @RequestParam String fields,
+                                               @RequestParam(defaultValue = "false") boolean includeArchived) {
+        User citizen = UserPrincipal.user(principal);
+        return ResponseEntity.ok(sparseFields.citizen(fields, citizen, includeArchived));
+    }
+
+    // ?fields=id,title,... returns only those OfficerItem fields
+    @Bulkhead(TrafficClass.OFFICER_READS)
+    @GetMapping(value = "/assigned", params = "fields")
+    @PreAuthorize("hasRole('OFFICER')")
+    public ResponseEntity<SparseList> assignedFields(@AuthenticationPrincipal UserDetails principal, @RequestParam String fields) {
+        User officer = UserPrincipal.user(principal);
+        return ResponseEntity.ok(sparseFields.officer(fields, officer));
     }
 
+    @Bulkhead(TrafficClass.OFFICER_READS)
     @GetMapping("/assigned")
     @PreAuthorize("hasRole('OFFICER')")
     public ResponseEntity<List<FeedbackDtos.OfficerItem>> assigned(@AuthenticationPrincipal UserDetails principal) {
-        User officer = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User officer = UserPrincipal.user(principal);
         DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
         List<Feedback> list = feedbackService.assignedTo(officer);
         List<FeedbackDtos.OfficerItem> out = list.stream().map(f -> {
@@ -76,63 +115,83 @@ public class FeedbackController {
         return ResponseEntity.ok(out);
     }
 
+    // The officer's open items, most urgent first (see OfficerWorkQueue)
+    @Bulkhead(TrafficClass.OFFICER_READS)
+    @GetMapping("/assigned/next")
+    @PreAuthorize("hasRole('OFFICER')")
+    public ResponseEntity<FeedbackDtos.WorkQueuePage> next(@AuthenticationPrincipal UserDetails principal,
+                                                           @RequestParam(defaultValue = "0") int offset,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        User officer = UserPrincipal.user(principal);
+        OfficerWorkQueue.Page page = workQueue.next(officer.getId(), offset, limit);
+        return ResponseEntity.ok(new FeedbackDtos.WorkQueuePage(
+                feedbackService.workQueueItems(officer, page.entries()), offset, page.total()));
+    }
+
     @PutMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('OFFICER','ADMIN')")
-    public ResponseEntity<Feedback> updateStatus(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id, @RequestParam FeedbackStatus status) {
-        User actor = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(feedbackService.updateStatus(actor, id, status));
+    public ResponseEntity<FeedbackDtos.MutationResult> updateStatus(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id, @RequestParam FeedbackStatus status) {
+        User actor = UserPrincipal.user(principal);
+        return ResponseEntity.ok(FeedbackDtos.MutationResult.of(feedbackService.updateStatus(actor, id, status)));
     }
 
+    @Bulkhead(TrafficClass.OFFICER_READS)
     @GetMapping("/assigned/counts")
     @PreAuthorize("hasRole('OFFICER')")
     public ResponseEntity<com.smartgrievance.service.FeedbackService.Counts> officerCounts(@AuthenticationPrincipal UserDetails principal) {
-        User officer = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User officer = UserPrincipal.user(principal);
         return ResponseEntity.ok(feedbackService.officerCounts(officer));
     }
 
+    @Bulkhead(TrafficClass.CITIZEN_WRITES)
     @PostMapping("/{id}/escalate")
     @PreAuthorize("hasRole('CITIZEN')")
-    public ResponseEntity<Feedback> escalate(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id, @RequestBody(required = false) Map<String, Object> body) {
-        User citizen = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+    public ResponseEntity<FeedbackDtos.MutationResult> escalate(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id, @RequestBody(required = false) Map<String, Object> body) {
+        User citizen = UserPrincipal.user(principal);
         Feedback f = feedbackService.escalateToAdmin(citizen, id);
-        return ResponseEntity.ok(f);
+        return ResponseEntity.ok(FeedbackDtos.MutationResult.of(f));
     }
 
+    @Bulkhead(TrafficClass.OFFICER_READS)
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('OFFICER')")
     public ResponseEntity<FeedbackDtos.StatisticsResponse> officerStatistics(@AuthenticationPrincipal UserDetails principal) {
-        User officer = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User officer = UserPrincipal.user(principal);
         return ResponseEntity.ok(feedbackService.getOfficerStatistics(officer));
     }
 
+    @Bulkhead(TrafficClass.CITIZEN_WRITES)
     @PostMapping("/{id}/withdraw")
     @PreAuthorize("hasRole('CITIZEN')")
-    public ResponseEntity<Feedback> withdraw(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id) {
-        User citizen = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        return ResponseEntity.ok(feedbackService.withdraw(citizen, id));
+    public ResponseEntity<FeedbackDtos.MutationResult> withdraw(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id) {
+        User citizen = UserPrincipal.user(principal);
+        return ResponseEntity.ok(FeedbackDtos.MutationResult.of(feedbackService.withdraw(citizen, id)));
     }
 
+    // staff only, so it does not take citizen-write capacity
+    @Bulkhead(TrafficClass.ADMIN_ANALYTICS)
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','OFFICER')")
     public ResponseEntity<Void> deleteFeedback(@AuthenticationPrincipal UserDetails principal, @PathVariable Long id) {
-        User actor = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        User actor = UserPrincipal.user(principal);
         feedbackService.deleteFeedback(actor, id);
         return ResponseEntity.noContent().build();
     }
 
+    @Bulkhead(TrafficClass.CITIZEN_WRITES)
     @PostMapping("/{id}/rating")
     @PreAuthorize("hasRole('CITIZEN')")
-    public ResponseEntity<Feedback> submitRating(@AuthenticationPrincipal UserDetails principal,
-                                                 @PathVariable Long id,
-                                                 @Valid @RequestBody FeedbackDtos.RatingRequest req) {
-        User citizen = userRepository.findByEmail(principal.getUsername()).orElseThrow();
-        Feedback f = feedbackService.submitRating(citizen, id, req);
-        return ResponseEntity.ok(f);
+    public ResponseEntity<Void> submitRating(@AuthenticationPrincipal UserDetails principal,
+                                             @PathVariable Long id,
+                                             @Valid @RequestBody FeedbackDtos.RatingRequest req) {
+        User citizen = UserPrincipal.user(principal);
+        feedbackService.submitRating(citizen, id, req);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/officer/{email}/rating")
     public ResponseEntity<FeedbackDtos.OfficerRatingResponse> getOfficerRating(@PathVariable String email) {
-        return ResponseEntity.ok(feedbackService.getOfficerRating(email));
+        return ResponseEntity.ok(dashboardCache.officerRating(email));
     }
 }
 
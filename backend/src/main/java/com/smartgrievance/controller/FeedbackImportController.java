@@ -0,0 +1,35 @@
+package com.smartgrievance.controller;
+
+import com.smartgrievance.bulkhead.Bulkhead;
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.service.FeedbackImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@Bulkhead(TrafficClass.FILE_IO)
+@RequestMapping("/api/admin/feedbacks/import")
+@CrossOrigin
+@PreAuthorize("hasRole('ADMIN')")
+public class FeedbackImportController {
+    private final FeedbackImportService importService;
+
+    public FeedbackImportController(FeedbackImportService importService) {
+        this.importService = importService;
+    }
+
+    // The request body is the raw CSV/NDJSON file and is read as a stream. Re-posting
+    // the same file with the same importId resumes after the last committed batch.
+    @PostMapping(consumes = "*/*")
+    public ResponseEntity<AdminDtos.ImportReport> importFeedback(@RequestParam String importId,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 HttpServletRequest request) throws IOException {
+        FeedbackImportService.Format f = FeedbackImportService.Format.valueOf(format.toUpperCase());
+        return ResponseEntity.ok(importService.importFeedback(importId, f, request.getInputStream()));
+    }
+}
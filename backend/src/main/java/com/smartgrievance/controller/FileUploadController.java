@@ -1,31 +1,55 @@
 package com.smartgrievance.controller;
 
+import com.smartgrievance.bulkhead.Bulkhead;
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.storage.BlobInfo;
+import com.smartgrievance.storage.BlobStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
 
+// Uploads go to the configured BlobStore under a random key; the stored photoUrl stays
+// /api/files/{key} whatever the store is. Downloads are redirected to a pre-signed URL
+// when the store offers one, otherwise streamed with single-range support.
 @RestController
 @RequestMapping("/api/files")
 @CrossOrigin
 public class FileUploadController {
-    private static final String UPLOAD_DIR = "uploads/";
+    private static final long[] UNSATISFIABLE = new long[0];
 
-    static {
-        try {
-            Files.createDirectories(Paths.get(UPLOAD_DIR));
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to create upload directory", e);
-        }
+    private final BlobStore blobStore;
+    private final DistributionSummary uploadBytes;
+    private final boolean redirectDownloads;
+    private final Duration presignTtl;
+
+    public FileUploadController(BlobStore blobStore,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.storage.redirect-downloads:true}") boolean redirectDownloads,
+                                @Value("${app.storage.presign-ttl-seconds:300}") long presignTtlSeconds) {
+        this.blobStore = blobStore;
+        this.uploadBytes = DistributionSummary.builder("grievance.upload.bytes")
+                .baseUnit("bytes")
+                .tag("store", blobStore.name())
+                .register(meterRegistry);
+        this.redirectDownloads = redirectDownloads;
+        this.presignTtl = Duration.ofSeconds(presignTtlSeconds);
     }
 
+    @Bulkhead(TrafficClass.FILE_IO)
     @PostMapping("/upload")
     @PreAuthorize("hasRole('CITIZEN')")
     public ResponseEntity<String> uploadFile(@RequestParam("file") MultipartFile file) {
@@ -34,14 +58,12 @@ public class FileUploadController {
         }
 
         try {
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".") 
-                ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
-                : "";
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = Paths.get(UPLOAD_DIR + filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            
+            String filename = BlobStore.newKey(file.getOriginalFilename());
+            try (InputStream in = file.getInputStream()) {
+                blobStore.put(filename, in, file.getSize(), file.getContentType());
+            }
+            uploadBytes.record(file.getSize());
+
             // Return the URL path (relative to the API base)
             return ResponseEntity.ok("/api/files/" + filename);
         } catch (IOException e) {
@@ -49,23 +71,87 @@ public class FileUploadController {
         }
     }
 
+    @Bulkhead(TrafficClass.FILE_IO)
     @GetMapping("/{filename:.+}")
-    public ResponseEntity<byte[]> getFile(@PathVariable String filename) {
-        try {
-            Path filePath = Paths.get(UPLOAD_DIR + filename);
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
+    public void getFile(@PathVariable String filename,
+                        @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                        HttpServletResponse response) throws IOException {
+        if (!validKey(filename)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (redirectDownloads) {
+            Optional<URI> url = blobStore.presignedGet(filename, presignTtl);
+            if (url.isPresent()) {
+                // the signature expires, so the redirect itself must not be cached for longer
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + Math.max(presignTtl.toSeconds() / 2, 1));
+                response.setHeader(HttpHeaders.LOCATION, url.get().toString());
+                response.setStatus(HttpStatus.FOUND.value());
+                return;
             }
-            byte[] fileContent = Files.readAllBytes(filePath);
-            String contentType = Files.probeContentType(filePath);
-            return ResponseEntity.ok()
-                .header("Content-Type", contentType != null ? contentType : "application/octet-stream")
-                .body(fileContent);
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+        }
+        Optional<BlobInfo> info = blobStore.stat(filename);
+        if (info.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long size = info.get().size();
+        long start = 0;
+        long length = size;
+        long[] r = range != null ? parseRange(range, size) : null;
+        if (r != null) {
+            if (r == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            start = r[0];
+            length = r[1] - r[0] + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r[0] + "-" + r[1] + "/" + size);
+        }
+        String contentType = info.get().contentType();
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentLengthLong(length);
+        try (InputStream in = blobStore.get(filename, start, length); OutputStream out = response.getOutputStream()) {
+            in.transferTo(out);
         }
     }
-}
-
 
+    private static boolean validKey(String key) {
+        try {
+            BlobStore.checkKey(key);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 
+    // Single range "bytes=a-b", "bytes=a-" or "bytes=-n" as inclusive {first, last};
+    // UNSATISFIABLE when it lies outside the blob. Multiple ranges, other units and malformed
+    // specs give null: RFC 9110 says to ignore such a header and send the whole body.
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return null;
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+        try {
+            String a = spec.substring(0, dash).trim();
+            String b = spec.substring(dash + 1).trim();
+            if (a.isEmpty()) {
+                long suffix = Long.parseLong(b);
+                if (suffix < 0) return null;
+                if (suffix == 0 || size == 0) return UNSATISFIABLE;
+                return new long[]{Math.max(size - suffix, 0), size - 1};
+            }
+            long first = Long.parseLong(a);
+            long last = b.isEmpty() ? Long.MAX_VALUE : Long.parseLong(b);
+            if (first < 0 || last < first) return null;
+            if (first >= size) return UNSATISFIABLE;
+            return new long[]{first, Math.min(last, size - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartgrievance.controller;
+
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.service.PublicFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Unauthenticated transparency feed of public submissions. Responses are byte-for-byte
+// identical for every caller, so CDNs and browsers can cache and revalidate them.
+@RestController
+@RequestMapping("/api/public/feedback")
+@CrossOrigin
+public class PublicFeedController {
+    private final PublicFeedService publicFeedService;
+    private final String cacheControl;
+
+    public PublicFeedController(PublicFeedService publicFeedService,
+                                @Value("${app.public-feed.cache-control:public, max-age=30, stale-while-revalidate=60}") String cacheControl) {
+        this.publicFeedService = publicFeedService;
+        this.cacheControl = cacheControl;
+    }
+
+    @GetMapping
+    public ResponseEntity<byte[]> feed(@RequestParam(required = false) FeedbackType type,
+                                       @RequestParam(required = false) FeedbackStatus status,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "20") int size,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PublicFeedService.Page p = publicFeedService.page(type, status, page, size);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(p.etag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(p.etag())
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(p.etag())
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .body(p.body());
+    }
+}
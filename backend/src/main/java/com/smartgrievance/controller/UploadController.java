@@ -0,0 +1,151 @@
+package com.smartgrievance.controller;
+
+import com.smartgrievance.bulkhead.Bulkhead;
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.dto.UploadDtos;
+import com.smartgrievance.model.FeedbackAttachment;
+import com.smartgrievance.model.UploadSession;
+import com.smartgrievance.model.User;
+import com.smartgrievance.security.UserPrincipal;
+import com.smartgrievance.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+// Resumable upload protocol:
+//   POST   /api/uploads                 open a session for a file of known size
+//   HEAD   /api/uploads/{id}            Upload-Offset: how many bytes have been received
+//   PUT    /api/uploads/{id}            raw bytes (application/octet-stream) of the next chunk,
+//                                       with Upload-Offset set to where they start; answers
+//                                       with the new offset
+//   POST   /api/uploads/{id}/complete   verify the file and turn it into an attachment
+//   DELETE /api/uploads/{id}            give up
+// A chunk may start anywhere up to the current offset, so re-sending a chunk whose
+// answer was lost is harmless; starting past it is a 409 carrying the real offset.
+@RestController
+@Bulkhead(TrafficClass.FILE_IO)
+@RequestMapping("/api/uploads")
+@CrossOrigin(exposedHeaders = {UploadController.UPLOAD_OFFSET, UploadController.UPLOAD_LENGTH, HttpHeaders.LOCATION})
+@PreAuthorize("hasRole('CITIZEN')")
+public class UploadController {
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final UploadService uploadService;
+
+    public UploadController(UploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadDtos.SessionResponse> create(@AuthenticationPrincipal UserDetails principal,
+                                                             @Valid @RequestBody UploadDtos.CreateRequest req) {
+        UploadSession s = uploadService.create(citizen(principal), req);
+        return ResponseEntity.created(URI.create("/api/uploads/" + s.getId())).body(toDto(s));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadDtos.SessionResponse> status(@AuthenticationPrincipal UserDetails principal, @PathVariable String id) {
+        return session(principal, id)
+                .map(s -> offsetHeaders(ResponseEntity.ok(), s.getReceived(), s).body(toDto(s)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> offset(@AuthenticationPrincipal UserDetails principal, @PathVariable String id) {
+        return session(principal, id)
+                .map(s -> offsetHeaders(ResponseEntity.ok(), s.getReceived(), s).<Void>build())
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping(value = "/{id}", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "application/offset+octet-stream"})
+    public ResponseEntity<String> chunk(@AuthenticationPrincipal UserDetails principal,
+                                        @PathVariable String id,
+                                        @RequestHeader(UPLOAD_OFFSET) long offset,
+                                        HttpServletRequest request) throws IOException {
+        Optional<UploadSession> found = session(principal, id);
+        if (found.isEmpty()) return ResponseEntity.notFound().build();
+        UploadSession s = found.get();
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).body("Content-Length is required");
+        }
+        if (length > uploadService.maxChunkBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("Chunks are limited to " + uploadService.maxChunkBytes() + " bytes");
+        }
+        if (offset < 0 || offset > s.getReceived()) {
+            return offsetHeaders(ResponseEntity.status(HttpStatus.CONFLICT), s.getReceived(), s)
+                    .body("Expected a chunk starting at or before " + s.getReceived());
+        }
+        if (offset + length > s.getSize()) {
+            return ResponseEntity.badRequest().body("Chunk ends past the declared size of " + s.getSize() + " bytes");
+        }
+        long received;
+        try (InputStream in = request.getInputStream()) {
+            received = uploadService.write(s, offset, in, length);
+        }
+        return offsetHeaders(ResponseEntity.noContent(), received, s).build();
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> complete(@AuthenticationPrincipal UserDetails principal, @PathVariable String id) throws IOException {
+        Optional<UploadSession> found = session(principal, id);
+        if (found.isEmpty()) return ResponseEntity.notFound().build();
+        UploadSession s = found.get();
+        if (s.getReceived() != s.getSize()) {
+            return offsetHeaders(ResponseEntity.status(HttpStatus.CONFLICT), s.getReceived(), s)
+                    .body("Upload is incomplete: " + s.getReceived() + " of " + s.getSize() + " bytes received");
+        }
+        try {
+            FeedbackAttachment a = uploadService.complete(s);
+            return ResponseEntity.status(HttpStatus.CREATED).body(UploadDtos.Attachment.of(a));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abort(@AuthenticationPrincipal UserDetails principal, @PathVariable String id) throws IOException {
+        Optional<UploadSession> found = session(principal, id);
+        if (found.isEmpty()) return ResponseEntity.notFound().build();
+        uploadService.discard(found.get());
+        return ResponseEntity.noContent().build();
+    }
+
+    private User citizen(UserDetails principal) {
+        return UserPrincipal.user(principal);
+    }
+
+    private Optional<UploadSession> session(UserDetails principal, String id) {
+        return uploadService.find(citizen(principal), id);
+    }
+
+    private static ResponseEntity.BodyBuilder offsetHeaders(ResponseEntity.BodyBuilder builder, long offset, UploadSession s) {
+        return builder.header(UPLOAD_OFFSET, String.valueOf(offset))
+                .header(UPLOAD_LENGTH, String.valueOf(s.getSize()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store");
+    }
+
+    private static ResponseEntity.HeadersBuilder<?> offsetHeaders(ResponseEntity.HeadersBuilder<?> builder, long offset, UploadSession s) {
+        return builder.header(UPLOAD_OFFSET, String.valueOf(offset))
+                .header(UPLOAD_LENGTH, String.valueOf(s.getSize()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store");
+    }
+
+    private UploadDtos.SessionResponse toDto(UploadSession s) {
+        return new UploadDtos.SessionResponse(s.getId(), s.getFilename(), s.getSize(), s.getReceived(),
+                uploadService.maxChunkBytes(), uploadService.expiresAt(s).toString());
+    }
+}
@@ -8,17 +8,46 @@ public class AdminDtos {
     public record CreateUserRequest(@NotBlank String name,
                                     @Email @NotBlank String email,
                                     @NotBlank String password,
-                                    Role role) {}
+                                    Role role,
+                                    String department) {}
 
     public record UpdateUserRequest(@NotBlank String name,
                                     @Email @NotBlank String email,
                                     Role role,
-                                    String password) {}
-}
+                                    String password,
+                                    String department) {}
+
+    // nextCursor is null on the last page
+    public record UserPage(java.util.List<AuthDtos.UserDto> items, String nextCursor) {}
 
+    // Empty feedbackIds means "the oldest unassigned SUBMITTED/ESCALATED items", up to limit
+    public record AssignmentSuggestRequest(java.util.List<Long> feedbackIds, Integer limit) {}
 
+    public record AssignmentSuggestion(Long feedbackId,
+                                       String title,
+                                       String type,
+                                       Long officerId,
+                                       String officerEmail) {}
 
+    public record AssignmentItem(Long feedbackId, Long officerId) {}
 
+    public record AssignmentApplyRequest(java.util.List<AssignmentItem> assignments) {}
 
+    public record AssignmentFailure(Long feedbackId, String reason) {}
 
+    public record AssignmentApplyResult(int applied, java.util.List<AssignmentFailure> failed) {}
 
+    // record is the 1-based data record number in the input (not the physical line)
+    public record ImportRejection(long record, String reason) {}
+
+    // Counts cover this run; resumedFrom is how many records an earlier run had already committed
+    public record ImportReport(String importId,
+                               boolean completed,
+                               long resumedFrom,
+                               long read,
+                               long inserted,
+                               long rejected,
+                               long elapsedMs,
+                               double rowsPerSecond,
+                               java.util.List<ImportRejection> rejections) {}
+}
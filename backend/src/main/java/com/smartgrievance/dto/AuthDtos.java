@@ -1,5 +1,6 @@
 package com.smartgrievance.dto;
 
+import com.smartgrievance.model.User;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
@@ -8,7 +9,11 @@ public class AuthDtos {
     public record RegisterCitizenRequest(@NotBlank String name, @Email @NotBlank String email, @NotBlank String password) {}
     public record UpdateProfileRequest(@NotBlank String name, String password) {}
     public record AuthResponse(String token, UserDto user) {}
-    public record UserDto(Long id, String name, String email, String role) {}
+    public record UserDto(Long id, String name, String email, String role, String department) {
+        public static UserDto of(User u) {
+            return new UserDto(u.getId(), u.getName(), u.getEmail(), u.getRole() != null ? u.getRole().name() : null, u.getDepartment());
+        }
+    }
 }
 
 
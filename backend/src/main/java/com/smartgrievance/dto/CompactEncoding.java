@@ -0,0 +1,208 @@
+package com.smartgrievance.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Compact form of the DTOs for binary responses (application/cbor). The DTOs carry enums
+// and timestamps as the strings the web client displays; here a known enum property is
+// written as the constant's ordinal and a timestamp property as epoch millis. Codes follow
+// declaration order, so new constants must be appended, never inserted. Deadlines are
+// local wall-clock times and are converted in the server's zone, as FeedbackService
+// compares them. The statistics distributions are keyed by the same codes. A value that
+// is not a known constant or does not parse is written as is.
+public final class CompactEncoding {
+    // Set on the compact mapper's serialization config; SparseList checks it
+    public static final String ATTRIBUTE = CompactEncoding.class.getName();
+
+    private static final Map<String, Map<String, Integer>> ENUMS = Map.of(
+            "status", codes(FeedbackStatus.values()),
+            "fromStatus", codes(FeedbackStatus.values()),
+            "toStatus", codes(FeedbackStatus.values()),
+            "type", codes(FeedbackType.values()),
+            "submissionType", codes(SubmissionType.values()),
+            "role", codes(Role.values()));
+
+    // Map<String, Long> properties keyed by enum name
+    private static final Map<String, Map<String, Integer>> ENUM_KEYED = Map.of(
+            "statusDistribution", codes(FeedbackStatus.values()),
+            "typeDistribution", codes(FeedbackType.values()),
+            "submissionTypeDistribution", codes(SubmissionType.values()));
+
+    private static final Set<String> TIMESTAMPS = Set.of("createdAt", "updatedAt", "lastUpdatedAt", "deadline", "dueAt");
+
+    // Writes one string value of a property in its compact form
+    public interface Encoder {
+        void write(String value, JsonGenerator gen) throws IOException;
+    }
+
+    private CompactEncoding() {}
+
+    // null when the property has no compact form
+    public static Encoder encoder(String property) {
+        Map<String, Integer> codes = ENUMS.get(property);
+        if (codes != null) {
+            return (value, gen) -> {
+                Integer code = codes.get(value);
+                if (code != null) gen.writeNumber(code); else gen.writeString(value);
+            };
+        }
+        return TIMESTAMPS.contains(property) ? CompactEncoding::writeTimestamp : null;
+    }
+
+    public static boolean enabled(SerializerProvider provider) {
+        return provider.getAttribute(ATTRIBUTE) != null;
+    }
+
+    // A CBOR mapper with the JSON mapper's modules and settings plus the compact form
+    public static ObjectMapper mapper(ObjectMapper json) {
+        ObjectMapper cbor = json.copyWith(new CBORFactory());
+        cbor.registerModule(new SimpleModule("compact-encoding").setSerializerModifier(new Modifier()));
+        cbor.setConfig(cbor.getSerializationConfig().withAttribute(ATTRIBUTE, Boolean.TRUE));
+        return cbor;
+    }
+
+    private static void writeTimestamp(String value, JsonGenerator gen) throws IOException {
+        long millis = epochMillis(value);
+        if (millis != Long.MIN_VALUE) {
+            gen.writeNumber(millis);
+            return;
+        }
+        try {
+            millis = value.endsWith("Z")
+                    ? Instant.parse(value).toEpochMilli()
+                    : LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            gen.writeNumber(millis);
+        } catch (DateTimeParseException e) {
+            gen.writeString(value);
+        }
+    }
+
+    // Fast path for the shapes the DTOs produce, yyyy-MM-ddTHH:mm:ss[.fraction] with a
+    // trailing Z for instants and none for local times; the general parsers cost several
+    // times the rest of the serialization. Long.MIN_VALUE when the value has another shape.
+    static long epochMillis(String v) {
+        int n = v.length();
+        if (n < 19 || v.charAt(4) != '-' || v.charAt(7) != '-' || v.charAt(10) != 'T'
+                || v.charAt(13) != ':' || v.charAt(16) != ':') return Long.MIN_VALUE;
+        boolean utc = v.charAt(n - 1) == 'Z';
+        int end = utc ? n - 1 : n;
+        int millis = 0;
+        if (end > 19) {
+            if (v.charAt(19) != '.' || end == 20) return Long.MIN_VALUE;
+            for (int i = 20; i < end; i++) {
+                int d = v.charAt(i) - '0';
+                if (d < 0 || d > 9) return Long.MIN_VALUE;
+                if (i < 23) millis = millis * 10 + d;
+            }
+            for (int i = Math.min(end, 23); i < 23; i++) millis *= 10;
+        }
+        int year = digits(v, 0, 4), month = digits(v, 5, 2), day = digits(v, 8, 2);
+        int hour = digits(v, 11, 2), minute = digits(v, 14, 2), second = digits(v, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour > 23 || minute > 59 || second > 59) return Long.MIN_VALUE;
+        LocalDateTime t;
+        try {
+            t = LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+        long seconds = utc ? t.toEpochSecond(ZoneOffset.UTC) : t.atZone(ZoneId.systemDefault()).toEpochSecond();
+        return seconds * 1000 + millis;
+    }
+
+    // -1 if any of the count characters from start is not a digit
+    private static int digits(String v, int start, int count) {
+        int out = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = v.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            out = out * 10 + d;
+        }
+        return out;
+    }
+
+    private static Map<String, Integer> codes(Enum<?>[] constants) {
+        Map<String, Integer> codes = new HashMap<>();
+        for (Enum<?> c : constants) codes.put(c.name(), c.ordinal());
+        return Map.copyOf(codes);
+    }
+
+    // Swaps in the compact serializer for String properties of the DTOs in this package
+    private static final class Modifier extends BeanSerializerModifier {
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription desc, List<BeanPropertyWriter> props) {
+            if (!desc.getBeanClass().getPackageName().equals(CompactEncoding.class.getPackageName())) return props;
+            for (BeanPropertyWriter p : props) {
+                if (p.hasSerializer()) continue;
+                if (p.getType().hasRawClass(String.class)) {
+                    Encoder encoder = encoder(p.getName());
+                    if (encoder != null) p.assignSerializer(new EncoderSerializer(encoder));
+                } else if (p.getType().isMapLikeType() && ENUM_KEYED.containsKey(p.getName())) {
+                    p.assignSerializer(new CodeKeyedSerializer(ENUM_KEYED.get(p.getName())));
+                }
+            }
+            return props;
+        }
+    }
+
+    private static final class EncoderSerializer extends StdSerializer<Object> {
+        private final Encoder encoder;
+
+        EncoderSerializer(Encoder encoder) {
+            super(Object.class);
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            encoder.write((String) value, gen);
+        }
+    }
+
+    // Writes the map with integer keys where the key is a known constant; CBOR allows them
+    private static final class CodeKeyedSerializer extends StdSerializer<Object> {
+        private final Map<String, Integer> codes;
+
+        CodeKeyedSerializer(Map<String, Integer> codes) {
+            super(Object.class);
+            this.codes = codes;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Map<?, ?> map = (Map<?, ?>) value;
+            gen.writeStartObject(value, map.size());
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                String key = String.valueOf(e.getKey());
+                Integer code = codes.get(key);
+                if (code != null) gen.writeFieldId(code); else gen.writeFieldName(key);
+                provider.defaultSerializeValue(e.getValue(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.smartgrievance.dto;
 
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
 import com.smartgrievance.model.FeedbackType;
 import com.smartgrievance.model.SubmissionType;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.Instant;
+import java.util.List;
+
 public class FeedbackDtos {
     public record SubmitRequest(@NotBlank String title,
                                 @NotBlank String description,
@@ -11,7 +16,8 @@ public class FeedbackDtos {
                                 boolean isAnonymous,
                                 String photoUrl,
                                 FeedbackType type,
-                                SubmissionType submissionType) {}
+                                SubmissionType submissionType,
+                                List<Long> attachmentIds) {}
     
     public record FeedbackResponse(Long id, 
                                    String title,
@@ -63,6 +69,70 @@ public class FeedbackDtos {
                             Integer rating,
                             String ratingComment) {}
     
+    // One line of /api/admin/feedbacks/export; field order is the CSV column order
+    public record ExportRow(Long id,
+                            String submissionType,
+                            String type,
+                            String status,
+                            String title,
+                            String description,
+                            String createdAt,
+                            String updatedAt,
+                            String citizenName,
+                            String citizenEmail,
+                            boolean anonymous,
+                            boolean isPublic,
+                            String officerEmail,
+                            String deadline,
+                            Integer escalationLevel,
+                            String adminMessage,
+                            Integer rating,
+                            String ratingComment) {}
+
+    // Public transparency feed; never carries emails, and anonymous citizens are masked
+    public record PublicItem(Long id,
+                             String title,
+                             String description,
+                             String type,
+                             String submissionType,
+                             String status,
+                             String createdAt,
+                             String updatedAt,
+                             String citizenName,
+                             String photoUrl) {}
+
+    public record PublicPage(java.util.List<PublicItem> items, int page, int size, boolean hasNext) {}
+
+    public record ExportFilter(FeedbackStatus status,
+                               FeedbackType type,
+                               SubmissionType submissionType,
+                               Instant from,
+                               Instant to,
+                               boolean includeArchived) {}
+
+    // One entry of an officer's work queue; dueAt is the urgency the queue orders by
+    public record WorkQueueItem(Long id,
+                                String title,
+                                String status,
+                                String type,
+                                String submissionType,
+                                String createdAt,
+                                String deadline,
+                                Integer escalationLevel,
+                                String dueAt,
+                                boolean overdue,
+                                String citizenName) {}
+
+    public record WorkQueuePage(java.util.List<WorkQueueItem> items, int offset, int total) {}
+
+    // Returned by mutations instead of the entity, which would drag in both users and every @Lob field
+    public record MutationResult(Long id, String status, long version, String updatedAt) {
+        public static MutationResult of(Feedback f) {
+            return new MutationResult(f.getId(), f.getStatus().name(), f.getVersion(),
+                    f.getUpdatedAt() != null ? f.getUpdatedAt().toString() : null);
+        }
+    }
+
     public record DeadlineRequest(String deadline) {} // ISO date string format
     
     public record AdminMessageRequest(String message) {} // Message from admin to officer
@@ -81,6 +151,14 @@ public class FeedbackDtos {
                                      java.util.Map<String, Long> statusDistribution,
                                      java.util.Map<String, Long> typeDistribution,
                                      java.util.Map<String, Long> submissionTypeDistribution) {}
+
+    // fromStatus is NEW for submissions
+    public record TrendPoint(String bucket,
+                             String type,
+                             String submissionType,
+                             String fromStatus,
+                             String toStatus,
+                             long count) {}
 }
 
 
@@ -0,0 +1,57 @@
+package com.smartgrievance.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+// Rows of a sparse fieldset response (?fields=...). Field names come pre-encoded from
+// the compiled field set and values are written straight to the generator, so no bean
+// or Map is built per row and only the requested keys appear in the output. Under the
+// compact mapper the enum and timestamp fields take their CompactEncoding form.
+public final class SparseList extends JsonSerializable.Base {
+    private final SerializableString[] names;
+    private final List<Object[]> rows;
+
+    public SparseList(SerializableString[] names, List<Object[]> rows) {
+        this.names = names;
+        this.rows = rows;
+    }
+
+    public int size() { return rows.size(); }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        CompactEncoding.Encoder[] encoders = new CompactEncoding.Encoder[names.length];
+        if (CompactEncoding.enabled(provider)) {
+            for (int i = 0; i < names.length; i++) encoders[i] = CompactEncoding.encoder(names[i].getValue());
+        }
+        gen.writeStartArray(this, rows.size());
+        for (Object[] row : rows) {
+            gen.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                gen.writeFieldName(names[i]);
+                Object v = row[i];
+                if (v == null) gen.writeNull();
+                else if (v instanceof String s) {
+                    if (encoders[i] != null) encoders[i].write(s, gen); else gen.writeString(s);
+                }
+                else if (v instanceof Long l) gen.writeNumber(l);
+                else if (v instanceof Integer n) gen.writeNumber(n);
+                else if (v instanceof Boolean b) gen.writeBoolean(b);
+                else provider.defaultSerializeValue(v, gen);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+        serialize(gen, provider);
+    }
+}
@@ -0,0 +1,31 @@
+package com.smartgrievance.dto;
+
+import com.smartgrievance.model.FeedbackAttachment;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+public class UploadDtos {
+    // sha256 is optional; when given, the finished file must match it
+    public record CreateRequest(@NotBlank String filename,
+                                String contentType,
+                                @Positive long size,
+                                String sha256) {}
+
+    public record SessionResponse(String id,
+                                  String filename,
+                                  long size,
+                                  long offset,
+                                  long maxChunkBytes,
+                                  String expiresAt) {}
+
+    public record Attachment(Long id,
+                             String url,
+                             String filename,
+                             String contentType,
+                             long size,
+                             String sha256) {
+        public static Attachment of(FeedbackAttachment a) {
+            return new Attachment(a.getId(), "/api/files/" + a.getBlobKey(), a.getFilename(), a.getContentType(), a.getSize(), a.getSha256());
+        }
+    }
+}
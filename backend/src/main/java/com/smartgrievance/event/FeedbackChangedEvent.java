@@ -0,0 +1,24 @@
+package com.smartgrievance.event;
+
+import com.smartgrievance.model.FeedbackStatus;
+
+// Published by FeedbackService for every mutation. before is null for a new
+// submission, after is null for a deletion.
+public record FeedbackChangedEvent(FeedbackSnapshot before, FeedbackSnapshot after) {
+
+    public FeedbackSnapshot current() {
+        return after != null ? after : before;
+    }
+
+    public boolean created() { return before == null; }
+
+    public boolean deleted() { return after == null; }
+
+    public boolean statusChanged() {
+        return before != null && after != null && before.status() != after.status();
+    }
+
+    public FeedbackStatus previousStatus() {
+        return before != null ? before.status() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartgrievance.event;
+
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.SubmissionType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// Immutable copy of the fields listeners care about, taken before and after a mutation.
+public record FeedbackSnapshot(Long id,
+                               FeedbackType type,
+                               SubmissionType submissionType,
+                               FeedbackStatus status,
+                               Long citizenId,
+                               Long officerId,
+                               boolean isPublic,
+                               boolean isAnonymous,
+                               LocalDateTime deadline,
+                               int escalationLevel,
+                               String department,
+                               Integer rating,
+                               String adminMessage,
+                               Instant createdAt) {
+
+    public static FeedbackSnapshot of(Feedback f) {
+        return new FeedbackSnapshot(
+                f.getId(),
+                f.getType(),
+                f.getSubmissionType(),
+                f.getStatus(),
+                f.getCitizen() != null ? f.getCitizen().getId() : null,
+                f.getAssignedOfficer() != null ? f.getAssignedOfficer().getId() : null,
+                f.isPublic(),
+                f.isAnonymous(),
+                f.getDeadline(),
+                f.getEscalationLevel(),
+                f.getDepartment(),
+                f.getRating(),
+                f.getAdminMessage(),
+                f.getCreatedAt());
+    }
+}
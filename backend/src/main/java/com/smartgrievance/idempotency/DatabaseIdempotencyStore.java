@@ -0,0 +1,91 @@
+package com.smartgrievance.idempotency;
+
+import com.smartgrievance.model.IdempotencyRecord;
+import com.smartgrievance.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Keys in the idempotency_key table, so every node sees them. The primary key decides which
+// request runs: the first insert wins and the others find its row. A row whose request
+// never finished (node crash) expires after in-flight-timeout-ms and can be claimed again.
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    private final IdempotencyRecordRepository records;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository records,
+                                    @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                    @Value("${app.idempotency.in-flight-timeout-ms:60000}") long inFlightTimeoutMs) {
+        this.records = records;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.inFlightTimeout = Duration.ofMillis(inFlightTimeoutMs);
+    }
+
+    @Override
+    public Claim claim(String key) {
+        Instant now = Instant.now();
+        // looked up first so that a plain retry does not cost a failed insert
+        Optional<IdempotencyRecord> existing = records.findById(key);
+        if (existing.isPresent()) {
+            if (existing.get().getExpiresAt().isAfter(now)) return claimOf(existing.get());
+            records.deleteIfExpired(key, now);
+        }
+        try {
+            records.claim(key, now, now.plus(inFlightTimeout));
+            return Claim.OWNER;
+        } catch (DataIntegrityViolationException e) {
+            // gone again between the insert and this read: the owner released it, ask again
+            return records.findById(key).map(DatabaseIdempotencyStore::claimOf).orElse(Claim.BUSY);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        StringBuilder headers = new StringBuilder();
+        for (StoredResponse.Header h : response.headers()) {
+            headers.append(h.name()).append(": ").append(h.value()).append('\n');
+        }
+        records.complete(key, response.status(), response.contentType(), headers.toString(), response.body(), Instant.now().plus(ttl));
+    }
+
+    @Override
+    public void release(String key) {
+        records.release(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}", initialDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = records.deleteExpired(Instant.now());
+        if (purged > 0) log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    private static Claim claimOf(IdempotencyRecord r) {
+        return r.getStatus() != null ? Claim.done(toResponse(r)) : Claim.BUSY;
+    }
+
+    private static StoredResponse toResponse(IdempotencyRecord r) {
+        List<StoredResponse.Header> headers = new ArrayList<>();
+        if (r.getHeaders() != null) {
+            for (String line : r.getHeaders().split("\n")) {
+                int colon = line.indexOf(": ");
+                if (colon > 0) headers.add(new StoredResponse.Header(line.substring(0, colon), line.substring(colon + 2)));
+            }
+        }
+        return new StoredResponse(r.getStatus(), r.getContentType(), headers, r.getBody() != null ? r.getBody() : new byte[0]);
+    }
+}
@@ -0,0 +1,224 @@
+package com.smartgrievance.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs an unsafe request sent with an Idempotency-Key header at most once per caller,
+// method, path and key: a retry gets the original response again (marked with
+// Idempotent-Replayed: true) instead of submitting, escalating or uploading twice. A
+// duplicate that arrives while the first is still running waits up to wait-ms for its
+// response, then gets 409 with Retry-After. Only 2xx responses of at most max-body-bytes
+// are kept; anything else releases the key so the retry runs again. The request body is
+// not compared, so a client must not reuse a key for a different request.
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MS = 100;
+    // set by the container or other filters on every response, never replayed
+    private static final Set<String> NOT_REPLAYED = Set.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, "Server-Timing");
+
+    private final IdempotencyStore store;
+    private final long waitNanos;
+    private final int maxBodyBytes;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter unprotected;
+
+    public IdempotencyFilter(IdempotencyStore store, long waitMs, int maxBodyBytes, MeterRegistry registry) {
+        this.store = store;
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMs);
+        this.maxBodyBytes = maxBodyBytes;
+        this.executed = Counter.builder("grievance.idempotency.requests").tag("result", "executed").register(registry);
+        this.replayed = Counter.builder("grievance.idempotency.requests").tag("result", "replayed").register(registry);
+        this.conflicts = Counter.builder("grievance.idempotency.requests").tag("result", "conflict").register(registry);
+        this.unprotected = Counter.builder("grievance.idempotency.requests").tag("result", "store-error").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(HEADER) == null || !METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        // keys are per caller; requests that need no login have no one to scope them to
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String scoped = scope(auth.getName(), request.getMethod(), request.getRequestURI(), key);
+        long deadline = System.nanoTime() + waitNanos;
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scoped, mine);
+            if (running == null) {
+                try {
+                    execute(scoped, request, response, chain, mine, deadline);
+                } finally {
+                    inFlight.remove(scoped, mine);
+                    mine.complete(null);
+                }
+                return;
+            }
+            // the same key is running on this node: wait for it rather than asking the store
+            StoredResponse original;
+            try {
+                original = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                conflict(response);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                conflict(response);
+                return;
+            } catch (ExecutionException e) {
+                original = null;
+            }
+            if (original != null) {
+                replay(original, response);
+                return;
+            }
+            // the first attempt kept nothing (an error, say), so this one runs it again
+        }
+    }
+
+    private void execute(String scoped, HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         CompletableFuture<StoredResponse> mine, long deadline) throws ServletException, IOException {
+        while (true) {
+            IdempotencyStore.Claim claim;
+            try {
+                claim = store.claim(scoped);
+            } catch (RuntimeException e) {
+                // an unavailable store should not take keyed requests down with it
+                log.warn("Idempotency store unavailable, running {} {} unprotected: {}", request.getMethod(), request.getRequestURI(), e.toString());
+                unprotected.increment();
+                chain.doFilter(request, response);
+                return;
+            }
+            if (claim.state() == IdempotencyStore.Claim.State.OWNER) break;
+            if (claim.state() == IdempotencyStore.Claim.State.DONE) {
+                mine.complete(claim.response());
+                replay(claim.response(), response);
+                return;
+            }
+            // running on another node
+            if (System.nanoTime() >= deadline) {
+                conflict(response);
+                return;
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                conflict(response);
+                return;
+            }
+        }
+
+        executed.increment();
+        Set<String> before = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        before.addAll(response.getHeaderNames());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse kept = null;
+        try {
+            chain.doFilter(request, wrapper);
+            kept = capture(wrapper, before);
+        } finally {
+            try {
+                if (kept != null) store.complete(scoped, kept);
+                else store.release(scoped);
+            } catch (RuntimeException e) {
+                log.warn("Could not record idempotency key for {} {}: {}", request.getMethod(), request.getRequestURI(), e.toString());
+            }
+            mine.complete(kept);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse capture(ContentCachingResponseWrapper wrapper, Set<String> before) {
+        int status = wrapper.getStatus();
+        if (status < 200 || status >= 300 || wrapper.getContentSize() > maxBodyBytes) return null;
+        List<StoredResponse.Header> headers = new ArrayList<>();
+        for (String name : new TreeSet<>(wrapper.getHeaderNames())) {
+            if (before.contains(name) || NOT_REPLAYED.stream().anyMatch(name::equalsIgnoreCase)) continue;
+            for (String value : wrapper.getHeaders(name)) headers.add(new StoredResponse.Header(name, value));
+        }
+        return new StoredResponse(status, wrapper.getContentType(), headers, wrapper.getContentAsByteArray());
+    }
+
+    private void replay(StoredResponse original, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(original.status());
+        for (StoredResponse.Header h : original.headers()) response.addHeader(h.name(), h.value());
+        response.setHeader(REPLAYED, "true");
+        if (original.contentType() != null) response.setContentType(original.contentType());
+        response.setContentLength(original.body().length);
+        response.getOutputStream().write(original.body());
+    }
+
+    private void conflict(HttpServletResponse response) throws IOException {
+        conflicts.increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        reject(response, HttpServletResponse.SC_CONFLICT, "A request with this " + HEADER + " is still in progress");
+    }
+
+    // written here rather than through sendError: the /error dispatch is not authenticated
+    // and would turn the status into a 401
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static String scope(String caller, String method, String path, String key) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update((caller + '\n' + method + ' ' + path + '\n' + key).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
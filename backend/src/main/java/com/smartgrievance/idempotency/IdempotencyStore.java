@@ -0,0 +1,27 @@
+package com.smartgrievance.idempotency;
+
+// Where the responses of keyed requests are kept, chosen with app.idempotency.store. The
+// in-memory store only sees its own node; the database store lets a retry that lands on
+// another node find the original response. Keys are already scoped to the caller.
+public interface IdempotencyStore {
+    // OWNER: the caller now runs the request and must complete or release the key.
+    // DONE: the request already ran; response is what it answered.
+    // BUSY: it is running elsewhere, ask again shortly.
+    record Claim(State state, StoredResponse response) {
+        public enum State { OWNER, DONE, BUSY }
+
+        static final Claim OWNER = new Claim(State.OWNER, null);
+        static final Claim BUSY = new Claim(State.BUSY, null);
+
+        static Claim done(StoredResponse response) {
+            return new Claim(State.DONE, response);
+        }
+    }
+
+    Claim claim(String key);
+
+    void complete(String key, StoredResponse response);
+
+    // The request did not produce a response worth keeping; a retry runs it again
+    void release(String key);
+}
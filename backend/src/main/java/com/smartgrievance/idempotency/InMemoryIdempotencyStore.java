@@ -0,0 +1,63 @@
+package com.smartgrievance.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Keys of this node only, at most max-entries of them; the oldest key goes first when the
+// map is full. A key claimed by a request that never finished frees itself after
+// in-flight-timeout-ms.
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    // response is null while the request runs
+    private record Entry(StoredResponse response, long expiresAt) {}
+
+    private final long ttlMs;
+    private final long inFlightTimeoutMs;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                    @Value("${app.idempotency.in-flight-timeout-ms:60000}") long inFlightTimeoutMs,
+                                    @Value("${app.idempotency.max-entries:20000}") int maxEntries) {
+        this.ttlMs = ttlSeconds * 1000;
+        this.inFlightTimeoutMs = inFlightTimeoutMs;
+        this.entries = new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Claim claim(String key) {
+        long now = System.currentTimeMillis();
+        Entry e = entries.get(key);
+        if (e == null || e.expiresAt() <= now) {
+            entries.put(key, new Entry(null, now + inFlightTimeoutMs));
+            return Claim.OWNER;
+        }
+        return e.response() != null ? Claim.done(e.response()) : Claim.BUSY;
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        entries.put(key, new Entry(response, System.currentTimeMillis() + ttlMs));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}", initialDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+    }
+}
@@ -0,0 +1,9 @@
+package com.smartgrievance.idempotency;
+
+import java.util.List;
+
+// What a keyed request answered: enough to send the same response again. headers are the
+// ones the handler set itself (Location, Upload-Offset, ...), not CORS or timing headers.
+public record StoredResponse(int status, String contentType, List<Header> headers, byte[] body) {
+    public record Header(String name, String value) {}
+}
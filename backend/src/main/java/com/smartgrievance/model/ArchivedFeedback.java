@@ -0,0 +1,94 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// Cold copy of a closed Feedback row, moved here by ArchivalService. Citizen and officer
+// are denormalised (id, name, email as they were when archived), so reading the archive
+// needs no joins and archived rows do not pin users with foreign keys.
+@Entity
+@Table(name = "feedback_archive", indexes = {
+        @Index(name = "idx_archive_citizen_created", columnList = "citizen_id, created_at"),
+        @Index(name = "idx_archive_officer", columnList = "officer_id"),
+        @Index(name = "idx_archive_created", columnList = "created_at"),
+        @Index(name = "idx_archive_department_status", columnList = "department, status")
+})
+public class ArchivedFeedback {
+    @Id
+    private Long id;
+
+    private String title;
+
+    @Lob
+    private String description;
+
+    private String photoUrl;
+
+    private boolean isPublic;
+
+    private boolean isAnonymous;
+
+    @Enumerated(EnumType.STRING)
+    private FeedbackType type;
+
+    @Enumerated(EnumType.STRING)
+    private SubmissionType submissionType;
+
+    @Enumerated(EnumType.STRING)
+    private FeedbackStatus status;
+
+    private LocalDateTime deadline;
+
+    private int escalationLevel;
+
+    @Column(length = 32, nullable = false, columnDefinition = "varchar(32) not null default 'general'")
+    private String department;
+
+    @Lob
+    private String adminMessage;
+
+    private Integer rating;
+    @Lob
+    private String ratingComment;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    @Column(name = "citizen_id")
+    private Long citizenId;
+    private String citizenName;
+    private String citizenEmail;
+
+    @Column(name = "officer_id")
+    private Long officerId;
+    private String officerName;
+    private String officerEmail;
+
+    private Instant archivedAt;
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getPhotoUrl() { return photoUrl; }
+    public boolean isPublic() { return isPublic; }
+    public boolean isAnonymous() { return isAnonymous; }
+    public FeedbackType getType() { return type; }
+    public SubmissionType getSubmissionType() { return submissionType; }
+    public FeedbackStatus getStatus() { return status; }
+    public LocalDateTime getDeadline() { return deadline; }
+    public int getEscalationLevel() { return escalationLevel; }
+    public String getDepartment() { return department; }
+    public String getAdminMessage() { return adminMessage; }
+    public Integer getRating() { return rating; }
+    public String getRatingComment() { return ratingComment; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public Long getCitizenId() { return citizenId; }
+    public String getCitizenName() { return citizenName; }
+    public String getCitizenEmail() { return citizenEmail; }
+    public Long getOfficerId() { return officerId; }
+    public String getOfficerName() { return officerName; }
+    public String getOfficerEmail() { return officerEmail; }
+    public Instant getArchivedAt() { return archivedAt; }
+}
@@ -6,7 +6,11 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        @Index(name = "idx_feedback_status_updated", columnList = "status, updated_at"),
+        @Index(name = "idx_feedback_public_created", columnList = "is_public, created_at"),
+        @Index(name = "idx_feedback_department_status", columnList = "department, status")
+})
 public class Feedback {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,6 +41,10 @@ public class Feedback {
 
     private int escalationLevel = 0;
 
+    // Logical shard, set from the type at submission (see ShardResolver)
+    @Column(length = 32, nullable = false, columnDefinition = "varchar(32) not null default 'general'")
+    private String department = "general";
+
     @Lob
     private String adminMessage;
 
@@ -47,6 +55,11 @@ public class Feedback {
     private Instant createdAt = Instant.now();
     private Instant updatedAt = Instant.now();
 
+    // Optimistic lock; the default lets existing rows and JDBC imports start at 0
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private long version;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "citizen_id")
     private User citizen;
@@ -78,6 +91,8 @@ public class Feedback {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
     public User getCitizen() { return citizen; }
     public void setCitizen(User citizen) { this.citizen = citizen; }
     public User getAssignedOfficer() { return assignedOfficer; }
@@ -86,6 +101,8 @@ public class Feedback {
     public void setSubmissionType(SubmissionType submissionType) { this.submissionType = submissionType; }
     public LocalDateTime getDeadline() { return deadline; }
     public void setDeadline(LocalDateTime deadline) { this.deadline = deadline; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
     public int getEscalationLevel() { return escalationLevel; }
     public void setEscalationLevel(int escalationLevel) { this.escalationLevel = escalationLevel; }
     public String getAdminMessage() { return adminMessage; }
@@ -0,0 +1,58 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// A file attached to a submission. Uploaded first and linked when the submission is
+// made, so feedbackId is null until then. feedbackId is a plain column rather than a
+// foreign key so attachments stay put when their item moves to feedback_archive.
+@Entity
+@Table(name = "feedback_attachment", indexes = {
+        @Index(name = "idx_attachment_feedback", columnList = "feedbackId"),
+        @Index(name = "idx_attachment_owner_feedback", columnList = "ownerId, feedbackId")
+})
+public class FeedbackAttachment {
+    public static final int MAX_PER_FEEDBACK = 10;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long feedbackId;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false, length = 200)
+    private String blobKey;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(length = 100)
+    private String contentType;
+
+    private long size;
+
+    @Column(length = 64)
+    private String sha256;
+
+    private Instant createdAt = Instant.now();
+
+    public Long getId() { return id; }
+    public Long getFeedbackId() { return feedbackId; }
+    public void setFeedbackId(Long feedbackId) { this.feedbackId = feedbackId; }
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    public String getBlobKey() { return blobKey; }
+    public void setBlobKey(String blobKey) { this.blobKey = blobKey; }
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public Instant getCreatedAt() { return createdAt; }
+}
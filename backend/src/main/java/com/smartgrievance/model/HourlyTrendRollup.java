@@ -0,0 +1,10 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "feedback_rollup_hourly", uniqueConstraints = @UniqueConstraint(
+        name = "uk_rollup_hourly_key",
+        columnNames = {"bucket_start", "type", "submission_type", "from_status", "to_status"}))
+public class HourlyTrendRollup extends TrendRollup {
+}
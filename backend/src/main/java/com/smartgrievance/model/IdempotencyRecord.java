@@ -0,0 +1,50 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// The response to a request sent with an Idempotency-Key, shared by all nodes. The id is
+// the SHA-256 of the caller, method, path and key. status is null while the first request
+// runs; expiresAt is then the in-flight timeout, after it the response's TTL.
+@Entity
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_expires", columnList = "expiresAt")
+})
+public class IdempotencyRecord {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    private Integer status;
+
+    @Column(length = 100)
+    private String contentType;
+
+    // "Name: value" lines
+    @Lob
+    private String headers;
+
+    @Lob
+    @Column(length = 1048576)
+    private byte[] body;
+
+    private Instant createdAt = Instant.now();
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Integer getStatus() { return status; }
+    public void setStatus(Integer status) { this.status = status; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public String getHeaders() { return headers; }
+    public void setHeaders(String headers) { this.headers = headers; }
+    public byte[] getBody() { return body; }
+    public void setBody(byte[] body) { this.body = body; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
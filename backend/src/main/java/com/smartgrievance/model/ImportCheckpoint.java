@@ -0,0 +1,44 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Progress of a bulk import, committed together with each inserted batch so an
+// interrupted import can resume after the last committed record.
+@Entity
+@Table(name = "import_checkpoint")
+public class ImportCheckpoint {
+    @Id
+    @Column(length = 128)
+    private String importId;
+
+    private String format;
+
+    private long recordsProcessed;
+
+    private long inserted;
+
+    private long rejected;
+
+    private boolean completed;
+
+    private Instant startedAt = Instant.now();
+    private Instant updatedAt = Instant.now();
+
+    public String getImportId() { return importId; }
+    public void setImportId(String importId) { this.importId = importId; }
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    public long getRecordsProcessed() { return recordsProcessed; }
+    public void setRecordsProcessed(long recordsProcessed) { this.recordsProcessed = recordsProcessed; }
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,8 @@
+package com.smartgrievance.model;
+
+public enum NotificationKind {
+    STATUS_CHANGED,
+    OFFICER_ASSIGNED,
+    DEADLINE_SET,
+    ADMIN_MESSAGE
+}
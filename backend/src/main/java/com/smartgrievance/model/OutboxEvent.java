@@ -0,0 +1,78 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// One pending citizen notification, written in the same transaction as the change it
+// describes. NotificationDispatcher claims rows with claimToken, delivers them and
+// marks them SENT, or puts them back as PENDING with a later nextAttemptAt.
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_claim", columnList = "claim_token")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long citizenId;
+
+    private Long feedbackId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private NotificationKind kind;
+
+    @Column(length = 1000)
+    private String detail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    @Column(length = 36)
+    private String claimToken;
+
+    private Instant claimedAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private Instant createdAt = Instant.now();
+
+    private Instant sentAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getCitizenId() { return citizenId; }
+    public void setCitizenId(Long citizenId) { this.citizenId = citizenId; }
+    public Long getFeedbackId() { return feedbackId; }
+    public void setFeedbackId(Long feedbackId) { this.feedbackId = feedbackId; }
+    public NotificationKind getKind() { return kind; }
+    public void setKind(NotificationKind kind) { this.kind = kind; }
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+    public OutboxStatus getStatus() { return status; }
+    public void setStatus(OutboxStatus status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+    public Instant getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(Instant claimedAt) { this.claimedAt = claimedAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getSentAt() { return sentAt; }
+    public void setSentAt(Instant sentAt) { this.sentAt = sentAt; }
+}
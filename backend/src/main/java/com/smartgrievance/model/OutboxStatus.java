@@ -0,0 +1,8 @@
+package com.smartgrievance.model;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,50 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// One row per (bucket, type, submissionType, fromStatus -> toStatus) with the number of
+// transitions seen in that bucket. fromStatus is NEW for submissions.
+@MappedSuperclass
+public abstract class TrendRollup {
+    public static final String NEW = "NEW";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private FeedbackType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SubmissionType submissionType;
+
+    @Column(nullable = false, length = 16)
+    private String fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private FeedbackStatus toStatus;
+
+    private long eventCount;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+    public FeedbackType getType() { return type; }
+    public void setType(FeedbackType type) { this.type = type; }
+    public SubmissionType getSubmissionType() { return submissionType; }
+    public void setSubmissionType(SubmissionType submissionType) { this.submissionType = submissionType; }
+    public String getFromStatus() { return fromStatus; }
+    public void setFromStatus(String fromStatus) { this.fromStatus = fromStatus; }
+    public FeedbackStatus getToStatus() { return toStatus; }
+    public void setToStatus(FeedbackStatus toStatus) { this.toStatus = toStatus; }
+    public long getEventCount() { return eventCount; }
+    public void setEventCount(long eventCount) { this.eventCount = eventCount; }
+}
@@ -0,0 +1,55 @@
+package com.smartgrievance.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// A resumable upload in progress. Bytes [0, received) of the file are in the staging
+// file named after the id; the row goes away when the upload completes or expires.
+@Entity
+@Table(name = "upload_session", indexes = {
+        @Index(name = "idx_upload_session_citizen", columnList = "citizenId"),
+        @Index(name = "idx_upload_session_updated", columnList = "updatedAt")
+})
+public class UploadSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long citizenId;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(length = 100)
+    private String contentType;
+
+    private long size;
+
+    private long received;
+
+    // expected SHA-256 of the whole file, lower-case hex, when the client sent one
+    @Column(length = 64)
+    private String sha256;
+
+    private Instant createdAt = Instant.now();
+    private Instant updatedAt = Instant.now();
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public Long getCitizenId() { return citizenId; }
+    public void setCitizenId(Long citizenId) { this.citizenId = citizenId; }
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public long getReceived() { return received; }
+    public void setReceived(long received) { this.received = received; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
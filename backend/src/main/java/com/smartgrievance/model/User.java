@@ -5,7 +5,12 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
 @Entity
-@Table(name = "users", uniqueConstraints = @UniqueConstraint(columnNames = "email"))
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(columnNames = "email"), indexes = {
+        // admin directory: role filter plus prefix search and keyset order on email or name
+        @Index(name = "idx_users_role_email", columnList = "role, email"),
+        @Index(name = "idx_users_role_name", columnList = "role, name"),
+        @Index(name = "idx_users_name", columnList = "name")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +29,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Officers and admins with a department only work on that department's items; null means all
+    @Column(length = 32)
+    private String department;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getName() { return name; }
@@ -34,6 +43,8 @@ public class User {
     public void setPassword(String password) { this.password = password; }
     public Role getRole() { return role; }
     public void setRole(Role role) { this.role = role; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
 }
 
 
@@ -0,0 +1,21 @@
+package com.smartgrievance.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Default channel for development and load tests: writes each message to the log.
+@Component
+@ConditionalOnProperty(name = "app.notifications.channel", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationChannel implements NotificationChannel {
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationChannel.class);
+
+    @Override
+    public String name() { return "log"; }
+
+    @Override
+    public void send(Notification notification) {
+        log.info("Notification to {}: {}\n{}", notification.recipientEmail(), notification.subject(), notification.body());
+    }
+}
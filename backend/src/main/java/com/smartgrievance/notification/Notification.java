@@ -0,0 +1,31 @@
+package com.smartgrievance.notification;
+
+import com.smartgrievance.model.NotificationKind;
+
+import java.util.List;
+
+// Everything pending for one citizen, coalesced into a single message.
+public record Notification(String recipientEmail, String recipientName, List<Item> items) {
+
+    public record Item(Long feedbackId, String title, NotificationKind kind, String detail) {}
+
+    public String subject() {
+        if (items.size() == 1) {
+            Item only = items.get(0);
+            return "Update on your submission #" + only.feedbackId() + (only.title() != null ? ": " + only.title() : "");
+        }
+        return items.size() + " updates on your submissions";
+    }
+
+    public String body() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Hello ").append(recipientName != null ? recipientName : "there").append(",\n\n");
+        for (Item item : items) {
+            sb.append("- #").append(item.feedbackId());
+            if (item.title() != null) sb.append(' ').append(item.title());
+            sb.append(": ").append(item.detail()).append('\n');
+        }
+        sb.append("\nSign in to ResolveIT to see the details.\n");
+        return sb.toString();
+    }
+}
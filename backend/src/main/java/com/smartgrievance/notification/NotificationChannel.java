@@ -0,0 +1,9 @@
+package com.smartgrievance.notification;
+
+// Delivery mechanism for citizen notifications, chosen with app.notifications.channel.
+// A RuntimeException means the message was not delivered and will be retried.
+public interface NotificationChannel {
+    String name();
+
+    void send(Notification notification);
+}
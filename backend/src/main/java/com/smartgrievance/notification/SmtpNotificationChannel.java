@@ -0,0 +1,35 @@
+package com.smartgrievance.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+// Sends plain-text mail through spring.mail.*. Point spring.mail.host/port at a local
+// SMTP stand-in (MailHog, smtp4dev, python -m smtpd) to try it without a real server.
+@Component
+@ConditionalOnProperty(name = "app.notifications.channel", havingValue = "smtp")
+public class SmtpNotificationChannel implements NotificationChannel {
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpNotificationChannel(JavaMailSender mailSender,
+                                   @Value("${app.notifications.from:no-reply@smartgrievance.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public String name() { return "smtp"; }
+
+    @Override
+    public void send(Notification notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(notification.recipientEmail());
+        message.setSubject(notification.subject());
+        message.setText(notification.body());
+        mailSender.send(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.ArchivedFeedback;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// Read side of the archive; rows are written only by ArchivalService.
+public interface ArchivedFeedbackRepository extends JpaRepository<ArchivedFeedback, Long> {
+
+    List<ArchivedFeedback> findByCitizenIdOrderByCreatedAtDesc(Long citizenId);
+
+    // Same row shape as FeedbackRepository.countGroupedByDepartment
+    @Query("SELECT a.status, a.type, a.submissionType, COUNT(a), COUNT(a.officerId) FROM ArchivedFeedback a "
+            + "WHERE a.department = :department GROUP BY a.status, a.type, a.submissionType")
+    List<Object[]> countGroupedByDepartment(@Param("department") String department);
+
+    // Same row shape as FeedbackRepository.aggregateByOfficerTypeAndStatus
+    @Query("SELECT a.officerId, a.type, a.status, COUNT(a), SUM(a.rating), COUNT(a.rating) FROM ArchivedFeedback a "
+            + "WHERE a.officerId IS NOT NULL GROUP BY a.officerId, a.type, a.status")
+    List<Object[]> aggregateByOfficerTypeAndStatus();
+
+    // Rows: sum(rating), count(rating) of resolved items
+    @Query("SELECT SUM(a.rating), COUNT(a.rating) FROM ArchivedFeedback a WHERE a.officerId = :officerId AND a.status = com.smartgrievance.model.FeedbackStatus.RESOLVED")
+    List<Object[]> ratingTotalsForOfficer(@Param("officerId") Long officerId);
+}
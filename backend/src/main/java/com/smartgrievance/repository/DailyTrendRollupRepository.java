@@ -0,0 +1,26 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.DailyTrendRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface DailyTrendRollupRepository extends JpaRepository<DailyTrendRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO feedback_rollup_daily (bucket_start, type, submission_type, from_status, to_status, event_count) "
+            + "VALUES (:bucket, :type, :submissionType, :fromStatus, :toStatus, :delta) "
+            + "ON DUPLICATE KEY UPDATE event_count = event_count + :delta", nativeQuery = true)
+    int increment(@Param("bucket") Instant bucket,
+                  @Param("type") String type,
+                  @Param("submissionType") String submissionType,
+                  @Param("fromStatus") String fromStatus,
+                  @Param("toStatus") String toStatus,
+                  @Param("delta") long delta);
+
+    List<DailyTrendRollup> findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(Instant from, Instant to);
+}
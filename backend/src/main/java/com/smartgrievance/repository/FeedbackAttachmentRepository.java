@@ -0,0 +1,26 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.FeedbackAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface FeedbackAttachmentRepository extends JpaRepository<FeedbackAttachment, Long> {
+    List<FeedbackAttachment> findByFeedbackIdOrderByIdAsc(Long feedbackId);
+
+    // Attachments uploaded but never linked to a submission
+    List<FeedbackAttachment> findByFeedbackIdIsNullAndCreatedAtBefore(Instant cutoff);
+
+    // Links the caller's own unlinked uploads; returns how many were linked
+    @Modifying
+    @Transactional
+    @Query("UPDATE FeedbackAttachment a SET a.feedbackId = :feedbackId "
+            + "WHERE a.id IN :ids AND a.ownerId = :ownerId AND a.feedbackId IS NULL")
+    int link(@Param("feedbackId") Long feedbackId, @Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+}
@@ -2,6 +2,7 @@ package com.smartgrievance.repository;
 
 import com.smartgrievance.model.Feedback;
 import com.smartgrievance.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,14 +13,27 @@ import com.smartgrievance.model.FeedbackStatus;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+    // Both users are eager, so every finder that returns a list fetches them in the same
+    // query; otherwise Hibernate follows up with one select per distinct user (N+1).
+
+    @Override
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
+    List<Feedback> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
+    List<Feedback> findAllById(Iterable<Long> ids);
 
     // Find feedbacks created by a specific citizen
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
     List<Feedback> findByCitizen(User citizen);
 
     // Find feedbacks assigned to a specific officer
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
     List<Feedback> findByAssignedOfficer(User officer);
     
     // Find feedbacks assigned to a specific officer with a specific status
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
     List<Feedback> findByAssignedOfficerAndStatus(User officer, FeedbackStatus status);
 
     // Counts for admin
@@ -27,6 +41,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     long countByAssignedOfficerNotNull();
 
     // Counts scoped to officer
+    long countByAssignedOfficer(User officer);
     long countByAssignedOfficerAndStatus(User officer, FeedbackStatus status);
 
     @Query("SELECT COUNT(f) FROM Feedback f WHERE f.status IN (:statuses)")
@@ -34,4 +49,46 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
 
     @Query("SELECT COUNT(f) FROM Feedback f WHERE f.assignedOfficer = :officer AND f.status IN (:statuses)")
     long countByOfficerAndStatuses(@Param("officer") User officer, @Param("statuses") java.util.Collection<FeedbackStatus> statuses);
+
+    // Unassigned items of the given departments waiting for an officer, oldest first
+    @EntityGraph(attributePaths = "citizen")
+    List<Feedback> findByAssignedOfficerIsNullAndStatusInAndDepartmentInOrderByCreatedAtAsc(java.util.Collection<FeedbackStatus> statuses,
+                                                                                           java.util.Collection<String> departments,
+                                                                                           org.springframework.data.domain.Pageable pageable);
+
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
+    List<Feedback> findByIdInAndDepartmentIn(java.util.Collection<Long> ids, java.util.Collection<String> departments);
+
+    // Rows: officerId, type, status, count, sum(rating), count(rating)
+    @Query("SELECT f.assignedOfficer.id, f.type, f.status, COUNT(f), SUM(f.rating), COUNT(f.rating) FROM Feedback f "
+            + "WHERE f.assignedOfficer IS NOT NULL GROUP BY f.assignedOfficer.id, f.type, f.status")
+    List<Object[]> aggregateByOfficerTypeAndStatus();
+
+    // One department's items, for department-scoped admins
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer"})
+    List<Feedback> findByDepartmentIn(java.util.Collection<String> departments);
+
+    // Rows: status, type, submissionType, count, assigned count; one department at a time
+    @Query("SELECT f.status, f.type, f.submissionType, COUNT(f), COUNT(f.assignedOfficer) FROM Feedback f "
+            + "WHERE f.department = :department GROUP BY f.status, f.type, f.submissionType")
+    List<Object[]> countGroupedByDepartment(@Param("department") String department);
+
+    // Open assigned items for the officer work queue.
+    // Rows: id, officerId, submissionType, deadline, escalationLevel, createdAt
+    @Query("SELECT f.id, f.assignedOfficer.id, f.submissionType, f.deadline, f.escalationLevel, f.createdAt FROM Feedback f "
+            + "WHERE f.assignedOfficer IS NOT NULL AND f.status IN (:statuses)")
+    List<Object[]> findOpenAssignedForQueue(@Param("statuses") java.util.Collection<FeedbackStatus> statuses);
+
+    // Items of one officer by id, with the citizen loaded for display
+    @EntityGraph(attributePaths = "citizen")
+    @Query("SELECT f FROM Feedback f WHERE f.id IN (:ids) AND f.assignedOfficer.id = :officerId")
+    List<Feedback> findAssignedByIds(@Param("officerId") Long officerId, @Param("ids") java.util.Collection<Long> ids);
+
+    // Public feed, newest first; null type/status means any
+    @EntityGraph(attributePaths = "citizen")
+    @Query("SELECT f FROM Feedback f WHERE f.isPublic = true AND (:type IS NULL OR f.type = :type) "
+            + "AND (:status IS NULL OR f.status = :status) ORDER BY f.createdAt DESC, f.id DESC")
+    org.springframework.data.domain.Slice<Feedback> findPublic(@Param("type") com.smartgrievance.model.FeedbackType type,
+                                                               @Param("status") FeedbackStatus status,
+                                                               org.springframework.data.domain.Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    // A plain insert rather than save(), which would merge into an existing row; fails with
+    // a DataIntegrityViolationException when another request holds the key
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO IdempotencyRecord (id, createdAt, expiresAt) VALUES (:id, :now, :expiresAt)")
+    int claim(@Param("id") String id, @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, r.headers = :headers, r.body = :body, r.expiresAt = :expiresAt WHERE r.id = :id")
+    int complete(@Param("id") String id, @Param("status") int status, @Param("contentType") String contentType,
+                 @Param("headers") String headers, @Param("body") byte[] body, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id")
+    int release(@Param("id") String id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt <= :now")
+    int deleteIfExpired(@Param("id") String id, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,7 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,9 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.OutboxEvent;
+import com.smartgrievance.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,26 @@
+package com.smartgrievance.repository;
+
+import com.smartgrievance.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    Optional<UploadSession> findByIdAndCitizenId(String id, Long citizenId);
+
+    long countByCitizenId(Long citizenId);
+
+    List<UploadSession> findByUpdatedAtBefore(Instant cutoff);
+
+    // Only ever moves the offset forward, so a slow retry of an earlier chunk cannot undo a later one
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSession s SET s.received = :received, s.updatedAt = :now WHERE s.id = :id AND s.received < :received")
+    int advance(@Param("id") String id, @Param("received") long received, @Param("now") Instant now);
+}
@@ -2,8 +2,12 @@ package com.smartgrievance.repository;
 
 import com.smartgrievance.model.Role;
 import com.smartgrievance.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +15,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByRole(Role role);
+
+    // email, id, role, department rows for a batch of emails, without loading whole entities
+    @Query("select u.email, u.id, u.role, u.department from User u where u.email in :emails")
+    List<Object[]> findIdRoleAndDepartmentByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Keyset pages for the admin directory; a null role means any, and allDepartments
+    // skips the department filter. Email is unique, so it is a cursor on its own; names
+    // are not, so the id breaks ties.
+    @Query("select u from User u where (:role is null or u.role = :role) and u.email like :prefix escape '!' "
+            + "and (:allDepartments = true or u.department in :departments) "
+            + "and u.email > :afterEmail order by u.email")
+    List<User> pageByEmail(@Param("role") Role role, @Param("prefix") String prefix,
+                           @Param("allDepartments") boolean allDepartments, @Param("departments") Collection<String> departments,
+                           @Param("afterEmail") String afterEmail, Limit limit);
+
+    @Query("select u from User u where (:role is null or u.role = :role) and u.name like :prefix escape '!' "
+            + "and (:allDepartments = true or u.department in :departments) "
+            + "and (u.name > :afterName or (u.name = :afterName and u.id > :afterId)) order by u.name, u.id")
+    List<User> pageByName(@Param("role") Role role, @Param("prefix") String prefix,
+                          @Param("allDepartments") boolean allDepartments, @Param("departments") Collection<String> departments,
+                          @Param("afterName") String afterName, @Param("afterId") Long afterId, Limit limit);
 }
 
 
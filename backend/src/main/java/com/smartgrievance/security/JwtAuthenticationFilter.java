@@ -1,5 +1,6 @@
 package com.smartgrievance.security;
 
+import com.smartgrievance.config.RequestTimings;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -34,13 +35,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = header.substring(7).trim();
             if (!token.isEmpty()) {
                 try {
-                    Claims claims = jwtUtil.parse(token);
+                    long parsing = RequestTimings.start();
+                    Claims claims;
+                    try {
+                        claims = jwtUtil.parse(token);
+                    } finally {
+                        RequestTimings.record(RequestTimings.Phase.JWT, parsing);
+                    }
                     String username = claims.getSubject();
                     if (username != null) {
                         // Always set authentication if token is valid, even if context already has auth
                         // This ensures fresh authentication on each request
                         try {
-                            UserDetails details = userDetailsService.loadUserByUsername(username);
+                            long lookup = RequestTimings.start();
+                            UserDetails details;
+                            try {
+                                details = userDetailsService.loadUserByUsername(username);
+                            } finally {
+                                RequestTimings.record(RequestTimings.Phase.USER, lookup);
+                            }
                             UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
                             auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                             SecurityContextHolder.getContext().setAuthentication(auth);
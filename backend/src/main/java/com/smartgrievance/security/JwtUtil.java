@@ -5,6 +5,8 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -14,11 +16,19 @@ import java.util.Map;
 
 @Component
 public class JwtUtil {
-    @Value("${app.jwt.secret}")
-    private String secret;
-
-    @Value("${app.jwt.expirationMs:86400000}")
-    private long expirationMs;
+    private final String secret;
+    private final long expirationMs;
+    private final Timer verifyValid;
+    private final Timer verifyInvalid;
+
+    public JwtUtil(@Value("${app.jwt.secret}") String secret,
+                   @Value("${app.jwt.expirationMs:86400000}") long expirationMs,
+                   MeterRegistry meterRegistry) {
+        this.secret = secret;
+        this.expirationMs = expirationMs;
+        this.verifyValid = Timer.builder("grievance.jwt.verify").tag("outcome", "valid").register(meterRegistry);
+        this.verifyInvalid = Timer.builder("grievance.jwt.verify").tag("outcome", "invalid").register(meterRegistry);
+    }
 
     private Key getSigningKey() {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
@@ -38,21 +48,18 @@ public class JwtUtil {
     }
 
     public Claims parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            valid = true;
+            return claims;
+        } finally {
+            (valid ? verifyValid : verifyInvalid).record(System.nanoTime() - start, java.util.concurrent.TimeUnit.NANOSECONDS);
+        }
     }
 }
-
-
-
-
-
-
-
-
-
-
-
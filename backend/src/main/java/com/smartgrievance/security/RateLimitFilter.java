@@ -0,0 +1,116 @@
+package com.smartgrievance.security;
+
+import com.smartgrievance.config.RateLimitProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Throttles the expensive entry points (BCrypt on login/register, DB writes on submit,
+// disk on upload) before the user lookup happens. IP rules key on the remote address.
+// USER rules verify the bearer token (an HMAC check, cheap next to what is being
+// protected) and key on its subject, so logging in again does not reset the limit and
+// the per-role limit comes from a role the server issued. Requests without a valid token
+// fall back to the IP key.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private record CompiledRule(String name, String method, String path, boolean pattern,
+                                RateLimitProperties.KeyType key, RateLimitProperties.Limit limit,
+                                Map<String, RateLimitProperties.Limit> roles, Counter rejected) {
+        boolean matches(HttpServletRequest request) {
+            if (method != null && !method.equalsIgnoreCase(request.getMethod())) return false;
+            String uri = request.getRequestURI();
+            return pattern ? PATHS.match(path, uri) : path.equals(uri);
+        }
+    }
+
+    private final RateLimiter limiter;
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
+
+    public RateLimitFilter(RateLimiter limiter, JwtUtil jwtUtil, RateLimitProperties properties, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.jwtUtil = jwtUtil;
+        this.enabled = properties.enabled();
+        List<RateLimitProperties.Rule> configured = properties.rules() == null ? List.of() : properties.rules();
+        this.rules = configured.stream().map(r -> new CompiledRule(
+                r.name(),
+                r.method(),
+                r.path(),
+                PATHS.isPattern(r.path()),
+                r.key(),
+                new RateLimitProperties.Limit(r.permitsPerMinute(), r.burst()),
+                r.roles() == null ? Map.of() : r.roles(),
+                Counter.builder("grievance.ratelimit.rejected").tag("rule", r.name()).register(registry)
+        )).toList();
+        Gauge.builder("grievance.ratelimit.keys", limiter, RateLimiter::size).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain) throws ServletException, IOException {
+        for (CompiledRule rule : rules) {
+            if (!rule.matches(request)) continue;
+            RateLimitProperties.Limit limit = rule.limit();
+            String key;
+            Claims claims = rule.key() == RateLimitProperties.KeyType.USER ? verifiedClaims(request) : null;
+            if (claims != null) {
+                String role = claims.get("role", String.class);
+                RateLimitProperties.Limit roleLimit = role == null ? null : rule.roles().get(role);
+                if (roleLimit != null) limit = roleLimit;
+                key = rule.name() + "|u|" + claims.getSubject();
+            } else {
+                key = rule.name() + "|ip|" + request.getRemoteAddr();
+            }
+            long waitNanos = limiter.tryAcquire(rule.name(), key, limit.permitsPerMinute(), limit.burst());
+            if (waitNanos > 0) {
+                rule.rejected().increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                // written here rather than through sendError: the /error dispatch is not
+                // authenticated and would turn the 429 into a 401
+                response.setStatus(429);
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("Too many requests");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Claims verifiedClaims(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        String token = header.substring(7).trim();
+        if (token.isEmpty()) return null;
+        try {
+            Claims claims = jwtUtil.parse(token);
+            return claims.getSubject() != null ? claims : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
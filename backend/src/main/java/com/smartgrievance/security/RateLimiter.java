@@ -0,0 +1,69 @@
+package com.smartgrievance.security;
+
+import com.smartgrievance.config.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Buckets live in a fixed number of ConcurrentHashMap stripes with a per-stripe cap.
+// Buckets that have refilled completely are swept, since they carry no state. When a
+// stripe is full of active buckets, new keys share one overflow bucket per rule, so
+// a flood of distinct keys is throttled as a group instead of evicting live buckets,
+// and a flood against one rule does not spill into the others.
+@Component
+public class RateLimiter {
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final ConcurrentHashMap<String, TokenBucket> overflow = new ConcurrentHashMap<>();
+    private final int stripeMask;
+    private final int maxPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(RateLimitProperties properties) {
+        int n = Integer.highestOneBit(Math.max(1, properties.stripes()) * 2 - 1);
+        this.stripes = new ConcurrentHashMap[n];
+        for (int i = 0; i < n; i++) stripes[i] = new ConcurrentHashMap<>();
+        this.stripeMask = n - 1;
+        this.maxPerStripe = Math.max(1, properties.maxKeys() / n);
+    }
+
+    // 0 when allowed, otherwise nanoseconds until the caller may retry. rule names the
+    // overflow bucket the key falls back to.
+    public long tryAcquire(String rule, String key, int permitsPerMinute, int burst) {
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[spread(key.hashCode()) & stripeMask];
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxPerStripe) {
+                sweep(stripe, now);
+            }
+            if (stripe.size() >= maxPerStripe) {
+                bucket = overflow.computeIfAbsent(rule + "|" + permitsPerMinute + "/" + burst, k -> new TokenBucket(permitsPerMinute, burst, now));
+            } else {
+                bucket = stripe.computeIfAbsent(key, k -> new TokenBucket(permitsPerMinute, burst, now));
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    public int size() {
+        int total = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) total += stripe.size();
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:30000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) sweep(stripe, now);
+        overflow.values().removeIf(b -> b.isFull(now));
+    }
+
+    private static void sweep(ConcurrentHashMap<String, TokenBucket> stripe, long now) {
+        stripe.values().removeIf(b -> b.isFull(now));
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
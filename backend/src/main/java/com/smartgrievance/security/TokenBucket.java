@@ -0,0 +1,38 @@
+package com.smartgrievance.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket in its GCRA form: the whole state is one "theoretical arrival time",
+// so acquiring is a single CAS loop and never blocks.
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong tat;
+
+    TokenBucket(int permitsPerMinute, int burst, long nowNanos) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    // 0 when a permit was taken, otherwise the nanoseconds until one is available.
+    long tryAcquire(long nowNanos) {
+        for (;;) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long ahead = base - nowNanos;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (tat.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket behaves exactly like a fresh one, so it can be dropped.
+    boolean isFull(long nowNanos) {
+        return tat.get() <= nowNanos;
+    }
+}
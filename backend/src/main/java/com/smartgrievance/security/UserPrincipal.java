@@ -0,0 +1,34 @@
+package com.smartgrievance.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// The authenticated principal. It carries the User row loaded at authentication, so
+// handlers take the caller from here instead of looking the email up a second time.
+public class UserPrincipal extends User {
+    private final com.smartgrievance.model.User user;
+
+    public UserPrincipal(com.smartgrievance.model.User user) {
+        super(user.getEmail(), user.getPassword(), authorities(user));
+        this.user = user;
+    }
+
+    public com.smartgrievance.model.User getUser() {
+        return user;
+    }
+
+    // The caller behind an @AuthenticationPrincipal
+    public static com.smartgrievance.model.User user(UserDetails principal) {
+        if (principal instanceof UserPrincipal p) return p.user;
+        throw new IllegalStateException("Unexpected principal type " + principal.getClass().getName());
+    }
+
+    private static Collection<? extends GrantedAuthority> authorities(com.smartgrievance.model.User user) {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.model.FeedbackStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Moves closed grievances that have not changed for app.archive.min-age-days from the
+// hot feedback table into feedback_archive. Each batch is its own short transaction:
+// lock a few hundred candidate rows, copy them with INSERT ... SELECT, delete them.
+// Batches are separated by a pause so foreground traffic is never queued behind a
+// long-running lock, and a run stops after max-batches-per-run.
+@Service
+public class ArchivalService {
+    private static final Logger log = LoggerFactory.getLogger(ArchivalService.class);
+
+    static final List<String> CLOSED = List.of(
+            FeedbackStatus.RESOLVED.name(), FeedbackStatus.REJECTED.name(), FeedbackStatus.WITHDRAWN.name());
+
+    private static final String SELECT_BATCH = "SELECT id FROM feedback "
+            + "WHERE status IN (:closed) AND updated_at < :cutoff LIMIT :limit FOR UPDATE";
+    private static final String COPY_BATCH = "INSERT INTO feedback_archive (id, title, description, photo_url, is_public, "
+            + "is_anonymous, type, submission_type, status, deadline, escalation_level, department, admin_message, rating, rating_comment, "
+            + "created_at, updated_at, citizen_id, citizen_name, citizen_email, officer_id, officer_name, officer_email, archived_at) "
+            + "SELECT f.id, f.title, f.description, f.photo_url, f.is_public, f.is_anonymous, f.type, f.submission_type, f.status, "
+            + "f.deadline, f.escalation_level, f.department, f.admin_message, f.rating, f.rating_comment, f.created_at, f.updated_at, "
+            + "c.id, c.name, c.email, o.id, o.name, o.email, :archivedAt "
+            + "FROM feedback f JOIN users c ON c.id = f.citizen_id LEFT JOIN users o ON o.id = f.officer_id "
+            + "WHERE f.id IN (:ids)";
+    private static final String DELETE_BATCH = "DELETE FROM feedback WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final PublicFeedService publicFeedService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int minAgeDays;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxBatchesPerRun;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ArchivalService(NamedParameterJdbcTemplate jdbc,
+                           PublicFeedService publicFeedService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.archive.enabled:true}") boolean enabled,
+                           @Value("${app.archive.min-age-days:180}") int minAgeDays,
+                           @Value("${app.archive.batch-size:200}") int batchSize,
+                           @Value("${app.archive.pause-ms:100}") long pauseMs,
+                           @Value("${app.archive.max-batches-per-run:500}") int maxBatchesPerRun) {
+        this.jdbc = jdbc;
+        this.publicFeedService = publicFeedService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) archive();
+    }
+
+    // Returns the number of rows moved in this run.
+    public long archive() {
+        if (!running.compareAndSet(false, true)) return 0;
+        try {
+            Instant cutoff = Instant.now().minus(Duration.ofDays(minAgeDays));
+            long moved = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int n = archiveBatch(cutoff);
+                moved += n;
+                if (n < batchSize) break;
+                if (pauseMs > 0) Thread.sleep(pauseMs);
+            }
+            if (moved > 0) {
+                publicFeedService.invalidateAll();
+                log.info("Archived {} closed grievances last updated before {}", moved, cutoff);
+            }
+            return moved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbc.queryForList(SELECT_BATCH, new MapSqlParameterSource()
+                    .addValue("closed", CLOSED)
+                    .addValue("cutoff", utc(cutoff))
+                    .addValue("limit", batchSize), Long.class);
+            if (ids.isEmpty()) return 0;
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("archivedAt", utc(Instant.now()));
+            jdbc.update(COPY_BATCH, params);
+            return jdbc.update(DELETE_BATCH, params);
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    // Instants are stored as UTC wall-clock time, the same way Hibernate binds them
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -5,8 +5,11 @@ import com.smartgrievance.model.Role;
 import com.smartgrievance.model.User;
 import com.smartgrievance.repository.UserRepository;
 import com.smartgrievance.security.JwtUtil;
+import com.smartgrievance.security.UserPrincipal;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -35,14 +38,14 @@ public class AuthService {
         u.setRole(Role.CITIZEN);
         userRepository.save(u);
         String token = jwtUtil.generateToken(u.getEmail(), Map.of("role", u.getRole().name(), "uid", u.getId()));
-        return new AuthDtos.AuthResponse(token, new AuthDtos.UserDto(u.getId(), u.getName(), u.getEmail(), u.getRole().name()));
+        return new AuthDtos.AuthResponse(token, AuthDtos.UserDto.of(u));
     }
 
     public AuthDtos.AuthResponse login(AuthDtos.LoginRequest req) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(req.email(), req.password()));
-        User u = userRepository.findByEmail(req.email()).orElseThrow();
+        Authentication auth = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(req.email(), req.password()));
+        User u = UserPrincipal.user((UserDetails) auth.getPrincipal());
         String token = jwtUtil.generateToken(u.getEmail(), Map.of("role", u.getRole().name(), "uid", u.getId()));
-        return new AuthDtos.AuthResponse(token, new AuthDtos.UserDto(u.getId(), u.getName(), u.getEmail(), u.getRole().name()));
+        return new AuthDtos.AuthResponse(token, AuthDtos.UserDto.of(u));
     }
 
     public AuthDtos.UserDto updateProfile(User user, AuthDtos.UpdateProfileRequest req) {
@@ -51,7 +54,7 @@ public class AuthService {
             user.setPassword(passwordEncoder.encode(req.password()));
         }
         User updated = userRepository.save(user);
-        return new AuthDtos.UserDto(updated.getId(), updated.getName(), updated.getEmail(), updated.getRole().name());
+        return AuthDtos.UserDto.of(updated);
     }
 }
 
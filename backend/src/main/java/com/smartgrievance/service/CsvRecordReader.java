@@ -0,0 +1,70 @@
+package com.smartgrievance.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader: quoted fields may contain separators, doubled quotes
+// and line breaks. Reads through its own buffer, so only the current record is held.
+final class CsvRecordReader {
+    private final Reader in;
+    private final char[] buf = new char[64 * 1024];
+    private int pos;
+    private int len;
+    private final StringBuilder field = new StringBuilder();
+
+    CsvRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    // Next record's fields, or null at end of input. Blank lines are skipped.
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') c = read();
+        if (c == -1) return null;
+        List<String> out = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) throw new IOException("Unterminated quoted field");
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                out.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == -1) {
+                out.add(field.toString());
+                return out;
+            } else if (c != '\r') {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == len) {
+            len = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (len <= 0) {
+                len = 0;
+                return -1;
+            }
+        }
+        return buf[pos++];
+    }
+}
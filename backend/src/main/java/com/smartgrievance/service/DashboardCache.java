@@ -0,0 +1,139 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.dto.AuthDtos;
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The reads every admin and officer dashboard makes on opening: statistics, counts and the
+// officer list per set of visible departments, and officer ratings. At shift start these
+// arrive together, so each goes through a ReadThroughCache (single-flight, short TTL,
+// stale-while-revalidate). Committed feedback changes outdate the regions they can
+// affect; AdminController reports officer changes. Changes that publish nothing (an
+// officer renaming themselves) show up after the TTL.
+@Service
+public class DashboardCache implements DisposableBean {
+    private final FeedbackService feedbackService;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final ThreadPoolExecutor refresher;
+    private final ReadThroughCache<List<String>, FeedbackDtos.StatisticsResponse> statistics;
+    private final ReadThroughCache<List<String>, FeedbackService.Counts> counts;
+    private final ReadThroughCache<List<String>, List<AuthDtos.UserDto>> officers;
+    private final ReadThroughCache<String, FeedbackDtos.OfficerRatingResponse> ratings;
+
+    public DashboardCache(FeedbackService feedbackService,
+                          UserRepository userRepository,
+                          MeterRegistry registry,
+                          @Value("${app.read-cache.enabled:true}") boolean enabled,
+                          @Value("${app.read-cache.statistics-ttl-ms:5000}") long statisticsTtlMs,
+                          @Value("${app.read-cache.officers-ttl-ms:30000}") long officersTtlMs,
+                          @Value("${app.read-cache.ratings-ttl-ms:30000}") long ratingsTtlMs,
+                          @Value("${app.read-cache.stale-ms:30000}") long staleMs,
+                          @Value("${app.read-cache.max-entries:1000}") int maxEntries,
+                          @Value("${app.read-cache.refresh-threads:2}") int refreshThreads) {
+        this.feedbackService = feedbackService;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        AtomicInteger n = new AtomicInteger();
+        // refreshes beyond the queue are dropped; the stale value is served until a later read retries
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), r -> {
+                    Thread t = new Thread(r, "cache-refresh-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.statistics = new ReadThroughCache<>("statistics", statisticsTtlMs, staleMs, maxEntries, refresher, registry);
+        this.counts = new ReadThroughCache<>("counts", statisticsTtlMs, staleMs, maxEntries, refresher, registry);
+        this.officers = new ReadThroughCache<>("officers", officersTtlMs, staleMs, maxEntries, refresher, registry);
+        this.ratings = new ReadThroughCache<>("ratings", ratingsTtlMs, staleMs, maxEntries, refresher, registry);
+    }
+
+    public FeedbackDtos.StatisticsResponse adminStatistics(List<String> departments) {
+        if (!enabled) return feedbackService.getAdminStatistics(departments);
+        return statistics.get(List.copyOf(departments), () -> feedbackService.getAdminStatistics(departments));
+    }
+
+    public FeedbackService.Counts adminCounts(List<String> departments) {
+        if (!enabled) return feedbackService.adminCounts(departments);
+        return counts.get(List.copyOf(departments), () -> feedbackService.adminCounts(departments));
+    }
+
+    public List<AuthDtos.UserDto> officers(List<String> departments) {
+        if (!enabled) return loadOfficers(departments);
+        return officers.get(List.copyOf(departments), () -> loadOfficers(departments));
+    }
+
+    public FeedbackDtos.OfficerRatingResponse officerRating(String email) {
+        if (!enabled) return feedbackService.getOfficerRating(email);
+        return ratings.get(email, () -> feedbackService.getOfficerRating(email));
+    }
+
+    // Officers were created, edited, re-roled or removed
+    public void officersChanged() {
+        officers.invalidate();
+        ratings.invalidate();
+    }
+
+    // Bulk writers that publish no per-item events
+    public void invalidateAll() {
+        statistics.invalidate();
+        counts.invalidate();
+        officers.invalidate();
+        ratings.invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (countsChanged(event)) {
+            statistics.invalidate();
+            counts.invalidate();
+        }
+        if (ratingChanged(event)) ratings.invalidate();
+    }
+
+    // Statistics and counts group by status, type, submission type, department and whether
+    // an officer is assigned
+    private static boolean countsChanged(FeedbackChangedEvent event) {
+        if (event.created() || event.deleted()) return true;
+        FeedbackSnapshot b = event.before(), a = event.after();
+        return b.status() != a.status() || b.type() != a.type() || b.submissionType() != a.submissionType()
+                || !Objects.equals(b.department(), a.department()) || (b.officerId() == null) != (a.officerId() == null);
+    }
+
+    // Ratings average the rated, resolved items of each officer
+    private static boolean ratingChanged(FeedbackChangedEvent event) {
+        FeedbackSnapshot b = event.before(), a = event.after();
+        if (b == null) return a.rating() != null;
+        if (a == null) return b.rating() != null;
+        if (b.rating() == null && a.rating() == null) return false;
+        return !Objects.equals(b.rating(), a.rating()) || b.status() != a.status() || !Objects.equals(b.officerId(), a.officerId());
+    }
+
+    // Officers without a department work on every department
+    private List<AuthDtos.UserDto> loadOfficers(List<String> departments) {
+        return userRepository.findByRole(Role.OFFICER).stream()
+                .filter(u -> u.getDepartment() == null || departments.contains(u.getDepartment()))
+                .map(AuthDtos.UserDto::of)
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+}
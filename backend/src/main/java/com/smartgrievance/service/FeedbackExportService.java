@@ -0,0 +1,333 @@
+package com.smartgrievance.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.model.ArchivedFeedback;
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.shard.ShardExecutor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Streams the feedback table (and, on request, feedback_archive after it) to an
+// OutputStream one row at a time. Each query is forward-only with a JDBC fetch size
+// (MySQL needs useCursorFetch=true to honour it), and the persistence context is
+// cleared every batch so memory stays flat no matter how many rows match.
+// An export spanning several departments reads them in parallel, up to
+// app.sharding.parallelism at once, each into a bounded queue; the response is written
+// department by department, so later departments are being read while earlier ones are
+// written and at most one fetch-size worth of rows is buffered per department.
+@Service
+public class FeedbackExportService {
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] CSV_HEADER = {
+            "id", "submissionType", "type", "status", "title", "description", "createdAt", "updatedAt",
+            "citizenName", "citizenEmail", "anonymous", "isPublic", "officerEmail", "deadline",
+            "escalationLevel", "adminMessage", "rating", "ratingComment"
+    };
+
+    // Marks the end of one department's rows in its queue
+    private static final Object END = new Object();
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final int fetchSize;
+    private final int parallelism;
+
+    public FeedbackExportService(EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 ShardExecutor shardExecutor,
+                                 @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.parallelism = shardExecutor.parallelism();
+    }
+
+    // Rows of the given departments, each department's live rows then its archived ones
+    public long export(FeedbackDtos.ExportFilter filter, Format format, OutputStream out, List<String> departments) throws IOException {
+        RowWriter writer = format == Format.CSV ? csvWriter(out) : ndjsonWriter(out);
+        long count = departments.size() == 1 || parallelism == 1
+                ? exportSequential(filter, writer, departments)
+                : exportParallel(filter, writer, departments);
+        writer.flush();
+        return count;
+    }
+
+    private long exportSequential(FeedbackDtos.ExportFilter filter, RowWriter writer, List<String> departments) throws IOException {
+        long count = 0;
+        try {
+            for (String department : departments) {
+                count += readOnly.execute(status -> stream(department, filter, row -> {
+                    writer.write(row);
+                    return true;
+                }, writer));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+
+    private long exportParallel(FeedbackDtos.ExportFilter filter, RowWriter writer, List<String> departments) throws IOException {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // a pool per export: a producer blocked on its queue never holds up another export
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, departments.size()), r -> {
+            Thread t = new Thread(r, "export-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        List<BlockingQueue<Object>> queues = new ArrayList<>(departments.size());
+        try {
+            for (String department : departments) {
+                BlockingQueue<Object> queue = new ArrayBlockingQueue<>(fetchSize);
+                queues.add(queue);
+                pool.execute(TrafficClass.propagate(() -> produce(department, filter, queue, cancelled)));
+            }
+            long count = 0;
+            for (BlockingQueue<Object> queue : queues) {
+                for (Object item = queue.take(); item != END; item = queue.take()) {
+                    if (item instanceof RuntimeException e) throw e;
+                    writer.write((FeedbackDtos.ExportRow) item);
+                    if (++count % fetchSize == 0) writer.flush();
+                }
+            }
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } finally {
+            cancelled.set(true);
+            queues.forEach(BlockingQueue::clear);
+            pool.shutdownNow();
+        }
+    }
+
+    // Runs on an export thread: streams one department into its queue in its own transaction
+    private void produce(String department, FeedbackDtos.ExportFilter filter, BlockingQueue<Object> queue, AtomicBoolean cancelled) {
+        try {
+            readOnly.executeWithoutResult(status -> stream(department, filter, row -> offer(queue, row, cancelled), null));
+            offer(queue, END, cancelled);
+        } catch (RuntimeException e) {
+            offer(queue, e, cancelled);
+        }
+    }
+
+    // Waits for room in the queue; gives up once the export is over
+    private static boolean offer(BlockingQueue<Object> queue, Object item, AtomicBoolean cancelled) {
+        try {
+            while (!cancelled.get()) {
+                if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private interface RowSink {
+        // false stops the stream
+        boolean accept(FeedbackDtos.ExportRow row) throws IOException;
+    }
+
+    // Live then archived rows of one department; must run inside a transaction.
+    // writer, when given, is flushed with every batch. Write failures come out as
+    // UncheckedIOException so this can run inside a TransactionTemplate callback.
+    private long stream(String department, FeedbackDtos.ExportFilter filter, RowSink sink, RowWriter writer) {
+        try {
+            return streamRows(department, filter, sink, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long streamRows(String department, FeedbackDtos.ExportFilter filter, RowSink sink, RowWriter writer) throws IOException {
+        long count;
+        try (Stream<Feedback> rows = query(Feedback.class,
+                "select f from Feedback f join fetch f.citizen left join fetch f.assignedOfficer where 1 = 1", filter, department).getResultStream()) {
+            count = write(rows.map(FeedbackExportService::toRow).iterator(), sink, writer);
+        }
+        // the slower cold path: archived rows follow the live ones
+        if (filter.includeArchived()) {
+            try (Stream<ArchivedFeedback> rows = query(ArchivedFeedback.class,
+                    "select f from ArchivedFeedback f where 1 = 1", filter, department).getResultStream()) {
+                count += write(rows.map(FeedbackExportService::toRow).iterator(), sink, writer);
+            }
+        }
+        return count;
+    }
+
+    private <T> TypedQuery<T> query(Class<T> entity, String select, FeedbackDtos.ExportFilter filter, String department) {
+        StringBuilder jpql = new StringBuilder(select);
+        List<Object[]> params = new ArrayList<>();
+        jpql.append(" and f.department = :department");
+        params.add(new Object[]{"department", department});
+        if (filter.status() != null) { jpql.append(" and f.status = :status"); params.add(new Object[]{"status", filter.status()}); }
+        if (filter.type() != null) { jpql.append(" and f.type = :type"); params.add(new Object[]{"type", filter.type()}); }
+        if (filter.submissionType() != null) { jpql.append(" and f.submissionType = :submissionType"); params.add(new Object[]{"submissionType", filter.submissionType()}); }
+        if (filter.from() != null) { jpql.append(" and f.createdAt >= :from"); params.add(new Object[]{"from", filter.from()}); }
+        if (filter.to() != null) { jpql.append(" and f.createdAt < :to"); params.add(new Object[]{"to", filter.to()}); }
+        jpql.append(" order by f.id");
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), entity)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        for (Object[] p : params) query.setParameter((String) p[0], p[1]);
+        return query;
+    }
+
+    private interface RowWriter {
+        void write(FeedbackDtos.ExportRow row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private long write(Iterator<FeedbackDtos.ExportRow> rows, RowSink sink, RowWriter writer) throws IOException {
+        long count = 0;
+        while (rows.hasNext()) {
+            if (!sink.accept(rows.next())) break;
+            if (++count % fetchSize == 0) {
+                entityManager.clear();
+                if (writer != null) writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private RowWriter ndjsonWriter(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        return new RowWriter() {
+            @Override
+            public void write(FeedbackDtos.ExportRow row) throws IOException {
+                json.writeObject(row);
+                json.writeRaw('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                json.flush();
+            }
+        };
+    }
+
+    private RowWriter csvWriter(OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writeCsvLine(w, (Object[]) CSV_HEADER);
+        return new RowWriter() {
+            @Override
+            public void write(FeedbackDtos.ExportRow r) throws IOException {
+                writeCsvLine(w, r.id(), r.submissionType(), r.type(), r.status(), r.title(), r.description(),
+                        r.createdAt(), r.updatedAt(), r.citizenName(), r.citizenEmail(), r.anonymous(), r.isPublic(),
+                        r.officerEmail(), r.deadline(), r.escalationLevel(), r.adminMessage(), r.rating(), r.ratingComment());
+            }
+
+            @Override
+            public void flush() throws IOException {
+                w.flush();
+            }
+        };
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; double embedded quotes.
+    // Text that a spreadsheet would run as a formula (=, +, -, @, tab, CR first) gets a leading
+    // quote, since titles, descriptions and comments come from citizens (OWASP CSV injection).
+    // FeedbackImportService drops that quote again.
+    private static void writeCsvLine(Writer w, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) w.write(',');
+            Object v = values[i];
+            if (v == null) continue;
+            String s = v.toString();
+            if (v instanceof CharSequence && !s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0) s = "'" + s;
+            if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+                w.write('"');
+                w.write(s.replace("\"", "\"\""));
+                w.write('"');
+            } else {
+                w.write(s);
+            }
+        }
+        w.write("\r\n");
+    }
+
+    // Same masking as the admin list: anonymous submissions do not reveal the citizen.
+    private static FeedbackDtos.ExportRow toRow(Feedback f) {
+        DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
+        boolean anon = f.isAnonymous();
+        return new FeedbackDtos.ExportRow(
+                f.getId(),
+                f.getSubmissionType() != null ? f.getSubmissionType().name() : "FEEDBACK",
+                f.getType() != null ? f.getType().name() : null,
+                f.getStatus().name(),
+                f.getTitle(),
+                f.getDescription(),
+                f.getCreatedAt() != null ? fmt.format(f.getCreatedAt()) : null,
+                f.getUpdatedAt() != null ? fmt.format(f.getUpdatedAt()) : null,
+                anon ? "Anonymous user" : f.getCitizen().getName(),
+                anon ? "" : f.getCitizen().getEmail(),
+                anon,
+                f.isPublic(),
+                f.getAssignedOfficer() != null ? f.getAssignedOfficer().getEmail() : null,
+                f.getDeadline() != null ? f.getDeadline().toString() : null,
+                f.getEscalationLevel(),
+                f.getAdminMessage(),
+                f.getRating(),
+                f.getRatingComment());
+    }
+
+    // Archived rows carry the citizen and officer as they were when archived.
+    private static FeedbackDtos.ExportRow toRow(ArchivedFeedback f) {
+        DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
+        boolean anon = f.isAnonymous();
+        return new FeedbackDtos.ExportRow(
+                f.getId(),
+                f.getSubmissionType() != null ? f.getSubmissionType().name() : "FEEDBACK",
+                f.getType() != null ? f.getType().name() : null,
+                f.getStatus().name(),
+                f.getTitle(),
+                f.getDescription(),
+                f.getCreatedAt() != null ? fmt.format(f.getCreatedAt()) : null,
+                f.getUpdatedAt() != null ? fmt.format(f.getUpdatedAt()) : null,
+                anon ? "Anonymous user" : f.getCitizenName(),
+                anon ? "" : f.getCitizenEmail(),
+                anon,
+                f.isPublic(),
+                f.getOfficerEmail(),
+                f.getDeadline() != null ? f.getDeadline().toString() : null,
+                f.getEscalationLevel(),
+                f.getAdminMessage(),
+                f.getRating(),
+                f.getRatingComment());
+    }
+}
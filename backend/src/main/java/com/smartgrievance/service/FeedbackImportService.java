@@ -0,0 +1,463 @@
+package com.smartgrievance.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.ImportCheckpoint;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.model.TrendRollup;
+import com.smartgrievance.repository.ImportCheckpointRepository;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.shard.ShardResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bulk import of legacy grievances from CSV (header row) or NDJSON, using the column
+// names of the admin export. Rows are validated with the same rules as submit and
+// inserted with JDBC batches. Each batch commits together with its checkpoint row,
+// so re-running the same importId skips what was already committed. An admin export can
+// be imported again, except for anonymous rows: the export leaves their citizenEmail
+// empty, and without an owner they are rejected.
+@Service
+public class FeedbackImportService {
+    private static final Logger log = LoggerFactory.getLogger(FeedbackImportService.class);
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final int EMAIL_LOOKUP_CHUNK = 1000;
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+    private static final String INSERT_SQL = "insert into feedback (title, description, photo_url, is_public, is_anonymous, "
+            + "type, submission_type, status, deadline, escalation_level, admin_message, rating, rating_comment, "
+            + "created_at, updated_at, citizen_id, officer_id, department) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Format { CSV, NDJSON }
+
+    private record UserRef(Long id, Role role, String department) {}
+
+    private static final UserRef MISSING = new UserRef(null, null, null);
+
+    private record Row(String title, String description, String photoUrl, boolean isPublic, boolean isAnonymous,
+                       FeedbackType type, SubmissionType submissionType, FeedbackStatus status, LocalDateTime deadline,
+                       int escalationLevel, String adminMessage, Integer rating, String ratingComment,
+                       Instant createdAt, Instant updatedAt, Long citizenId, Long officerId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final TrendService trendService;
+    private final OfficerAssignmentEngine assignmentEngine;
+    private final OfficerWorkQueue workQueue;
+    private final PublicFeedService publicFeedService;
+    private final DashboardCache dashboardCache;
+    private final ObjectMapper objectMapper;
+    private final ShardResolver shardResolver;
+    private final int batchSize;
+    private final int emailCacheSize;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public FeedbackImportService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 UserRepository userRepository,
+                                 ImportCheckpointRepository checkpointRepository,
+                                 TrendService trendService,
+                                 OfficerAssignmentEngine assignmentEngine,
+                                 OfficerWorkQueue workQueue,
+                                 PublicFeedService publicFeedService,
+                                 DashboardCache dashboardCache,
+                                 ObjectMapper objectMapper,
+                                 ShardResolver shardResolver,
+                                 @Value("${app.import.batch-size:2000}") int batchSize,
+                                 @Value("${app.import.email-cache-size:100000}") int emailCacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.trendService = trendService;
+        this.assignmentEngine = assignmentEngine;
+        this.workQueue = workQueue;
+        this.publicFeedService = publicFeedService;
+        this.dashboardCache = dashboardCache;
+        this.objectMapper = objectMapper;
+        this.shardResolver = shardResolver;
+        this.batchSize = batchSize;
+        this.emailCacheSize = emailCacheSize;
+    }
+
+    public static Format formatOf(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") || lower.equals("ndjson") ? Format.NDJSON : Format.CSV;
+    }
+
+    public AdminDtos.ImportReport importFeedback(String importId, Format format, InputStream input) throws IOException {
+        if (importId == null || importId.isBlank() || importId.length() > 128) {
+            throw new IllegalArgumentException("importId must be 1-128 characters");
+        }
+        if (!running.add(importId)) {
+            throw new IllegalStateException("Import " + importId + " is already running");
+        }
+        try {
+            return run(importId, format, input);
+        } finally {
+            running.remove(importId);
+        }
+    }
+
+    private AdminDtos.ImportReport run(String importId, Format format, InputStream input) throws IOException {
+        long started = System.nanoTime();
+        ImportCheckpoint checkpoint = checkpointRepository.findById(importId).orElseGet(() -> {
+            ImportCheckpoint c = new ImportCheckpoint();
+            c.setImportId(importId);
+            c.setFormat(format.name());
+            return c;
+        });
+        long resumedFrom = checkpoint.getRecordsProcessed();
+        if (checkpoint.isCompleted()) {
+            return new AdminDtos.ImportReport(importId, true, resumedFrom, 0, 0, 0, 0, 0, List.of());
+        }
+        if (resumedFrom > 0) {
+            log.info("Resuming import {} after record {}", importId, resumedFrom);
+        }
+
+        Map<String, UserRef> emails = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserRef> eldest) {
+                return size() > emailCacheSize;
+            }
+        };
+        List<AdminDtos.ImportRejection> rejections = new ArrayList<>();
+        List<Map<String, String>> pending = new ArrayList<>(batchSize);
+        long record = 0;
+        long read = 0;
+        long inserted = 0;
+        long rejected = 0;
+        long lastLog = started;
+
+        try (RecordSource source = open(format, input)) {
+            Map<String, String> fields;
+            while ((fields = source.next()) != null) {
+                record++;
+                if (record <= resumedFrom) continue;
+                pending.add(fields);
+                read++;
+                if (pending.size() == batchSize) {
+                    long[] counts = flush(checkpoint, record - pending.size() + 1, pending, emails, rejections);
+                    inserted += counts[0];
+                    rejected += counts[1];
+                    pending.clear();
+                    long now = System.nanoTime();
+                    if (now - lastLog > 10_000_000_000L) {
+                        lastLog = now;
+                        log.info("Import {}: {} records, {} rows/s", importId, record, (long) rate(read, now - started));
+                    }
+                }
+            }
+            long[] counts = flush(checkpoint, record - pending.size() + 1, pending, emails, rejections);
+            inserted += counts[0];
+            rejected += counts[1];
+        }
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.save(checkpoint);
+        if (inserted > 0) {
+            assignmentEngine.rebuild();
+            workQueue.rebuild();
+            publicFeedService.invalidateAll();
+            dashboardCache.invalidateAll();
+        }
+
+        long elapsed = System.nanoTime() - started;
+        double rowsPerSecond = rate(read, elapsed);
+        log.info("Import {} finished: {} read, {} inserted, {} rejected, {} rows/s", importId, read, inserted, rejected, (long) rowsPerSecond);
+        return new AdminDtos.ImportReport(importId, true, resumedFrom, read, inserted, rejected,
+                elapsed / 1_000_000, rowsPerSecond, rejections);
+    }
+
+    private static double rate(long rows, long nanos) {
+        return nanos <= 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    // Validates one batch, inserts the valid rows and advances the checkpoint in a single
+    // transaction. Returns {inserted, rejected}.
+    private long[] flush(ImportCheckpoint checkpoint, long firstRecord, List<Map<String, String>> batch,
+                         Map<String, UserRef> emails, List<AdminDtos.ImportRejection> rejections) {
+        if (batch.isEmpty()) return new long[]{0, 0};
+        resolveEmails(batch, emails);
+        List<Row> rows = new ArrayList<>(batch.size());
+        long rejected = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                rows.add(toRow(batch.get(i), emails));
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                    rejections.add(new AdminDtos.ImportRejection(firstRecord + i, e.getMessage()));
+                }
+            }
+        }
+        long rejectedInBatch = rejected;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, r) -> {
+                    ps.setString(1, r.title());
+                    ps.setString(2, r.description());
+                    ps.setString(3, r.photoUrl());
+                    ps.setBoolean(4, r.isPublic());
+                    ps.setBoolean(5, r.isAnonymous());
+                    ps.setString(6, r.type().name());
+                    ps.setString(7, r.submissionType().name());
+                    ps.setString(8, r.status().name());
+                    if (r.deadline() != null) ps.setTimestamp(9, Timestamp.valueOf(r.deadline()));
+                    else ps.setNull(9, Types.TIMESTAMP);
+                    ps.setInt(10, r.escalationLevel());
+                    ps.setString(11, r.adminMessage());
+                    if (r.rating() != null) ps.setInt(12, r.rating());
+                    else ps.setNull(12, Types.INTEGER);
+                    ps.setString(13, r.ratingComment());
+                    ps.setTimestamp(14, Timestamp.from(r.createdAt()), UTC);
+                    ps.setTimestamp(15, Timestamp.from(r.updatedAt()), UTC);
+                    ps.setLong(16, r.citizenId());
+                    if (r.officerId() != null) ps.setLong(17, r.officerId());
+                    else ps.setNull(17, Types.BIGINT);
+                    ps.setString(18, shardResolver.shardFor(r.type()));
+                });
+                recordTrends(rows);
+            }
+            checkpoint.setRecordsProcessed(firstRecord + batch.size() - 1);
+            checkpoint.setInserted(checkpoint.getInserted() + rows.size());
+            checkpoint.setRejected(checkpoint.getRejected() + rejectedInBatch);
+            checkpoint.setUpdatedAt(Instant.now());
+            checkpointRepository.save(checkpoint);
+        });
+        return new long[]{rows.size(), rejectedInBatch};
+    }
+
+    // Imported rows count as created at their original createdAt; intermediate status
+    // changes from the legacy system are not known, so each row is one NEW -> status step.
+    private void recordTrends(List<Row> rows) {
+        List<TrendService.Delta> deltas = new ArrayList<>(rows.size());
+        for (Row r : rows) {
+            deltas.add(new TrendService.Delta(r.createdAt(), r.type(), r.submissionType(), TrendRollup.NEW, r.status(), 1));
+        }
+        trendService.recordBackfill(deltas);
+    }
+
+    // Looks up every email in the batch that is not cached yet, in chunked IN queries.
+    private void resolveEmails(List<Map<String, String>> batch, Map<String, UserRef> cache) {
+        Set<String> missing = new HashSet<>();
+        for (Map<String, String> fields : batch) {
+            String citizen = trimToNull(fields.get("citizenemail"));
+            String officer = trimToNull(fields.get("officeremail"));
+            if (citizen != null && !cache.containsKey(citizen)) missing.add(citizen);
+            if (officer != null && !cache.containsKey(officer)) missing.add(officer);
+        }
+        if (missing.isEmpty()) return;
+        List<String> all = new ArrayList<>(missing);
+        for (int i = 0; i < all.size(); i += EMAIL_LOOKUP_CHUNK) {
+            List<String> chunk = all.subList(i, Math.min(all.size(), i + EMAIL_LOOKUP_CHUNK));
+            for (Object[] row : userRepository.findIdRoleAndDepartmentByEmailIn(chunk)) {
+                cache.put((String) row[0], new UserRef((Long) row[1], (Role) row[2], (String) row[3]));
+                missing.remove((String) row[0]);
+            }
+        }
+        for (String email : missing) cache.put(email, MISSING);
+    }
+
+    private Row toRow(Map<String, String> f, Map<String, UserRef> emails) {
+        String title = trimToNull(f.get("title"));
+        String description = f.get("description");
+        boolean isPublic = bool(f.get("ispublic"), "isPublic");
+        boolean isAnonymous = bool(f.get("anonymous"), "anonymous");
+        FeedbackService.validateSubmission(title, description, isPublic, isAnonymous);
+        if (title.length() > 255) throw new IllegalArgumentException("Title is longer than 255 characters");
+        String photoUrl = trimToNull(f.get("photourl"));
+        if (photoUrl != null && photoUrl.length() > 255) throw new IllegalArgumentException("photoUrl is longer than 255 characters");
+
+        String citizenEmail = trimToNull(f.get("citizenemail"));
+        if (citizenEmail == null) {
+            throw new IllegalArgumentException(isAnonymous
+                    ? "citizenEmail is required, also for anonymous rows (the export does not include it)"
+                    : "citizenEmail is required");
+        }
+        UserRef citizen = emails.getOrDefault(citizenEmail, MISSING);
+        if (citizen.role() != Role.CITIZEN) throw new IllegalArgumentException("No citizen with email " + citizenEmail);
+        FeedbackType type = enumValue(FeedbackType.class, f.get("type"), FeedbackType.OTHERS);
+        String officerEmail = trimToNull(f.get("officeremail"));
+        Long officerId = null;
+        if (officerEmail != null) {
+            UserRef officer = emails.getOrDefault(officerEmail, MISSING);
+            if (officer.role() != Role.OFFICER) throw new IllegalArgumentException("No officer with email " + officerEmail);
+            // same rule as FeedbackService.assignToOfficer
+            if (officer.department() != null && !officer.department().equals(shardResolver.shardFor(type))) {
+                throw new IllegalArgumentException("Officer " + officerEmail + " belongs to department " + officer.department());
+            }
+            officerId = officer.id();
+        }
+
+        Integer rating = integer(f.get("rating"), "rating");
+        if (rating != null && (rating < 1 || rating > 5)) throw new IllegalArgumentException("Rating must be between 1 and 5");
+        Integer escalation = integer(f.get("escalationlevel"), "escalationLevel");
+        Instant createdAt = instant(f.get("createdat"), "createdAt");
+        if (createdAt == null) createdAt = Instant.now();
+        Instant updatedAt = instant(f.get("updatedat"), "updatedAt");
+
+        return new Row(title, description, photoUrl, isPublic, isAnonymous,
+                type,
+                enumValue(SubmissionType.class, f.get("submissiontype"), SubmissionType.FEEDBACK),
+                enumValue(FeedbackStatus.class, f.get("status"), FeedbackStatus.SUBMITTED),
+                deadline(f.get("deadline")),
+                escalation == null ? 0 : escalation,
+                trimToNull(f.get("adminmessage")),
+                rating,
+                trimToNull(f.get("ratingcomment")),
+                createdAt,
+                updatedAt == null ? createdAt : updatedAt,
+                citizen.id(),
+                officerId);
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private static boolean bool(String s, String field) {
+        String v = trimToNull(s);
+        if (v == null || v.equals("0") || v.equalsIgnoreCase("false")) return false;
+        if (v.equals("1") || v.equalsIgnoreCase("true")) return true;
+        throw new IllegalArgumentException("Invalid " + field + ": " + v);
+    }
+
+    private static Integer integer(String s, String field) {
+        String v = trimToNull(s);
+        if (v == null) return null;
+        try {
+            return Integer.valueOf(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + v);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String s, E fallback) {
+        String v = trimToNull(s);
+        if (v == null) return fallback;
+        try {
+            return Enum.valueOf(type, v.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + ": " + v);
+        }
+    }
+
+    // ISO instant, or a date taken as start of day UTC
+    private static Instant instant(String s, String field) {
+        String v = trimToNull(s);
+        if (v == null) return null;
+        try {
+            return v.contains("T") ? Instant.parse(v) : LocalDate.parse(v).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + v);
+        }
+    }
+
+    // Same formats as FeedbackService.assignDeadline: local date-time, or a date meaning 23:59 that day.
+    // Past deadlines are allowed here since legacy records are historical.
+    private static LocalDateTime deadline(String s) {
+        String v = trimToNull(s);
+        if (v == null) return null;
+        try {
+            return v.contains("T") ? LocalDateTime.parse(v.replace(" ", "T")) : LocalDate.parse(v).atTime(23, 59);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid deadline: " + v);
+        }
+    }
+
+    // Undoes the export's CSV injection guard: a quote the export put before a leading =, +,
+    // -, @, tab or CR is dropped, so exported text comes back as it was
+    private static String unguard(String v) {
+        if (v == null || v.length() < 2 || v.charAt(0) != '\'') return v;
+        return "=+-@\t\r".indexOf(v.charAt(1)) >= 0 ? v.substring(1) : v;
+    }
+
+    // Field names are matched case-insensitively.
+    private interface RecordSource extends AutoCloseable {
+        Map<String, String> next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private RecordSource open(Format format, InputStream input) throws IOException {
+        if (format == Format.NDJSON) {
+            MappingIterator<Map<String, Object>> it = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {}).readValues(input);
+            return new RecordSource() {
+                @Override
+                public Map<String, String> next() throws IOException {
+                    if (!it.hasNextValue()) return null;
+                    Map<String, Object> json = it.nextValue();
+                    Map<String, String> out = new HashMap<>(json.size() * 2);
+                    json.forEach((k, v) -> out.put(k.toLowerCase(Locale.ROOT), v == null ? null : v.toString()));
+                    return out;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    it.close();
+                }
+            };
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) throw new IllegalArgumentException("CSV input has no header row");
+        String[] names = new String[header.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+        }
+        return new RecordSource() {
+            @Override
+            public Map<String, String> next() throws IOException {
+                List<String> values = csv.next();
+                if (values == null) return null;
+                Map<String, String> out = new HashMap<>(names.length * 2);
+                for (int i = 0; i < names.length && i < values.size(); i++) out.put(names[i], unguard(values.get(i)));
+                return out;
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+}
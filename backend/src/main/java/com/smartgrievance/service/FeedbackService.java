@@ -1,19 +1,33 @@
 package com.smartgrievance.service;
 
 import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.dto.UploadDtos;
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.ArchivedFeedback;
 import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackAttachment;
 import com.smartgrievance.model.FeedbackStatus;
 import com.smartgrievance.model.FeedbackType;
 import com.smartgrievance.model.Role;
 import com.smartgrievance.model.SubmissionType;
 import com.smartgrievance.model.User;
+import com.smartgrievance.repository.ArchivedFeedbackRepository;
+import com.smartgrievance.repository.FeedbackAttachmentRepository;
 import com.smartgrievance.repository.FeedbackRepository;
 import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.shard.ShardExecutor;
+import com.smartgrievance.shard.ShardResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,20 +36,60 @@ import java.util.stream.Collectors;
 @Service
 public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
+    private final ArchivedFeedbackRepository archivedRepository;
     private final UserRepository userRepository;
+    private final FeedbackAttachmentRepository attachmentRepository;
+    private final ApplicationEventPublisher events;
+    private final OfficerAssignmentEngine assignmentEngine;
+    private final ShardResolver shardResolver;
+    private final ShardExecutor shardExecutor;
+    private final boolean autoAssignOnSubmit;
 
-    public FeedbackService(FeedbackRepository feedbackRepository, UserRepository userRepository) {
+    public FeedbackService(FeedbackRepository feedbackRepository,
+                           ArchivedFeedbackRepository archivedRepository,
+                           UserRepository userRepository,
+                           FeedbackAttachmentRepository attachmentRepository,
+                           ApplicationEventPublisher events,
+                           OfficerAssignmentEngine assignmentEngine,
+                           ShardResolver shardResolver,
+                           ShardExecutor shardExecutor,
+                           @Value("${app.assignment.auto-on-submit:false}") boolean autoAssignOnSubmit) {
         this.feedbackRepository = feedbackRepository;
+        this.archivedRepository = archivedRepository;
         this.userRepository = userRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.events = events;
+        this.assignmentEngine = assignmentEngine;
+        this.shardResolver = shardResolver;
+        this.shardExecutor = shardExecutor;
+        this.autoAssignOnSubmit = autoAssignOnSubmit;
     }
 
-    public Feedback submit(User citizen, FeedbackDtos.SubmitRequest req) {
+    // Saves the change and publishes it; listeners that need to commit with the
+    // change (trend rollups) run inside the caller's transaction.
+    private Feedback saveAndPublish(FeedbackSnapshot before, Feedback feedback) {
+        Feedback saved = feedbackRepository.save(feedback);
+        events.publishEvent(new FeedbackChangedEvent(before, FeedbackSnapshot.of(saved)));
+        return saved;
+    }
+
+    // Rules every new submission must satisfy; shared with the bulk importer
+    public static void validateSubmission(String title, String description, boolean isPublic, boolean isAnonymous) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("Description is required");
+        }
         // Exactly one visibility option must be chosen
-        boolean publicChosen = req.isPublic();
-        boolean anonymousChosen = req.isAnonymous();
-        if (publicChosen == anonymousChosen) { // both true or both false
+        if (isPublic == isAnonymous) { // both true or both false
             throw new IllegalArgumentException("Choose either public or anonymous");
         }
+    }
+
+    @Transactional
+    public Feedback submit(User citizen, FeedbackDtos.SubmitRequest req) {
+        validateSubmission(req.title(), req.description(), req.isPublic(), req.isAnonymous());
         Feedback f = new Feedback();
         f.setTitle(req.title());
         f.setDescription(req.description());
@@ -46,13 +100,66 @@ public class FeedbackService {
         f.setType(type);
         SubmissionType submissionType = req.submissionType() == null ? SubmissionType.FEEDBACK : req.submissionType();
         f.setSubmissionType(submissionType);
+        f.setDepartment(shardResolver.shardFor(type));
         // For grievances, deadline will be set by admin later
         // For feedback, no deadline
         f.setCitizen(citizen);
-        return feedbackRepository.save(f);
+        // Optionally place it with the least loaded suitable officer right away
+        Long officerId = autoAssignOnSubmit ? assignmentEngine.pick(f.getDepartment(), type).orElse(null) : null;
+        if (officerId != null) {
+            f.setAssignedOfficer(userRepository.getReferenceById(officerId));
+            f.setStatus(FeedbackStatus.IN_PROGRESS);
+        }
+        Feedback saved = saveAndPublish(null, f);
+        List<Long> attachmentIds = req.attachmentIds() == null ? List.of() : req.attachmentIds().stream().distinct().toList();
+        if (!attachmentIds.isEmpty()) {
+            if (attachmentIds.size() > FeedbackAttachment.MAX_PER_FEEDBACK) {
+                throw new IllegalArgumentException("At most " + FeedbackAttachment.MAX_PER_FEEDBACK + " attachments per submission");
+            }
+            // only the citizen's own uploads that are not attached elsewhere
+            if (attachmentRepository.link(saved.getId(), citizen.getId(), attachmentIds) != attachmentIds.size()) {
+                throw new IllegalArgumentException("Unknown or already used attachment");
+            }
+        }
+        if (officerId != null) {
+            assignmentEngine.reserve(saved.getId(), officerId);
+        }
+        return saved;
     }
 
     public List<FeedbackDtos.FeedbackResponse> my(User citizen) {
+        return my(citizen, false);
+    }
+
+    // Archived (closed, old) items come after the live ones, newest first
+    public List<FeedbackDtos.FeedbackResponse> my(User citizen, boolean includeArchived) {
+        List<FeedbackDtos.FeedbackResponse> out = live(citizen);
+        if (includeArchived) {
+            DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
+            for (ArchivedFeedback a : archivedRepository.findByCitizenIdOrderByCreatedAtDesc(citizen.getId())) {
+                out.add(new FeedbackDtos.FeedbackResponse(
+                        a.getId(),
+                        a.getTitle(),
+                        a.getDescription(),
+                        a.getStatus().name(),
+                        a.getType() != null ? a.getType().name() : FeedbackType.OTHERS.name(),
+                        a.getSubmissionType() != null ? a.getSubmissionType().name() : SubmissionType.FEEDBACK.name(),
+                        fmt.format(a.getCreatedAt()),
+                        fmt.format(a.getUpdatedAt()),
+                        a.getDeadline() != null ? a.getDeadline().toString() : null,
+                        a.getEscalationLevel(),
+                        a.getPhotoUrl(),
+                        a.getAdminMessage(),
+                        a.getRating(),
+                        a.getRatingComment(),
+                        a.getOfficerName(),
+                        a.getOfficerEmail()));
+            }
+        }
+        return out;
+    }
+
+    private List<FeedbackDtos.FeedbackResponse> live(User citizen) {
         DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
         return feedbackRepository.findByCitizen(citizen).stream()
                 .map(f -> new FeedbackDtos.FeedbackResponse(
@@ -76,17 +183,94 @@ public class FeedbackService {
                 .collect(Collectors.toList());
     }
 
+    // Visible to the submitting citizen, the assigned officer and admins of its
+    // department, for live and archived items alike
+    @Transactional(readOnly = true)
+    public List<UploadDtos.Attachment> attachments(User viewer, Long feedbackId) {
+        Long citizenId, officerId;
+        String department;
+        Feedback f = feedbackRepository.findById(feedbackId).orElse(null);
+        if (f != null) {
+            citizenId = f.getCitizen().getId();
+            officerId = f.getAssignedOfficer() != null ? f.getAssignedOfficer().getId() : null;
+            department = f.getDepartment();
+        } else {
+            ArchivedFeedback a = archivedRepository.findById(feedbackId).orElseThrow();
+            citizenId = a.getCitizenId();
+            officerId = a.getOfficerId();
+            department = a.getDepartment();
+        }
+        boolean allowed = switch (viewer.getRole()) {
+            case CITIZEN -> viewer.getId().equals(citizenId);
+            case OFFICER -> viewer.getId().equals(officerId);
+            case ADMIN -> viewer.getDepartment() == null || viewer.getDepartment().equals(department);
+        };
+        if (!allowed) {
+            throw new IllegalStateException("Not authorized to view these attachments");
+        }
+        return attachmentRepository.findByFeedbackIdOrderByIdAsc(feedbackId).stream().map(UploadDtos.Attachment::of).toList();
+    }
+
     public List<Feedback> assignedTo(User officer) {
         // Officers can only view feedbacks assigned to them
         return feedbackRepository.findByAssignedOfficer(officer);
     }
 
+    // Loads the queued items in one query and keeps the queue's order. An item that
+    // changed hands after the queue was read is left out.
+    @Transactional(readOnly = true)
+    public List<FeedbackDtos.WorkQueueItem> workQueueItems(User officer, List<OfficerWorkQueue.Entry> entries) {
+        if (entries.isEmpty()) return List.of();
+        Map<Long, Feedback> byId = new HashMap<>();
+        for (Feedback f : feedbackRepository.findAssignedByIds(officer.getId(), entries.stream().map(OfficerWorkQueue.Entry::feedbackId).toList())) {
+            byId.put(f.getId(), f);
+        }
+        Instant now = Instant.now();
+        DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
+        List<FeedbackDtos.WorkQueueItem> out = new ArrayList<>(entries.size());
+        for (OfficerWorkQueue.Entry e : entries) {
+            Feedback f = byId.get(e.feedbackId());
+            if (f == null) continue;
+            out.add(new FeedbackDtos.WorkQueueItem(
+                    f.getId(),
+                    f.getTitle(),
+                    f.getStatus().name(),
+                    f.getType() != null ? f.getType().name() : null,
+                    f.getSubmissionType() != null ? f.getSubmissionType().name() : "FEEDBACK",
+                    fmt.format(f.getCreatedAt()),
+                    f.getDeadline() != null ? f.getDeadline().toString() : null,
+                    f.getEscalationLevel(),
+                    fmt.format(e.dueAt()),
+                    e.dueAt().isBefore(now),
+                    f.isAnonymous() ? "Anonymous user" : f.getCitizen().getName()));
+        }
+        return out;
+    }
+
     public List<Feedback> findAll() {
         return feedbackRepository.findAll();
     }
 
+    // Everything in the given departments; all of them is a plain findAll
+    public List<Feedback> findAll(List<String> departments) {
+        return departments.containsAll(shardResolver.shards())
+                ? feedbackRepository.findAll()
+                : feedbackRepository.findByDepartmentIn(departments);
+    }
+
+    // Admins with a department may only act on that department's items; officers are
+    // already limited to what is assigned to them
+    private static void checkDepartment(User actor, Feedback f) {
+        if (actor.getRole() == Role.ADMIN && actor.getDepartment() != null && !actor.getDepartment().equals(f.getDepartment())) {
+            throw new IllegalStateException("Not authorized for department " + f.getDepartment());
+        }
+    }
+
+    @Transactional
     public Feedback updateStatus(User actor, Long id, FeedbackStatus status) {
         Feedback f = feedbackRepository.findById(id).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(f);
+        checkDepartment(actor, f);
         // Officers can manage only feedbacks assigned to them
         if (actor.getRole() == Role.OFFICER) {
             if (f.getAssignedOfficer() == null || !f.getAssignedOfficer().getId().equals(actor.getId())) {
@@ -98,31 +282,40 @@ public class FeedbackService {
             throw new IllegalStateException("Officers cannot set status to ESCALATED");
         }
         f.setStatus(status);
-        return feedbackRepository.save(f);
+        return saveAndPublish(before, f);
     }
 
+    @Transactional
     public Feedback assignToOfficer(User admin, Long feedbackId, Long officerId) {
         if (admin.getRole() != Role.ADMIN) {
             throw new IllegalStateException("Only admin can assign feedbacks");
         }
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
+        checkDepartment(admin, feedback);
         User officer = userRepository.findById(officerId).orElseThrow();
         if (officer.getRole() != Role.OFFICER) {
             throw new IllegalArgumentException("Assignee must be an OFFICER");
         }
+        if (officer.getDepartment() != null && !officer.getDepartment().equals(feedback.getDepartment())) {
+            throw new IllegalArgumentException("Officer belongs to department " + officer.getDepartment());
+        }
         feedback.setAssignedOfficer(officer);
         // Set status to IN_PROGRESS if it's SUBMITTED or ESCALATED
         if (feedback.getStatus() == FeedbackStatus.SUBMITTED || feedback.getStatus() == FeedbackStatus.ESCALATED) {
             feedback.setStatus(FeedbackStatus.IN_PROGRESS);
         }
-        return feedbackRepository.save(feedback);
+        return saveAndPublish(before, feedback);
     }
 
+    @Transactional
     public Feedback assignDeadline(User admin, Long feedbackId, String deadlineStr) {
         if (admin.getRole() != Role.ADMIN) {
             throw new IllegalStateException("Only admin can assign deadlines");
         }
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
+        checkDepartment(admin, feedback);
         if (feedback.getSubmissionType() != SubmissionType.GRIEVANCE) {
             throw new IllegalArgumentException("Deadlines can only be assigned to grievances");
         }
@@ -143,11 +336,13 @@ public class FeedbackService {
             throw new IllegalArgumentException("Invalid deadline format: " + e.getMessage());
         }
         feedback.setDeadline(deadline);
-        return feedbackRepository.save(feedback);
+        return saveAndPublish(before, feedback);
     }
 
+    @Transactional
     public Feedback escalateToAdmin(User citizen, Long feedbackId) {
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
         // Verify it belongs to the citizen
         if (!feedback.getCitizen().getId().equals(citizen.getId())) {
             throw new IllegalStateException("Not authorized to escalate this feedback");
@@ -169,11 +364,13 @@ public class FeedbackService {
         feedback.setEscalationLevel(feedback.getEscalationLevel() + 1);
         // Unassign officer so admin can reassign
         feedback.setAssignedOfficer(null);
-        return feedbackRepository.save(feedback);
+        return saveAndPublish(before, feedback);
     }
 
+    @Transactional
     public Feedback withdraw(User citizen, Long feedbackId) {
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
         // Verify it belongs to the citizen
         if (!feedback.getCitizen().getId().equals(citizen.getId())) {
             throw new IllegalStateException("Not authorized to withdraw this feedback");
@@ -183,11 +380,14 @@ public class FeedbackService {
             throw new IllegalStateException("Can only withdraw feedback with SUBMITTED status");
         }
         feedback.setStatus(FeedbackStatus.WITHDRAWN);
-        return feedbackRepository.save(feedback);
+        return saveAndPublish(before, feedback);
     }
 
+    @Transactional
     public void deleteFeedback(User actor, Long feedbackId) {
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
+        checkDepartment(actor, feedback);
         // Officers can only delete feedbacks assigned to them
         if (actor.getRole() == Role.OFFICER) {
             if (feedback.getAssignedOfficer() == null || !feedback.getAssignedOfficer().getId().equals(actor.getId())) {
@@ -197,33 +397,47 @@ public class FeedbackService {
         // Admin can delete any feedback
         // Officers can delete assigned feedbacks
         feedbackRepository.delete(feedback);
+        events.publishEvent(new FeedbackChangedEvent(before, null));
     }
 
+    @Transactional
     public Feedback sendAdminMessage(User admin, Long feedbackId, String message) {
         if (admin.getRole() != Role.ADMIN) {
             throw new IllegalStateException("Only admin can send messages");
         }
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
+        checkDepartment(admin, feedback);
         // Only allow sending message to escalated feedbacks
         if (feedback.getStatus() != FeedbackStatus.ESCALATED) {
             throw new IllegalStateException("Can only send message for escalated feedbacks");
         }
         feedback.setAdminMessage(message);
-        return feedbackRepository.save(feedback);
+        return saveAndPublish(before, feedback);
     }
 
     public record Counts(long unresolved, long assigned, long rejected, long total) {}
 
+    // Includes archived rows; archived rows are always closed, so never unresolved
     public Counts adminCounts() {
-        long total = feedbackRepository.count();
-        long rejected = feedbackRepository.countByStatus(FeedbackStatus.REJECTED);
-        long assigned = feedbackRepository.countByAssignedOfficerNotNull();
-        long unresolved = feedbackRepository.countByStatuses(java.util.List.of(FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS));
+        return adminCounts(shardResolver.shards());
+    }
+
+    public Counts adminCounts(List<String> departments) {
+        long total = 0, rejected = 0, assigned = 0, unresolved = 0;
+        for (Object[] row : groupedCounts(departments)) {
+            FeedbackStatus status = (FeedbackStatus) row[0];
+            long count = ((Number) row[3]).longValue();
+            total += count;
+            assigned += ((Number) row[4]).longValue();
+            if (status == FeedbackStatus.REJECTED) rejected += count;
+            if (status == FeedbackStatus.SUBMITTED || status == FeedbackStatus.IN_PROGRESS) unresolved += count;
+        }
         return new Counts(unresolved, assigned, rejected, total);
     }
 
     public Counts officerCounts(User officer) {
-        long total = feedbackRepository.findByAssignedOfficer(officer).size();
+        long total = feedbackRepository.countByAssignedOfficer(officer);
         long rejected = feedbackRepository.countByAssignedOfficerAndStatus(officer, FeedbackStatus.REJECTED);
         long assigned = total; // by definition for officer scope
         long unresolved = feedbackRepository.countByOfficerAndStatuses(officer, java.util.List.of(FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS));
@@ -231,36 +445,57 @@ public class FeedbackService {
     }
 
     public FeedbackDtos.StatisticsResponse getAdminStatistics() {
-        List<Feedback> all = feedbackRepository.findAll();
-        
-        long totalGrievances = all.stream().filter(f -> f.getSubmissionType() == SubmissionType.GRIEVANCE).count();
-        long totalFeedbacks = all.stream().filter(f -> f.getSubmissionType() == SubmissionType.FEEDBACK).count();
-        long submitted = all.stream().filter(f -> f.getStatus() == FeedbackStatus.SUBMITTED).count();
-        long inProgress = all.stream().filter(f -> f.getStatus() == FeedbackStatus.IN_PROGRESS).count();
-        long resolved = all.stream().filter(f -> f.getStatus() == FeedbackStatus.RESOLVED).count();
-        long rejected = all.stream().filter(f -> f.getStatus() == FeedbackStatus.REJECTED).count();
-        long escalated = all.stream().filter(f -> f.getStatus() == FeedbackStatus.ESCALATED).count();
-        
+        return getAdminStatistics(shardResolver.shards());
+    }
+
+    // Built from grouped counts of live and archived rows, one department per query, so
+    // nothing is loaded row by row
+    public FeedbackDtos.StatisticsResponse getAdminStatistics(List<String> departments) {
+        long totalGrievances = 0, totalFeedbacks = 0;
         Map<String, Long> statusDistribution = new HashMap<>();
-        for (FeedbackStatus status : FeedbackStatus.values()) {
-            statusDistribution.put(status.name(), all.stream().filter(f -> f.getStatus() == status).count());
-        }
-        
+        for (FeedbackStatus status : FeedbackStatus.values()) statusDistribution.put(status.name(), 0L);
         Map<String, Long> typeDistribution = new HashMap<>();
-        for (FeedbackType type : FeedbackType.values()) {
-            typeDistribution.put(type.name(), all.stream().filter(f -> f.getType() == type).count());
+        for (FeedbackType type : FeedbackType.values()) typeDistribution.put(type.name(), 0L);
+
+        for (Object[] row : groupedCounts(departments)) {
+            FeedbackStatus status = (FeedbackStatus) row[0];
+            FeedbackType type = (FeedbackType) row[1];
+            SubmissionType submissionType = (SubmissionType) row[2];
+            long count = ((Number) row[3]).longValue();
+            if (submissionType == SubmissionType.GRIEVANCE) totalGrievances += count;
+            if (submissionType == SubmissionType.FEEDBACK) totalFeedbacks += count;
+            statusDistribution.merge(status.name(), count, Long::sum);
+            if (type != null) typeDistribution.merge(type.name(), count, Long::sum);
         }
-        
+
         Map<String, Long> submissionTypeDistribution = new HashMap<>();
         submissionTypeDistribution.put("GRIEVANCE", totalGrievances);
         submissionTypeDistribution.put("FEEDBACK", totalFeedbacks);
-        
+
         return new FeedbackDtos.StatisticsResponse(
-            totalGrievances, totalFeedbacks, submitted, inProgress, resolved, rejected, escalated,
+            totalGrievances, totalFeedbacks,
+            statusDistribution.get(FeedbackStatus.SUBMITTED.name()),
+            statusDistribution.get(FeedbackStatus.IN_PROGRESS.name()),
+            statusDistribution.get(FeedbackStatus.RESOLVED.name()),
+            statusDistribution.get(FeedbackStatus.REJECTED.name()),
+            statusDistribution.get(FeedbackStatus.ESCALATED.name()),
             statusDistribution, typeDistribution, submissionTypeDistribution
         );
     }
 
+    // status, type, submissionType, count, assigned rows for live and archived items of
+    // each department, read in parallel. Archived rows are all closed, so merging them
+    // by status gives the same totals as counting the two tables apart.
+    private List<Object[]> groupedCounts(List<String> departments) {
+        List<Object[]> rows = new ArrayList<>();
+        shardExecutor.map(departments, department -> {
+            List<Object[]> r = new ArrayList<>(feedbackRepository.countGroupedByDepartment(department));
+            r.addAll(archivedRepository.countGroupedByDepartment(department));
+            return r;
+        }).values().forEach(rows::addAll);
+        return rows;
+    }
+
     public FeedbackDtos.StatisticsResponse getOfficerStatistics(User officer) {
         List<Feedback> assigned = feedbackRepository.findByAssignedOfficer(officer);
         
@@ -292,8 +527,10 @@ public class FeedbackService {
         );
     }
 
+    @Transactional
     public Feedback submitRating(User citizen, Long feedbackId, FeedbackDtos.RatingRequest req) {
         Feedback feedback = feedbackRepository.findById(feedbackId).orElseThrow();
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
         // Verify it belongs to the citizen
         if (!feedback.getCitizen().getId().equals(citizen.getId())) {
             throw new IllegalStateException("Not authorized to rate this feedback");
@@ -308,7 +545,7 @@ public class FeedbackService {
         }
         feedback.setRating(req.rating());
         feedback.setRatingComment(req.comment());
-        return feedbackRepository.save(feedback);
+        return saveAndPublish(before, feedback);
     }
 
     public FeedbackDtos.OfficerRatingResponse getOfficerRating(String officerEmail) {
@@ -320,17 +557,20 @@ public class FeedbackService {
         List<Feedback> ratedFeedbacks = resolvedFeedbacks.stream()
                 .filter(f -> f.getRating() != null)
                 .collect(Collectors.toList());
+        long ratingSum = ratedFeedbacks.stream().mapToLong(Feedback::getRating).sum();
+        long ratingCount = ratedFeedbacks.size();
+        for (Object[] row : archivedRepository.ratingTotalsForOfficer(officer.getId())) {
+            if (row[0] != null) ratingSum += ((Number) row[0]).longValue();
+            ratingCount += ((Number) row[1]).longValue();
+        }
         
-        if (ratedFeedbacks.isEmpty()) {
+        if (ratingCount == 0) {
             return new FeedbackDtos.OfficerRatingResponse(officerEmail, null, 0L);
         }
         
-        double averageRating = ratedFeedbacks.stream()
-                .mapToInt(Feedback::getRating)
-                .average()
-                .orElse(0.0);
+        double averageRating = (double) ratingSum / ratingCount;
         
-        return new FeedbackDtos.OfficerRatingResponse(officerEmail, averageRating, (long) ratedFeedbacks.size());
+        return new FeedbackDtos.OfficerRatingResponse(officerEmail, averageRating, ratingCount);
     }
 }
 
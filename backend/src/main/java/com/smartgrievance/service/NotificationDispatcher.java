@@ -0,0 +1,204 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.model.NotificationKind;
+import com.smartgrievance.model.OutboxStatus;
+import com.smartgrievance.notification.Notification;
+import com.smartgrievance.notification.NotificationChannel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Delivers notification_outbox rows. Each round claims up to batch-size due rows with
+// a single UPDATE ... LIMIT that stamps them with a fresh claim token, so several
+// instances can poll the same table without sending a row twice. Claimed rows are
+// grouped per citizen into one message; a failed send puts the whole group back with
+// exponential backoff until max-attempts, after which the rows are left as FAILED.
+// Claims older than lease-ms (an instance died mid-send) are released on every poll.
+@Service
+public class NotificationDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String RELEASE_EXPIRED = "UPDATE notification_outbox SET status = 'PENDING', claim_token = NULL "
+            + "WHERE status = 'PROCESSING' AND claimed_at < :cutoff";
+    private static final String CLAIM = "UPDATE notification_outbox SET status = 'PROCESSING', claim_token = :token, claimed_at = :now "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= :now ORDER BY id LIMIT :limit";
+    private static final String LOAD_CLAIMED = "SELECT o.id, o.citizen_id, o.feedback_id, o.kind, o.detail, o.attempts, "
+            + "u.email, u.name, f.title "
+            + "FROM notification_outbox o LEFT JOIN users u ON u.id = o.citizen_id LEFT JOIN feedback f ON f.id = o.feedback_id "
+            + "WHERE o.claim_token = :token ORDER BY o.id";
+    private static final String MARK_SENT = "UPDATE notification_outbox SET status = 'SENT', sent_at = :now, claim_token = NULL "
+            + "WHERE id IN (:ids)";
+    // status is assigned before attempts: MySQL evaluates SET clauses left to right
+    private static final String MARK_FAILED = "UPDATE notification_outbox SET "
+            + "status = CASE WHEN attempts + 1 >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END, "
+            + "next_attempt_at = :next, last_error = :error, claim_token = NULL, attempts = attempts + 1 "
+            + "WHERE id IN (:ids)";
+    private static final String DELETE_SENT = "DELETE FROM notification_outbox WHERE status = 'SENT' AND sent_at < :cutoff";
+
+    private record Claimed(long id, long citizenId, Long feedbackId, NotificationKind kind, String detail, int attempts,
+                           String email, String name, String title) {}
+
+    private record Key(Long feedbackId, NotificationKind kind) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NotificationChannel channel;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long leaseMs;
+    private final int retentionDays;
+    private final Counter sent;
+    private final Counter failed;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NotificationDispatcher(NamedParameterJdbcTemplate jdbc,
+                                  NotificationChannel channel,
+                                  MeterRegistry registry,
+                                  @Value("${app.notifications.enabled:true}") boolean enabled,
+                                  @Value("${app.notifications.batch-size:200}") int batchSize,
+                                  @Value("${app.notifications.max-batches-per-poll:10}") int maxBatchesPerPoll,
+                                  @Value("${app.notifications.max-attempts:8}") int maxAttempts,
+                                  @Value("${app.notifications.backoff-base-ms:30000}") long backoffBaseMs,
+                                  @Value("${app.notifications.backoff-max-ms:3600000}") long backoffMaxMs,
+                                  @Value("${app.notifications.lease-ms:300000}") long leaseMs,
+                                  @Value("${app.notifications.retention-days:7}") int retentionDays) {
+        this.jdbc = jdbc;
+        this.channel = channel;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.leaseMs = leaseMs;
+        this.retentionDays = retentionDays;
+        this.sent = Counter.builder("grievance.notifications.sent").tag("channel", channel.name()).register(registry);
+        this.failed = Counter.builder("grievance.notifications.failed").tag("channel", channel.name()).register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.poll-interval-ms:5000}", initialDelayString = "${app.notifications.poll-interval-ms:5000}")
+    public void poll() {
+        if (enabled) dispatch();
+    }
+
+    // Returns the number of outbox rows handled (sent or rescheduled) in this poll.
+    public int dispatch() {
+        if (!running.compareAndSet(false, true)) return 0;
+        try {
+            Instant now = Instant.now();
+            int released = jdbc.update(RELEASE_EXPIRED, new MapSqlParameterSource("cutoff", utc(now.minusMillis(leaseMs))));
+            if (released > 0) log.warn("Released {} notification claims older than {} ms", released, leaseMs);
+            int handled = 0;
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                int n = dispatchBatch();
+                handled += n;
+                if (n < batchSize) break;
+            }
+            return handled;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int dispatchBatch() {
+        String token = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        int claimed = jdbc.update(CLAIM, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("now", utc(now))
+                .addValue("limit", batchSize));
+        if (claimed == 0) return 0;
+        List<Claimed> rows = jdbc.query(LOAD_CLAIMED, new MapSqlParameterSource("token", token), (rs, i) -> new Claimed(
+                rs.getLong("id"),
+                rs.getLong("citizen_id"),
+                (Long) rs.getObject("feedback_id", Long.class),
+                NotificationKind.valueOf(rs.getString("kind")),
+                rs.getString("detail"),
+                rs.getInt("attempts"),
+                rs.getString("email"),
+                rs.getString("name"),
+                rs.getString("title")));
+        Map<Long, List<Claimed>> byCitizen = new LinkedHashMap<>();
+        for (Claimed c : rows) byCitizen.computeIfAbsent(c.citizenId(), k -> new ArrayList<>()).add(c);
+        for (List<Claimed> group : byCitizen.values()) deliver(group);
+        return rows.size();
+    }
+
+    private void deliver(List<Claimed> group) {
+        List<Long> ids = group.stream().map(Claimed::id).toList();
+        Claimed first = group.get(0);
+        if (first.email() == null) {
+            // the account is gone; nothing to retry
+            markFailed(ids, maxAttempts, "Recipient no longer exists");
+            return;
+        }
+        // Several events of the same kind on one submission collapse into the latest
+        Map<Key, Notification.Item> items = new LinkedHashMap<>();
+        int attempts = 0;
+        for (Claimed c : group) {
+            Key key = new Key(c.feedbackId(), c.kind());
+            items.remove(key);
+            items.put(key, new Notification.Item(c.feedbackId(), c.title(), c.kind(), c.detail()));
+            attempts = Math.max(attempts, c.attempts());
+        }
+        try {
+            channel.send(new Notification(first.email(), first.name(), List.copyOf(items.values())));
+            jdbc.update(MARK_SENT, new MapSqlParameterSource()
+                    .addValue("now", utc(Instant.now()))
+                    .addValue("ids", ids));
+            sent.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Notification to citizen {} failed (attempt {}): {}", first.citizenId(), attempts + 1, e.toString());
+            markFailed(ids, attempts, e.getMessage());
+        }
+    }
+
+    private void markFailed(List<Long> ids, int attempts, String error) {
+        jdbc.update(MARK_FAILED, new MapSqlParameterSource()
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("next", utc(Instant.now().plusMillis(backoff(attempts))))
+                .addValue("error", error == null ? null : error.substring(0, Math.min(error.length(), 500)))
+                .addValue("ids", ids));
+    }
+
+    // base * 2^attempts, capped, with +-20% jitter so failed groups do not retry in lockstep
+    private long backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(attempts, 20);
+        delay = Math.min(delay <= 0 ? backoffMaxMs : delay, backoffMaxMs);
+        return (long) (delay * (0.8 + ThreadLocalRandom.current().nextDouble() * 0.4));
+    }
+
+    @Scheduled(cron = "${app.notifications.cleanup-cron:0 45 3 * * *}")
+    public void purgeSent() {
+        int deleted = jdbc.update(DELETE_SENT, new MapSqlParameterSource(
+                "cutoff", utc(Instant.now().minus(Duration.ofDays(retentionDays)))));
+        if (deleted > 0) log.info("Purged {} delivered notifications", deleted);
+    }
+
+    // Instants are stored as UTC wall-clock time, the same way Hibernate binds them
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
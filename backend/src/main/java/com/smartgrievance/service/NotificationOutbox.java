@@ -0,0 +1,63 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.NotificationKind;
+import com.smartgrievance.model.OutboxEvent;
+import com.smartgrievance.repository.OutboxEventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Turns changes made to a citizen's grievance by staff (status updates, officer
+// assignment, deadlines, admin messages) into outbox rows. Runs synchronously inside
+// the FeedbackService transaction, so a row exists exactly when the change commits.
+@Service
+public class NotificationOutbox {
+    private static final int MAX_DETAIL = 1000;
+
+    private final OutboxEventRepository outboxRepository;
+
+    public NotificationOutbox(OutboxEventRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @EventListener
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (event.created() || event.deleted()) return;
+        FeedbackSnapshot before = event.before();
+        FeedbackSnapshot after = event.after();
+        if (after.citizenId() == null) return;
+        List<OutboxEvent> rows = new ArrayList<>(2);
+        // Withdrawal and escalation are the citizen's own actions
+        boolean citizenAction = after.status() == FeedbackStatus.WITHDRAWN
+                || after.escalationLevel() > before.escalationLevel();
+        if (event.statusChanged() && !citizenAction) {
+            rows.add(row(after, NotificationKind.STATUS_CHANGED,
+                    "Status changed from " + before.status() + " to " + after.status()));
+        }
+        if (after.officerId() != null && !after.officerId().equals(before.officerId())) {
+            rows.add(row(after, NotificationKind.OFFICER_ASSIGNED, "An officer has been assigned"));
+        }
+        if (after.deadline() != null && !after.deadline().equals(before.deadline())) {
+            rows.add(row(after, NotificationKind.DEADLINE_SET, "Resolution deadline set to " + after.deadline()));
+        }
+        if (after.adminMessage() != null && !Objects.equals(after.adminMessage(), before.adminMessage())) {
+            rows.add(row(after, NotificationKind.ADMIN_MESSAGE, "Message from the administrator: " + after.adminMessage()));
+        }
+        if (!rows.isEmpty()) outboxRepository.saveAll(rows);
+    }
+
+    private static OutboxEvent row(FeedbackSnapshot s, NotificationKind kind, String detail) {
+        OutboxEvent e = new OutboxEvent();
+        e.setCitizenId(s.citizenId());
+        e.setFeedbackId(s.id());
+        e.setKind(kind);
+        e.setDetail(detail.length() > MAX_DETAIL ? detail.substring(0, MAX_DETAIL - 3) + "..." : detail);
+        return e;
+    }
+}
@@ -0,0 +1,300 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.ArchivedFeedbackRepository;
+import com.smartgrievance.repository.FeedbackRepository;
+import com.smartgrievance.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Live view of officer workload used to place new grievances. For every department and
+// FeedbackType there is a TreeSet of officers ordered by a score for that type (open
+// workload, experience with the type, average rating), so picking the best officer is
+// O(log officers) and every workload change is a remove + re-insert per type. Officers
+// without a department are ranked separately and can take items from any department.
+// Counts are rebuilt from the database at startup and periodically, and kept
+// current in between from committed FeedbackChangedEvents.
+@Service
+public class OfficerAssignmentEngine {
+    private static final Logger log = LoggerFactory.getLogger(OfficerAssignmentEngine.class);
+    private static final FeedbackType[] TYPES = FeedbackType.values();
+    private static final String ANY_DEPARTMENT = "";
+
+    public record OfficerWorkload(Long officerId, String name, String email, int openWorkload, int resolved, Double averageRating) {}
+
+    public record Placement(Long feedbackId, Long officerId, String officerEmail) {}
+
+    private static final class OfficerLoad {
+        final Long id;
+        String department = ANY_DEPARTMENT;
+        String name;
+        String email;
+        int open;
+        final int[] resolvedByType = new int[TYPES.length];
+        long ratingSum;
+        long ratingCount;
+        final double[] score = new double[TYPES.length];
+
+        OfficerLoad(Long id) { this.id = id; }
+
+        Double averageRating() { return ratingCount == 0 ? null : (double) ratingSum / ratingCount; }
+    }
+
+    private final FeedbackRepository feedbackRepository;
+    private final ArchivedFeedbackRepository archivedRepository;
+    private final UserRepository userRepository;
+    private final double loadWeight;
+    private final double affinityWeight;
+    private final double ratingWeight;
+
+    private final Map<Long, OfficerLoad> officers = new HashMap<>();
+    private final Map<String, Map<FeedbackType, TreeSet<OfficerLoad>>> rankings = new HashMap<>();
+    // feedback ids already counted by reserve(); their creation event must not count them again
+    private final Set<Long> reserved = ConcurrentHashMap.newKeySet();
+
+    public OfficerAssignmentEngine(FeedbackRepository feedbackRepository,
+                                   ArchivedFeedbackRepository archivedRepository,
+                                   UserRepository userRepository,
+                                   @Value("${app.assignment.weight.load:1.0}") double loadWeight,
+                                   @Value("${app.assignment.weight.affinity:0.5}") double affinityWeight,
+                                   @Value("${app.assignment.weight.rating:0.25}") double ratingWeight) {
+        this.feedbackRepository = feedbackRepository;
+        this.archivedRepository = archivedRepository;
+        this.userRepository = userRepository;
+        this.loadWeight = loadWeight;
+        this.affinityWeight = affinityWeight;
+        this.ratingWeight = ratingWeight;
+    }
+
+    private static Comparator<OfficerLoad> byScore(FeedbackType type) {
+        int t = type.ordinal();
+        return Comparator.<OfficerLoad>comparingDouble(o -> o.score[t]).thenComparing(o -> o.id);
+    }
+
+    private TreeSet<OfficerLoad> ranking(String department, FeedbackType type) {
+        return rankings.computeIfAbsent(department, d -> {
+            Map<FeedbackType, TreeSet<OfficerLoad>> byType = new EnumMap<>(FeedbackType.class);
+            for (FeedbackType t : TYPES) byType.put(t, new TreeSet<>(byScore(t)));
+            return byType;
+        }).get(type);
+    }
+
+    private static String departmentKey(String department) {
+        return department == null ? ANY_DEPARTMENT : department;
+    }
+
+    static boolean isOpen(FeedbackStatus status) {
+        return status == FeedbackStatus.SUBMITTED || status == FeedbackStatus.IN_PROGRESS;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.assignment.rebuild-interval-ms:600000}", initialDelayString = "${app.assignment.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        Map<Long, OfficerLoad> fresh = new HashMap<>();
+        for (User u : userRepository.findByRole(Role.OFFICER)) {
+            OfficerLoad o = new OfficerLoad(u.getId());
+            o.name = u.getName();
+            o.email = u.getEmail();
+            o.department = departmentKey(u.getDepartment());
+            fresh.put(u.getId(), o);
+        }
+        // officerId, type, status, count, ratingSum, ratingCount; archived rows still count
+        // towards experience and rating
+        List<Object[]> rows = new ArrayList<>(feedbackRepository.aggregateByOfficerTypeAndStatus());
+        rows.addAll(archivedRepository.aggregateByOfficerTypeAndStatus());
+        for (Object[] row : rows) {
+            OfficerLoad o = fresh.get((Long) row[0]);
+            if (o == null) continue;
+            FeedbackType type = row[1] == null ? FeedbackType.OTHERS : (FeedbackType) row[1];
+            FeedbackStatus status = (FeedbackStatus) row[2];
+            int count = ((Number) row[3]).intValue();
+            if (isOpen(status)) o.open += count;
+            if (status == FeedbackStatus.RESOLVED) o.resolvedByType[type.ordinal()] += count;
+            if (row[4] != null) o.ratingSum += ((Number) row[4]).longValue();
+            o.ratingCount += ((Number) row[5]).longValue();
+        }
+        synchronized (this) {
+            officers.clear();
+            rankings.clear();
+            reserved.clear();
+            fresh.values().forEach(this::insert);
+        }
+        log.info("Assignment engine rebuilt with {} officers", fresh.size());
+    }
+
+    // Best officer for a new item of this department and type, or empty when there are no officers.
+    public synchronized Optional<Long> pick(String department, FeedbackType type) {
+        OfficerLoad best = best(department, type);
+        return best == null ? Optional.empty() : Optional.of(best.id);
+    }
+
+    // The department's best officer or the best unscoped one, whichever scores lower
+    private OfficerLoad best(String department, FeedbackType type) {
+        FeedbackType t = type == null ? FeedbackType.OTHERS : type;
+        TreeSet<OfficerLoad> own = department == null ? null : ranking(department, t);
+        TreeSet<OfficerLoad> any = ranking(ANY_DEPARTMENT, t);
+        OfficerLoad a = own == null || own.isEmpty() ? null : own.first();
+        OfficerLoad b = any.isEmpty() ? null : any.first();
+        if (a == null) return b;
+        if (b == null) return a;
+        return byScore(t).compare(a, b) <= 0 ? a : b;
+    }
+
+    // Counts an assignment made at submit time straight away, before its transaction
+    // commits, so a burst of submissions spreads across officers.
+    public synchronized void reserve(Long feedbackId, Long officerId) {
+        OfficerLoad o = officers.get(officerId);
+        if (o == null) return;
+        update(o, () -> o.open++);
+        reserved.add(feedbackId);
+    }
+
+    // Proposes an officer for each item without changing any counts: every placement
+    // is applied tentatively so later items in the batch see it, then rolled back.
+    public synchronized List<Placement> suggest(List<FeedbackSnapshot> items) {
+        List<Placement> out = new ArrayList<>(items.size());
+        List<OfficerLoad> touched = new ArrayList<>(items.size());
+        for (FeedbackSnapshot item : items) {
+            OfficerLoad best = best(item.department(), item.type());
+            if (best == null) {
+                out.add(new Placement(item.id(), null, null));
+                continue;
+            }
+            update(best, () -> best.open++);
+            touched.add(best);
+            out.add(new Placement(item.id(), best.id, best.email));
+        }
+        for (OfficerLoad o : touched) update(o, () -> o.open--);
+        return out;
+    }
+
+    // Officers of the given departments, plus those without one since they take items
+    // from every department
+    public synchronized List<OfficerWorkload> workload(Collection<String> departments) {
+        List<OfficerWorkload> out = new ArrayList<>(officers.size());
+        for (OfficerLoad o : officers.values()) {
+            if (!o.department.equals(ANY_DEPARTMENT) && !departments.contains(o.department)) continue;
+            int resolved = 0;
+            for (int r : o.resolvedByType) resolved += r;
+            out.add(new OfficerWorkload(o.id, o.name, o.email, o.open, resolved, o.averageRating()));
+        }
+        out.sort(Comparator.comparingInt(OfficerWorkload::openWorkload).thenComparing(OfficerWorkload::officerId));
+        return out;
+    }
+
+    // Called when an account is created or edited: officers join (or stay in) the
+    // rankings, anyone whose role is no longer OFFICER leaves them.
+    public synchronized void syncOfficer(User user) {
+        OfficerLoad existing = officers.get(user.getId());
+        if (user.getRole() != Role.OFFICER) {
+            if (existing != null) remove(existing);
+            return;
+        }
+        String department = departmentKey(user.getDepartment());
+        if (existing != null && !existing.department.equals(department)) {
+            // moving between departments changes which rankings the officer is in
+            remove(existing);
+            existing.department = department;
+            insert(existing);
+        }
+        if (existing == null) {
+            existing = new OfficerLoad(user.getId());
+            existing.department = department;
+            insert(existing);
+        }
+        existing.name = user.getName();
+        existing.email = user.getEmail();
+    }
+
+    public synchronized void removeOfficer(Long officerId) {
+        OfficerLoad existing = officers.get(officerId);
+        if (existing != null) remove(existing);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFeedbackChanged(FeedbackChangedEvent event) {
+        FeedbackSnapshot before = event.before();
+        FeedbackSnapshot after = event.after();
+        if (event.created() && reserved.remove(after.id())) return;
+        if (before != null) apply(before, -1);
+        if (after != null) apply(after, +1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public synchronized void onFeedbackRolledBack(FeedbackChangedEvent event) {
+        if (event.created() && reserved.remove(event.after().id())) {
+            OfficerLoad o = officers.get(event.after().officerId());
+            if (o != null) update(o, () -> o.open--);
+        }
+    }
+
+    // Adds (sign = +1) or removes (sign = -1) one item's contribution to its officer.
+    private void apply(FeedbackSnapshot s, int sign) {
+        if (s.officerId() == null) return;
+        OfficerLoad o = officers.get(s.officerId());
+        if (o == null) return;
+        int t = (s.type() == null ? FeedbackType.OTHERS : s.type()).ordinal();
+        update(o, () -> {
+            if (isOpen(s.status())) o.open += sign;
+            if (s.status() == FeedbackStatus.RESOLVED) o.resolvedByType[t] += sign;
+            if (s.rating() != null) {
+                o.ratingSum += (long) sign * s.rating();
+                o.ratingCount += sign;
+            }
+        });
+    }
+
+    private void update(OfficerLoad o, Runnable change) {
+        for (FeedbackType type : TYPES) ranking(o.department, type).remove(o);
+        change.run();
+        rescore(o);
+        for (FeedbackType type : TYPES) ranking(o.department, type).add(o);
+    }
+
+    private void insert(OfficerLoad o) {
+        rescore(o);
+        officers.put(o.id, o);
+        for (FeedbackType type : TYPES) ranking(o.department, type).add(o);
+    }
+
+    private void remove(OfficerLoad o) {
+        for (FeedbackType type : TYPES) ranking(o.department, type).remove(o);
+        officers.remove(o.id);
+    }
+
+    // Lower is better. Affinity is logarithmic so a long history with one type does
+    // not outweigh a large open backlog.
+    private void rescore(OfficerLoad o) {
+        Double avg = o.averageRating();
+        double rating = avg == null ? 3.0 : avg;
+        for (int t = 0; t < TYPES.length; t++) {
+            o.score[t] = loadWeight * o.open
+                    - affinityWeight * Math.log1p(o.resolvedByType[t])
+                    - ratingWeight * rating;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.repository.FeedbackRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-officer queue of open assigned items, most urgent first. Each officer has an
+// indexed binary heap (array plus id -> slot map), so adding, re-prioritising or
+// removing one item is O(log n) and the head is O(1). Urgency is folded into a
+// virtual due time that does not move as the clock runs, which keeps the heap valid
+// without periodic re-sorting: the deadline if one is set, otherwise creation time
+// plus the SLA for the submission type, brought forward by a fixed credit per
+// escalation level. Ties go to the older item. Rebuilt from the database at startup,
+// periodically and after imports, and kept current in between from committed
+// FeedbackChangedEvents. Events that arrive while a rebuild reads the database are
+// applied again to the rebuilt queues, so the swap does not lose them.
+@Service
+public class OfficerWorkQueue {
+    private static final Logger log = LoggerFactory.getLogger(OfficerWorkQueue.class);
+    private static final List<FeedbackStatus> OPEN = List.of(FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS);
+
+    public record Entry(Long feedbackId, Instant dueAt, Instant createdAt) {}
+
+    public record Page(List<Entry> entries, int total) {}
+
+    private final FeedbackRepository feedbackRepository;
+    private final Duration grievanceSla;
+    private final Duration feedbackSla;
+    private final Duration escalationCredit;
+    private final int maxWindow;
+
+    private final Map<Long, Heap> queues = new HashMap<>();
+    // one rebuild at a time; events seen during it, guarded by this
+    private final Object rebuildLock = new Object();
+    private List<FeedbackChangedEvent> duringRebuild;
+
+    public OfficerWorkQueue(FeedbackRepository feedbackRepository,
+                            @Value("${app.work-queue.sla-hours.grievance:72}") long grievanceSlaHours,
+                            @Value("${app.work-queue.sla-hours.feedback:168}") long feedbackSlaHours,
+                            @Value("${app.work-queue.escalation-credit-hours:24}") long escalationCreditHours,
+                            @Value("${app.work-queue.max-window:500}") int maxWindow) {
+        this.feedbackRepository = feedbackRepository;
+        this.grievanceSla = Duration.ofHours(grievanceSlaHours);
+        this.feedbackSla = Duration.ofHours(feedbackSlaHours);
+        this.escalationCredit = Duration.ofHours(escalationCreditHours);
+        this.maxWindow = maxWindow;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.work-queue.rebuild-interval-ms:600000}", initialDelayString = "${app.work-queue.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                duringRebuild = new ArrayList<>();
+            }
+            Map<Long, Heap> fresh = new HashMap<>();
+            int items = 0;
+            try {
+                // id, officerId, submissionType, deadline, escalationLevel, createdAt
+                for (Object[] row : feedbackRepository.findOpenAssignedForQueue(OPEN)) {
+                    Entry e = entry((Long) row[0], (SubmissionType) row[2], (LocalDateTime) row[3],
+                            ((Number) row[4]).intValue(), (Instant) row[5]);
+                    fresh.computeIfAbsent((Long) row[1], k -> new Heap()).upsert(e);
+                    items++;
+                }
+                synchronized (this) {
+                    // the read may or may not have seen these changes; applying one again is harmless
+                    for (FeedbackChangedEvent event : duringRebuild) apply(fresh, event);
+                    queues.clear();
+                    queues.putAll(fresh);
+                }
+            } finally {
+                synchronized (this) {
+                    duringRebuild = null;
+                }
+            }
+            log.info("Work queue rebuilt with {} open items for {} officers", items, fresh.size());
+        }
+    }
+
+    // Entries offset..offset+limit-1 in urgency order. Walks the heap best-first with a
+    // small frontier heap, so the cost is O((offset + limit) log) however long the queue is.
+    public synchronized Page next(Long officerId, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit >= 1");
+        }
+        if (offset + limit > maxWindow) {
+            throw new IllegalArgumentException("Only the first " + maxWindow + " items of a queue can be paged");
+        }
+        Heap heap = queues.get(officerId);
+        if (heap == null) return new Page(List.of(), 0);
+        return new Page(heap.top(offset, limit), heap.size);
+    }
+
+    public synchronized int size(Long officerId) {
+        Heap heap = queues.get(officerId);
+        return heap == null ? 0 : heap.size;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFeedbackChanged(FeedbackChangedEvent event) {
+        apply(queues, event);
+        if (duringRebuild != null) duringRebuild.add(event);
+    }
+
+    private void apply(Map<Long, Heap> target, FeedbackChangedEvent event) {
+        FeedbackSnapshot before = event.before();
+        FeedbackSnapshot after = event.after();
+        if (before != null && before.officerId() != null) {
+            Heap heap = target.get(before.officerId());
+            if (heap != null) {
+                heap.remove(before.id());
+                if (heap.size == 0) target.remove(before.officerId());
+            }
+        }
+        if (after != null && after.officerId() != null && OfficerAssignmentEngine.isOpen(after.status())) {
+            target.computeIfAbsent(after.officerId(), k -> new Heap()).upsert(entry(after.id(),
+                    after.submissionType(), after.deadline(), after.escalationLevel(), after.createdAt()));
+        }
+    }
+
+    private Entry entry(Long id, SubmissionType submissionType, LocalDateTime deadline, int escalationLevel, Instant createdAt) {
+        Instant created = createdAt != null ? createdAt : Instant.EPOCH;
+        // deadlines are local wall-clock times, as FeedbackService compares them
+        Instant due = deadline != null
+                ? deadline.atZone(ZoneId.systemDefault()).toInstant()
+                : created.plus(submissionType == SubmissionType.GRIEVANCE ? grievanceSla : feedbackSla);
+        return new Entry(id, due.minus(escalationCredit.multipliedBy(escalationLevel)), created);
+    }
+
+    static int compare(Entry a, Entry b) {
+        int c = a.dueAt().compareTo(b.dueAt());
+        if (c == 0) c = a.createdAt().compareTo(b.createdAt());
+        if (c == 0) c = a.feedbackId().compareTo(b.feedbackId());
+        return c;
+    }
+
+    // Binary min-heap with a position index so any entry can be updated or removed in place.
+    static final class Heap {
+        private Entry[] entries = new Entry[16];
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private int size;
+
+        void upsert(Entry e) {
+            Integer slot = slots.get(e.feedbackId());
+            if (slot != null) {
+                Entry old = entries[slot];
+                entries[slot] = e;
+                if (compare(e, old) < 0) up(slot); else down(slot);
+                return;
+            }
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            entries[size] = e;
+            slots.put(e.feedbackId(), size);
+            up(size++);
+        }
+
+        boolean remove(Long feedbackId) {
+            Integer slot = slots.remove(feedbackId);
+            if (slot == null) return false;
+            int last = --size;
+            if (slot != last) {
+                Entry moved = entries[last];
+                entries[slot] = moved;
+                slots.put(moved.feedbackId(), slot);
+                entries[last] = null;
+                if (slot > 0 && compare(moved, entries[(slot - 1) / 2]) < 0) up(slot); else down(slot);
+            } else {
+                entries[last] = null;
+            }
+            return true;
+        }
+
+        // Best-first walk: a frontier of slot numbers ordered by their entries; popping a
+        // slot pushes its two children, so the i-th pop is the i-th most urgent entry.
+        List<Entry> top(int offset, int limit) {
+            List<Entry> out = new ArrayList<>(Math.min(limit, size));
+            int[] frontier = new int[offset + limit + 1];
+            int n = 0;
+            if (size > 0) frontier[n++] = 0;
+            for (int rank = 0; rank < offset + limit && n > 0; rank++) {
+                int best = frontier[0];
+                frontier[0] = frontier[--n];
+                siftFrontier(frontier, n, 0);
+                if (rank >= offset) out.add(entries[best]);
+                for (int child = 2 * best + 1; child <= 2 * best + 2 && child < size; child++) {
+                    // the frontier never holds more than rank + 2 slots
+                    int i = n++;
+                    frontier[i] = child;
+                    while (i > 0 && compare(entries[frontier[i]], entries[frontier[(i - 1) / 2]]) < 0) {
+                        int p = (i - 1) / 2;
+                        int t = frontier[i]; frontier[i] = frontier[p]; frontier[p] = t;
+                        i = p;
+                    }
+                }
+            }
+            return out;
+        }
+
+        private void siftFrontier(int[] frontier, int n, int i) {
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, m = i;
+                if (l < n && compare(entries[frontier[l]], entries[frontier[m]]) < 0) m = l;
+                if (r < n && compare(entries[frontier[r]], entries[frontier[m]]) < 0) m = r;
+                if (m == i) return;
+                int t = frontier[i]; frontier[i] = frontier[m]; frontier[m] = t;
+                i = m;
+            }
+        }
+
+        private void up(int i) {
+            Entry e = entries[i];
+            while (i > 0) {
+                int p = (i - 1) / 2;
+                if (compare(e, entries[p]) >= 0) break;
+                place(entries[p], i);
+                i = p;
+            }
+            place(e, i);
+        }
+
+        private void down(int i) {
+            Entry e = entries[i];
+            while (true) {
+                int l = 2 * i + 1;
+                if (l >= size) break;
+                int c = l + 1 < size && compare(entries[l + 1], entries[l]) < 0 ? l + 1 : l;
+                if (compare(entries[c], e) >= 0) break;
+                place(entries[c], i);
+                i = c;
+            }
+            place(e, i);
+        }
+
+        private void place(Entry e, int i) {
+            entries[i] = e;
+            slots.put(e.feedbackId(), i);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.smartgrievance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.repository.FeedbackRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serves the public feed from pre-rendered JSON pages held in memory. Every committed
+// change touching a public item bumps a global version; a page rendered for an older
+// version is re-rendered on its next request, but no more often than min-refresh-ms,
+// and never kept longer than max-age-seconds (covers changes that publish no event,
+// such as a citizen being renamed). Bulk writers call invalidateAll(). Concurrent misses
+// on the same page share one render, so database load is bounded by the number of
+// distinct pages, not by traffic.
+@Service
+public class PublicFeedService {
+    public static final int MAX_PAGE_SIZE = 50;
+
+    public record Page(long version, long renderedAt, byte[] body, String etag) {}
+
+    private record Key(FeedbackType type, FeedbackStatus status, int page, int size) {}
+
+    private final FeedbackRepository feedbackRepository;
+    private final ObjectMapper objectMapper;
+    private final long minRefreshMs;
+    private final long maxAgeMs;
+    private final int maxPage;
+    private final int maxEntries;
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<Key, CompletableFuture<Page>> pages = new ConcurrentHashMap<>();
+
+    public PublicFeedService(FeedbackRepository feedbackRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${app.public-feed.min-refresh-ms:1000}") long minRefreshMs,
+                             @Value("${app.public-feed.max-age-seconds:300}") long maxAgeSeconds,
+                             @Value("${app.public-feed.max-page:200}") int maxPage,
+                             @Value("${app.public-feed.max-entries:10000}") int maxEntries) {
+        this.feedbackRepository = feedbackRepository;
+        this.objectMapper = objectMapper;
+        this.minRefreshMs = minRefreshMs;
+        this.maxAgeMs = maxAgeSeconds * 1000;
+        this.maxPage = maxPage;
+        this.maxEntries = maxEntries;
+    }
+
+    public Page page(FeedbackType type, FeedbackStatus status, int page, int size) {
+        if (page < 0 || page > maxPage) throw new IllegalArgumentException("page must be between 0 and " + maxPage);
+        if (size < 1 || size > MAX_PAGE_SIZE) throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        Key key = new Key(type, status, page, size);
+        long current = version.get();
+        long now = System.currentTimeMillis();
+        CompletableFuture<Page> cached = pages.get(key);
+        if (cached != null && !stale(cached, current, now)) return cached.join();
+
+        if (pages.size() >= maxEntries) pages.clear();
+        CompletableFuture<Page> mine = new CompletableFuture<>();
+        CompletableFuture<Page> winner = pages.compute(key, (k, old) -> old == null || stale(old, current, now) ? mine : old);
+        if (winner == mine) {
+            try {
+                mine.complete(render(key, current));
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                pages.remove(key, mine);
+                throw e;
+            }
+        }
+        return winner.join();
+    }
+
+    // In-flight renders are never stale; failed ones always are.
+    private boolean stale(CompletableFuture<Page> f, long current, long now) {
+        if (!f.isDone()) return false;
+        if (f.isCompletedExceptionally()) return true;
+        Page p = f.join();
+        long age = now - p.renderedAt();
+        return age >= maxAgeMs || (p.version() < current && age >= minRefreshMs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if ((event.before() != null && event.before().isPublic()) || (event.after() != null && event.after().isPublic())) {
+            version.incrementAndGet();
+        }
+    }
+
+    public void invalidateAll() {
+        version.incrementAndGet();
+    }
+
+    private Page render(Key key, long renderedVersion) {
+        Slice<Feedback> slice = feedbackRepository.findPublic(key.type(), key.status(), PageRequest.of(key.page(), key.size()));
+        DateTimeFormatter fmt = DateTimeFormatter.ISO_INSTANT;
+        List<FeedbackDtos.PublicItem> items = slice.getContent().stream().map(f -> new FeedbackDtos.PublicItem(
+                f.getId(),
+                f.getTitle(),
+                f.getDescription(),
+                f.getType() != null ? f.getType().name() : FeedbackType.OTHERS.name(),
+                f.getSubmissionType() != null ? f.getSubmissionType().name() : SubmissionType.FEEDBACK.name(),
+                f.getStatus().name(),
+                fmt.format(f.getCreatedAt()),
+                fmt.format(f.getUpdatedAt()),
+                f.isAnonymous() ? "Anonymous user" : f.getCitizen().getName(),
+                f.getPhotoUrl()
+        )).toList();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new FeedbackDtos.PublicPage(items, key.page(), key.size(), slice.hasNext()));
+            return new Page(renderedVersion, System.currentTimeMillis(), body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render public feed page", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.smartgrievance.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// One region of DashboardCache. Concurrent reads of a missing key share one load on the
+// first caller's thread. A value is fresh for ttl-ms; for stale-ms after that it is still
+// returned while one background load replaces it. invalidate() outdates every value, and
+// an outdated value is never returned: the next read loads again (still single-flight).
+// A load that started before an invalidation is outdated as soon as it finishes, and
+// reads after the invalidation start a new load instead of waiting for it.
+final class ReadThroughCache<K, V> {
+    private static final Logger log = LoggerFactory.getLogger(ReadThroughCache.class);
+
+    private static final class Entry<V> {
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        final long version;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile long loadedAt;
+
+        Entry(long version) {
+            this.version = version;
+        }
+    }
+
+    private final String name;
+    private final long ttlMs;
+    private final long staleMs;
+    private final int maxEntries;
+    private final Executor refresher;
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Counter hits, stale, misses, coalesced;
+
+    ReadThroughCache(String name, long ttlMs, long staleMs, int maxEntries, Executor refresher, MeterRegistry registry) {
+        this.name = name;
+        this.ttlMs = ttlMs;
+        this.staleMs = staleMs;
+        this.maxEntries = maxEntries;
+        this.refresher = refresher;
+        this.hits = counter(registry, "hit");
+        this.stale = counter(registry, "stale");
+        this.misses = counter(registry, "miss");
+        this.coalesced = counter(registry, "coalesced");
+    }
+
+    V get(K key, Supplier<V> loader) {
+        long current = version.get();
+        long now = System.currentTimeMillis();
+        Entry<V> cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.value.isDone() && cached.version >= current) {
+                coalesced.increment();
+                return join(cached);
+            }
+            if (usable(cached, current)) {
+                long age = now - cached.loadedAt;
+                if (age < ttlMs) {
+                    hits.increment();
+                    return join(cached);
+                }
+                if (age < ttlMs + staleMs) {
+                    stale.increment();
+                    refresh(key, cached, loader);
+                    return join(cached);
+                }
+            }
+        }
+
+        if (entries.size() >= maxEntries) entries.clear();
+        Entry<V> mine = new Entry<>(current);
+        Entry<V> winner = entries.compute(key, (k, old) -> old == null || expired(old, current, now) ? mine : old);
+        if (winner != mine) {
+            coalesced.increment();
+            return join(winner);
+        }
+        misses.increment();
+        try {
+            complete(mine, loader.get());
+        } catch (RuntimeException e) {
+            mine.value.completeExceptionally(e);
+            entries.remove(key, mine);
+            throw e;
+        }
+        return join(mine);
+    }
+
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private void refresh(K key, Entry<V> cached, Supplier<V> loader) {
+        if (!cached.refreshing.compareAndSet(false, true)) return;
+        Entry<V> fresh = new Entry<>(version.get());
+        try {
+            refresher.execute(() -> {
+                try {
+                    complete(fresh, loader.get());
+                    entries.replace(key, cached, fresh);
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing {} cache entry {} failed: {}", name, key, e.toString());
+                    cached.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // refresh pool saturated; a later read tries again
+            cached.refreshing.set(false);
+        }
+    }
+
+    private static <V> void complete(Entry<V> entry, V value) {
+        entry.loadedAt = System.currentTimeMillis();
+        entry.value.complete(value);
+    }
+
+    private static boolean usable(Entry<?> e, long current) {
+        return !e.value.isCompletedExceptionally() && e.version == current;
+    }
+
+    // Failed and outdated entries are always expired, in-flight ones only when outdated. An
+    // entry newer than the caller's version (invalidated since it read it) is kept.
+    private boolean expired(Entry<V> e, long current, long now) {
+        if (e.version < current || e.value.isCompletedExceptionally()) return true;
+        return e.value.isDone() && now - e.loadedAt >= ttlMs + staleMs;
+    }
+
+    private static <V> V join(Entry<V> e) {
+        try {
+            return e.value.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException r) throw r;
+            throw ex;
+        }
+    }
+
+    private Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("grievance.cache.requests").tag("cache", name).tag("result", result).register(registry);
+    }
+}
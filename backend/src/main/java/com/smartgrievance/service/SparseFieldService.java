@@ -0,0 +1,251 @@
+package com.smartgrievance.service;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.smartgrievance.dto.SparseList;
+import com.smartgrievance.model.User;
+import com.smartgrievance.shard.ShardResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Sparse fieldsets for the feedback list endpoints: ?fields=id,title,status selects
+// only the columns those fields need and writes only those keys. Each view lists the
+// fields of its full DTO (AdminItem, OfficerItem, FeedbackResponse) with the JPQL
+// columns behind them and how the DTO formats them, so a sparse row holds the same
+// values as the full one. A field set is compiled once into a select list plus
+// pre-encoded names and cached; the sets the dashboards ask for are compiled up front.
+@Service
+public class SparseFieldService {
+    public enum View { ADMIN, OFFICER, CITIZEN }
+
+    private static final int MAX_CACHED = 256;
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT;
+
+    // Field sets the admin dashboard and officer profile request, compiled at startup
+    private static final Map<View, List<String>> PRESETS = Map.of(
+            View.ADMIN, List.of("id,title,status,citizenName,citizenEmail,officerEmail", "status,officerEmail"));
+
+    // Turns the field's columns (at the given positions of a result row) into its JSON value
+    private interface Value {
+        Object of(Object[] row, int[] at);
+    }
+
+    // live columns read Feedback f (c = citizen, o = assigned officer); archived columns
+    // read ArchivedFeedback f, null when the field has no archived source
+    private record Field(String name, String[] live, String[] archived, Value value) {}
+
+    private record Projection(String liveSelect, String archivedSelect, SerializableString[] names, Value[] values, int[][] at) {
+        Object[] map(Object[] row) {
+            Object[] out = new Object[values.length];
+            for (int i = 0; i < values.length; i++) out[i] = values[i].of(row, at[i]);
+            return out;
+        }
+    }
+
+    private static final Map<View, Map<String, Field>> VIEWS = Map.of(
+            View.ADMIN, fields(
+                    same("id", "f.id", v -> v),
+                    same("title", "f.title", v -> v),
+                    same("status", "f.status", SparseFieldService::name),
+                    same("type", "f.type", SparseFieldService::name),
+                    same("submissionType", "f.submissionType", v -> v != null ? name(v) : "FEEDBACK"),
+                    same("updatedAt", "f.updatedAt", SparseFieldService::instant),
+                    citizenName(), citizenEmail(),
+                    same("anonymous", "f.isAnonymous", v -> v),
+                    liveOnly("officerEmail", "o.email"),
+                    same("deadline", "f.deadline", SparseFieldService::string),
+                    same("escalationLevel", "f.escalationLevel", v -> v),
+                    same("photoUrl", "f.photoUrl", v -> v),
+                    same("adminMessage", "f.adminMessage", v -> v),
+                    same("rating", "f.rating", v -> v),
+                    same("ratingComment", "f.ratingComment", v -> v)),
+            View.OFFICER, fields(
+                    same("id", "f.id", v -> v),
+                    same("title", "f.title", v -> v),
+                    same("status", "f.status", SparseFieldService::name),
+                    same("type", "f.type", SparseFieldService::name),
+                    same("submissionType", "f.submissionType", v -> v != null ? name(v) : "FEEDBACK"),
+                    same("updatedAt", "f.updatedAt", SparseFieldService::instant),
+                    citizenName(), citizenEmail(),
+                    same("anonymous", "f.isAnonymous", v -> v),
+                    same("deadline", "f.deadline", SparseFieldService::string),
+                    same("escalationLevel", "f.escalationLevel", v -> v),
+                    same("photoUrl", "f.photoUrl", v -> v),
+                    same("adminMessage", "f.adminMessage", v -> v),
+                    same("rating", "f.rating", v -> v),
+                    same("ratingComment", "f.ratingComment", v -> v)),
+            View.CITIZEN, fields(
+                    same("id", "f.id", v -> v),
+                    same("title", "f.title", v -> v),
+                    same("description", "f.description", v -> v),
+                    same("status", "f.status", SparseFieldService::name),
+                    same("type", "f.type", v -> v != null ? name(v) : "OTHERS"),
+                    same("submissionType", "f.submissionType", v -> v != null ? name(v) : "FEEDBACK"),
+                    same("createdAt", "f.createdAt", SparseFieldService::instant),
+                    same("lastUpdatedAt", "f.updatedAt", SparseFieldService::instant),
+                    same("deadline", "f.deadline", SparseFieldService::string),
+                    same("escalationLevel", "f.escalationLevel", v -> v),
+                    same("photoUrl", "f.photoUrl", v -> v),
+                    same("adminMessage", "f.adminMessage", v -> v),
+                    same("rating", "f.rating", v -> v),
+                    same("ratingComment", "f.ratingComment", v -> v),
+                    new Field("officerName", new String[]{"o.name"}, new String[]{"f.officerName"}, (row, at) -> row[at[0]]),
+                    new Field("officerEmail", new String[]{"o.email"}, new String[]{"f.officerEmail"}, (row, at) -> row[at[0]])));
+
+    private final EntityManager entityManager;
+    private final ShardResolver shardResolver;
+    private final Map<String, Projection> compiled = new ConcurrentHashMap<>();
+
+    public SparseFieldService(EntityManager entityManager, ShardResolver shardResolver) {
+        this.entityManager = entityManager;
+        this.shardResolver = shardResolver;
+        PRESETS.forEach((view, sets) -> sets.forEach(set -> projection(view, set)));
+    }
+
+    @Transactional(readOnly = true)
+    public SparseList admin(String fields, List<String> departments) {
+        Projection p = projection(View.ADMIN, fields);
+        boolean all = departments.containsAll(shardResolver.shards());
+        List<Object[]> rows = new ArrayList<>();
+        run(p.liveSelect() + (all ? "" : " and f.department in :departments"), all ? Map.of() : Map.of("departments", departments), p, rows);
+        return new SparseList(p.names(), rows);
+    }
+
+    @Transactional(readOnly = true)
+    public SparseList officer(String fields, User officer) {
+        Projection p = projection(View.OFFICER, fields);
+        List<Object[]> rows = new ArrayList<>();
+        run(p.liveSelect() + " and f.assignedOfficer.id = :officerId", Map.of("officerId", officer.getId()), p, rows);
+        return new SparseList(p.names(), rows);
+    }
+
+    // Archived items come after the live ones, newest first, as in FeedbackService.my
+    @Transactional(readOnly = true)
+    public SparseList citizen(String fields, User citizen, boolean includeArchived) {
+        Projection p = projection(View.CITIZEN, fields);
+        List<Object[]> rows = new ArrayList<>();
+        run(p.liveSelect() + " and f.citizen.id = :citizenId", Map.of("citizenId", citizen.getId()), p, rows);
+        if (includeArchived) {
+            run(p.archivedSelect() + " and f.citizenId = :citizenId order by f.createdAt desc", Map.of("citizenId", citizen.getId()), p, rows);
+        }
+        return new SparseList(p.names(), rows);
+    }
+
+    private void run(String jpql, Map<String, Object> params, Projection p, List<Object[]> out) {
+        Query query = entityManager.createQuery(jpql).setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.forEach(query::setParameter);
+        for (Object result : query.getResultList()) {
+            // a single select item comes back bare
+            out.add(p.map(result instanceof Object[] row ? row : new Object[]{result}));
+        }
+    }
+
+    private Projection projection(View view, String fields) {
+        List<String> names = parse(fields);
+        String key = view + ":" + String.join(",", names);
+        Projection p = compiled.get(key);
+        if (p != null) return p;
+        p = compile(view, names);
+        // arbitrary combinations are still served, just not all kept
+        if (compiled.size() < MAX_CACHED) compiled.putIfAbsent(key, p);
+        return p;
+    }
+
+    private static List<String> parse(String fields) {
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String f : fields.split(",")) {
+                if (!f.isBlank()) names.add(f.trim());
+            }
+        }
+        if (names.isEmpty()) throw new IllegalArgumentException("fields must name at least one field");
+        return List.copyOf(names);
+    }
+
+    private static Projection compile(View view, List<String> names) {
+        Map<String, Field> available = VIEWS.get(view);
+        List<String> liveColumns = new ArrayList<>();
+        List<String> archivedColumns = new ArrayList<>();
+        SerializableString[] encoded = new SerializableString[names.size()];
+        Value[] values = new Value[names.size()];
+        int[][] at = new int[names.size()][];
+        for (int i = 0; i < names.size(); i++) {
+            Field field = available.get(names.get(i));
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field '" + names.get(i) + "'; available: " + String.join(",", available.keySet()));
+            }
+            encoded[i] = new SerializedString(field.name());
+            values[i] = field.value();
+            at[i] = new int[field.live().length];
+            for (int c = 0; c < field.live().length; c++) {
+                // columns shared by several fields (the anonymity flag) are selected once
+                int idx = liveColumns.indexOf(field.live()[c]);
+                if (idx < 0) {
+                    idx = liveColumns.size();
+                    liveColumns.add(field.live()[c]);
+                    archivedColumns.add(field.archived() != null ? field.archived()[c] : "null");
+                }
+                at[i][c] = idx;
+            }
+        }
+        StringBuilder live = new StringBuilder("select ").append(String.join(", ", liveColumns)).append(" from Feedback f");
+        // joins only when a requested field reads the citizen or the officer
+        if (liveColumns.stream().anyMatch(c -> c.startsWith("c."))) live.append(" left join f.citizen c");
+        if (liveColumns.stream().anyMatch(c -> c.startsWith("o."))) live.append(" left join f.assignedOfficer o");
+        live.append(" where 1 = 1");
+        String archived = view == View.CITIZEN
+                ? "select " + String.join(", ", archivedColumns) + " from ArchivedFeedback f where 1 = 1"
+                : null;
+        return new Projection(live.toString(), archived, encoded, values, at);
+    }
+
+    private static Map<String, Field> fields(Field... fields) {
+        Map<String, Field> out = new LinkedHashMap<>();
+        for (Field f : fields) out.put(f.name(), f);
+        return out;
+    }
+
+    // One column with the same name on Feedback and ArchivedFeedback
+    private static Field same(String name, String column, Function<Object, Object> value) {
+        return new Field(name, new String[]{column}, new String[]{column}, (row, at) -> value.apply(row[at[0]]));
+    }
+
+    private static Field liveOnly(String name, String column) {
+        return new Field(name, new String[]{column}, null, (row, at) -> row[at[0]]);
+    }
+
+    private static Field citizenName() {
+        return new Field("citizenName", new String[]{"f.isAnonymous", "c.name"}, null,
+                (row, at) -> Boolean.TRUE.equals(row[at[0]]) ? "Anonymous user" : (row[at[1]] != null ? row[at[1]] : ""));
+    }
+
+    private static Field citizenEmail() {
+        return new Field("citizenEmail", new String[]{"f.isAnonymous", "c.email"}, null,
+                (row, at) -> Boolean.TRUE.equals(row[at[0]]) ? "" : (row[at[1]] != null ? row[at[1]] : ""));
+    }
+
+    private static Object name(Object v) {
+        return v != null ? ((Enum<?>) v).name() : null;
+    }
+
+    private static Object instant(Object v) {
+        return v != null ? ISO.format((Instant) v) : null;
+    }
+
+    private static Object string(Object v) {
+        return v != null ? v.toString() : null;
+    }
+}
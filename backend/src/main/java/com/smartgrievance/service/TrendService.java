@@ -0,0 +1,178 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.dto.FeedbackDtos;
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.event.FeedbackSnapshot;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.HourlyTrendRollup;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.model.TrendRollup;
+import com.smartgrievance.repository.DailyTrendRollupRepository;
+import com.smartgrievance.repository.HourlyTrendRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+@Service
+public class TrendService {
+    private static final Logger log = LoggerFactory.getLogger(TrendService.class);
+
+    public enum Granularity { HOUR, DAY }
+
+    public record Delta(Instant at, FeedbackType type, SubmissionType submissionType, String fromStatus, FeedbackStatus toStatus, long count) {}
+
+    private record Key(Instant bucket, FeedbackType type, SubmissionType submissionType, String fromStatus, FeedbackStatus toStatus) {}
+
+    private static final String UPSERT = " (bucket_start, type, submission_type, from_status, to_status, event_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE event_count = event_count + ?";
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+
+    private final HourlyTrendRollupRepository hourlyRepository;
+    private final DailyTrendRollupRepository dailyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int hourlyRetentionDays;
+
+    public TrendService(HourlyTrendRollupRepository hourlyRepository,
+                        DailyTrendRollupRepository dailyRepository,
+                        JdbcTemplate jdbcTemplate,
+                        @Value("${app.trends.hourly-retention-days:2}") int hourlyRetentionDays) {
+        this.hourlyRepository = hourlyRepository;
+        this.dailyRepository = dailyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+    }
+
+    // Runs synchronously inside the FeedbackService transaction, so the rollup
+    // increment commits or rolls back together with the change itself.
+    @EventListener
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (event.deleted()) return;
+        FeedbackSnapshot after = event.after();
+        if (event.created()) {
+            record(Instant.now(), after.type(), after.submissionType(), TrendRollup.NEW, after.status(), 1);
+        } else if (event.statusChanged()) {
+            record(Instant.now(), after.type(), after.submissionType(), event.previousStatus().name(), after.status(), 1);
+        }
+    }
+
+    public void record(Instant at, FeedbackType type, SubmissionType submissionType, String fromStatus, FeedbackStatus toStatus, long delta) {
+        hourlyRepository.increment(
+                at.truncatedTo(ChronoUnit.HOURS),
+                (type == null ? FeedbackType.OTHERS : type).name(),
+                (submissionType == null ? SubmissionType.FEEDBACK : submissionType).name(),
+                fromStatus,
+                toStatus.name(),
+                delta);
+    }
+
+    // Bulk form of record() for back-filled history such as imports. Deltas older than the
+    // hourly retention window go straight into daily buckets, where compaction would move
+    // them anyway, and each table is written with one JDBC batch.
+    public void recordBackfill(Collection<Delta> deltas) {
+        Instant cutoff = compactionCutoff();
+        Map<Key, Long> hourly = new LinkedHashMap<>();
+        Map<Key, Long> daily = new LinkedHashMap<>();
+        for (Delta d : deltas) {
+            boolean old = d.at().isBefore(cutoff);
+            Key key = new Key(d.at().truncatedTo(old ? ChronoUnit.DAYS : ChronoUnit.HOURS),
+                    d.type() == null ? FeedbackType.OTHERS : d.type(),
+                    d.submissionType() == null ? SubmissionType.FEEDBACK : d.submissionType(),
+                    d.fromStatus(), d.toStatus());
+            (old ? daily : hourly).merge(key, d.count(), Long::sum);
+        }
+        upsert("feedback_rollup_hourly", hourly);
+        upsert("feedback_rollup_daily", daily);
+    }
+
+    private void upsert(String table, Map<Key, Long> counts) {
+        if (counts.isEmpty()) return;
+        List<Map.Entry<Key, Long>> rows = new ArrayList<>(counts.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + UPSERT, rows, rows.size(), (ps, e) -> {
+            ps.setTimestamp(1, Timestamp.from(e.getKey().bucket()), UTC);
+            ps.setString(2, e.getKey().type().name());
+            ps.setString(3, e.getKey().submissionType().name());
+            ps.setString(4, e.getKey().fromStatus());
+            ps.setString(5, e.getKey().toStatus().name());
+            ps.setLong(6, e.getValue());
+            ps.setLong(7, e.getValue());
+        });
+    }
+
+    private Instant compactionCutoff() {
+        return Instant.now().truncatedTo(ChronoUnit.DAYS).minus(Duration.ofDays(hourlyRetentionDays));
+    }
+
+    // Reads rollups only. Daily buckets are the compacted daily rows plus any hourly
+    // rows that have not been compacted yet, folded into their day.
+    @Transactional(readOnly = true)
+    public List<FeedbackDtos.TrendPoint> trends(Instant from, Instant to, Granularity granularity) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Map<Key, Long> totals = new LinkedHashMap<>();
+        if (granularity == Granularity.HOUR) {
+            Instant start = from.truncatedTo(ChronoUnit.HOURS);
+            hourlyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(start, to)
+                    .forEach(r -> totals.merge(key(r, r.getBucketStart()), r.getEventCount(), Long::sum));
+        } else {
+            Instant start = from.truncatedTo(ChronoUnit.DAYS);
+            dailyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(start, to)
+                    .forEach(r -> totals.merge(key(r, r.getBucketStart()), r.getEventCount(), Long::sum));
+            hourlyRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(start, to)
+                    .forEach(r -> totals.merge(key(r, r.getBucketStart().truncatedTo(ChronoUnit.DAYS)), r.getEventCount(), Long::sum));
+        }
+        List<FeedbackDtos.TrendPoint> out = new ArrayList<>(totals.size());
+        totals.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Key, Long> e) -> e.getKey().bucket()))
+                .forEach(e -> out.add(new FeedbackDtos.TrendPoint(
+                        e.getKey().bucket().toString(),
+                        e.getKey().type().name(),
+                        e.getKey().submissionType().name(),
+                        e.getKey().fromStatus(),
+                        e.getKey().toStatus().name(),
+                        e.getValue())));
+        return out;
+    }
+
+    // Folds hourly rows older than the retention window into daily rows and deletes
+    // them in the same transaction, so a bucket is never counted twice.
+    @Scheduled(cron = "${app.trends.compaction-cron:0 15 * * * *}")
+    @Transactional
+    public void compact() {
+        Instant cutoff = compactionCutoff();
+        List<HourlyTrendRollup> expired = hourlyRepository.findByBucketStartLessThan(cutoff);
+        if (expired.isEmpty()) return;
+        Map<Key, Long> daily = new LinkedHashMap<>();
+        for (HourlyTrendRollup r : expired) {
+            daily.merge(key(r, r.getBucketStart().truncatedTo(ChronoUnit.DAYS)), r.getEventCount(), Long::sum);
+        }
+        daily.forEach((k, count) -> dailyRepository.increment(
+                k.bucket(), k.type().name(), k.submissionType().name(), k.fromStatus(), k.toStatus().name(), count));
+        hourlyRepository.deleteAllInBatch(expired);
+        log.info("Compacted {} hourly trend rows into {} daily rows", expired.size(), daily.size());
+    }
+
+    private static Key key(TrendRollup r, Instant bucket) {
+        return new Key(bucket, r.getType(), r.getSubmissionType(), r.getFromStatus(), r.getToStatus());
+    }
+}
@@ -0,0 +1,256 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.dto.UploadDtos;
+import com.smartgrievance.event.FeedbackChangedEvent;
+import com.smartgrievance.model.FeedbackAttachment;
+import com.smartgrievance.model.UploadSession;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.FeedbackAttachmentRepository;
+import com.smartgrievance.repository.UploadSessionRepository;
+import com.smartgrievance.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Resumable uploads for attachments. A citizen opens a session with the file's size
+// (and optionally its SHA-256), then sends the bytes in chunks, each tagged with its
+// offset. Chunks are written in place into a staging file with positional writes, and
+// the session's offset only moves forward once the bytes are on disk, so after a
+// dropped connection the client asks for the offset and carries on from there. On
+// completion the file is hashed while it is copied into the BlobStore. The staging
+// directory must be shared by all nodes, or uploads must be routed to one node.
+// Sessions idle for longer than session-ttl, and attachments never linked to a
+// submission, are removed by a periodic sweep.
+@Service
+public class UploadService {
+    private static final Logger log = LoggerFactory.getLogger(UploadService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository sessions;
+    private final FeedbackAttachmentRepository attachments;
+    private final BlobStore blobStore;
+    private final TransactionTemplate ownTransaction;
+    private final Path stagingDir;
+    private final long maxSize;
+    private final long maxChunkBytes;
+    private final int maxOpenSessions;
+    private final Duration sessionTtl;
+    private final Duration unlinkedTtl;
+
+    public UploadService(UploadSessionRepository sessions,
+                         FeedbackAttachmentRepository attachments,
+                         BlobStore blobStore,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.uploads.staging-dir:upload-staging}") String stagingDir,
+                         @Value("${app.uploads.max-size-mb:500}") long maxSizeMb,
+                         @Value("${app.uploads.max-chunk-mb:8}") long maxChunkMb,
+                         @Value("${app.uploads.max-open-sessions:5}") int maxOpenSessions,
+                         @Value("${app.uploads.session-ttl-hours:24}") long sessionTtlHours,
+                         @Value("${app.uploads.unlinked-ttl-hours:24}") long unlinkedTtlHours) throws IOException {
+        this.sessions = sessions;
+        this.attachments = attachments;
+        this.blobStore = blobStore;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stagingDir = Files.createDirectories(Path.of(stagingDir)).toAbsolutePath();
+        this.maxSize = maxSizeMb * 1024 * 1024;
+        this.maxChunkBytes = maxChunkMb * 1024 * 1024;
+        this.maxOpenSessions = maxOpenSessions;
+        this.sessionTtl = Duration.ofHours(sessionTtlHours);
+        this.unlinkedTtl = Duration.ofHours(unlinkedTtlHours);
+    }
+
+    public long maxChunkBytes() { return maxChunkBytes; }
+
+    public UploadSession create(User citizen, UploadDtos.CreateRequest req) {
+        if (req.size() > maxSize) {
+            throw new IllegalArgumentException("File is larger than " + maxSize / (1024 * 1024) + " MB");
+        }
+        String sha256 = req.sha256() == null || req.sha256().isBlank() ? null : req.sha256().trim().toLowerCase();
+        if (sha256 != null && !sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("sha256 must be 64 hex digits");
+        }
+        if (sessions.countByCitizenId(citizen.getId()) >= maxOpenSessions) {
+            throw new IllegalStateException("Too many uploads in progress; finish or cancel one first");
+        }
+        UploadSession s = new UploadSession();
+        s.setId(UUID.randomUUID().toString());
+        s.setCitizenId(citizen.getId());
+        s.setFilename(filename(req.filename()));
+        s.setContentType(req.contentType() == null || req.contentType().isBlank() ? "application/octet-stream" : req.contentType());
+        s.setSize(req.size());
+        s.setSha256(sha256);
+        return sessions.save(s);
+    }
+
+    public Optional<UploadSession> find(User citizen, String id) {
+        return sessions.findByIdAndCitizenId(id, citizen.getId());
+    }
+
+    public Instant expiresAt(UploadSession s) {
+        return s.getUpdatedAt().plus(sessionTtl);
+    }
+
+    // Writes length bytes from in at offset, which the caller has checked is no further
+    // than the bytes already received. Whatever arrived before a failure is kept and
+    // counted. Returns the new offset.
+    public long write(UploadSession s, long offset, InputStream in, long length) throws IOException {
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(part(s.getId()), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try {
+                while (written < length) {
+                    int n = in.read(buffer.array(), 0, (int) Math.min(BUFFER_SIZE, length - written));
+                    if (n < 0) break;
+                    buffer.clear().limit(n);
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer, offset + written);
+                    }
+                }
+            } finally {
+                if (written > 0) {
+                    channel.force(false);
+                    sessions.advance(s.getId(), offset + written, Instant.now());
+                }
+            }
+        }
+        return Math.max(s.getReceived(), offset + written);
+    }
+
+    // Moves a fully received file into the BlobStore as an unlinked attachment. The
+    // session is discarded if the data turns out to be damaged, since resuming cannot fix it.
+    public FeedbackAttachment complete(UploadSession s) throws IOException {
+        if (s.getReceived() != s.getSize()) {
+            throw new IllegalStateException("Upload is incomplete: " + s.getReceived() + " of " + s.getSize() + " bytes received");
+        }
+        Path part = part(s.getId());
+        if (!Files.isRegularFile(part) || Files.size(part) != s.getSize()) {
+            discard(s);
+            throw new IllegalArgumentException("Upload data is missing; start the upload again");
+        }
+        String key = BlobStore.newKey(s.getFilename());
+        MessageDigest sha256 = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(part), sha256)) {
+            blobStore.put(key, in, s.getSize(), s.getContentType());
+        }
+        String actual = HexFormat.of().formatHex(sha256.digest());
+        if (s.getSha256() != null && !s.getSha256().equals(actual)) {
+            blobStore.delete(key);
+            discard(s);
+            throw new IllegalArgumentException("Checksum mismatch: expected " + s.getSha256() + " but the upload hashes to " + actual);
+        }
+        FeedbackAttachment a = new FeedbackAttachment();
+        a.setOwnerId(s.getCitizenId());
+        a.setBlobKey(key);
+        a.setFilename(s.getFilename());
+        a.setContentType(s.getContentType());
+        a.setSize(s.getSize());
+        a.setSha256(actual);
+        FeedbackAttachment saved = attachments.save(a);
+        discard(s);
+        return saved;
+    }
+
+    public void discard(UploadSession s) throws IOException {
+        sessions.deleteById(s.getId());
+        Files.deleteIfExists(part(s.getId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.gc-interval-ms:3600000}", initialDelayString = "${app.uploads.gc-interval-ms:3600000}")
+    public void collectGarbage() {
+        Instant now = Instant.now();
+        int expired = 0, unlinked = 0, orphaned = 0;
+        for (UploadSession s : sessions.findByUpdatedAtBefore(now.minus(sessionTtl))) {
+            try {
+                discard(s);
+                expired++;
+            } catch (IOException e) {
+                log.warn("Could not remove expired upload {}: {}", s.getId(), e.toString());
+            }
+        }
+        for (FeedbackAttachment a : attachments.findByFeedbackIdIsNullAndCreatedAtBefore(now.minus(unlinkedTtl))) {
+            if (deleteAttachment(a)) unlinked++;
+        }
+        // staging files left behind by a crash between the row delete and the file delete
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(stagingDir, "*.part")) {
+            for (Path p : parts) {
+                String id = p.getFileName().toString().replace(".part", "");
+                if (Files.getLastModifiedTime(p).toInstant().isBefore(now.minus(sessionTtl)) && !sessions.existsById(id)) {
+                    Files.deleteIfExists(p);
+                    orphaned++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep {}: {}", stagingDir, e.toString());
+        }
+        if (expired + unlinked + orphaned > 0) {
+            log.info("Upload sweep removed {} expired sessions, {} unlinked attachments and {} orphaned staging files",
+                    expired, unlinked, orphaned);
+        }
+    }
+
+    // Attachments go with their submission when it is deleted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (event.after() != null || event.before() == null) return;
+        List<FeedbackAttachment> gone = attachments.findByFeedbackIdOrderByIdAsc(event.before().id());
+        gone.forEach(this::deleteAttachment);
+    }
+
+    // The row goes first, in a transaction of its own: after commit a joined transaction
+    // is never flushed again, and a row must not outlive its blob. A blob whose delete
+    // fails is only wasted space.
+    private boolean deleteAttachment(FeedbackAttachment a) {
+        try {
+            ownTransaction.executeWithoutResult(status -> attachments.delete(a));
+            blobStore.delete(a.getBlobKey());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not remove attachment {}: {}", a.getId(), e.toString());
+            return false;
+        }
+    }
+
+    private Path part(String id) {
+        return stagingDir.resolve(id + ".part");
+    }
+
+    // Last path segment only, at most 255 characters
+    private static String filename(String name) {
+        String base = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1).trim();
+        if (base.isEmpty()) base = "upload";
+        return base.length() > 255 ? base.substring(base.length() - 255) : base;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.smartgrievance.service;
+
+import com.smartgrievance.dto.AdminDtos;
+import com.smartgrievance.dto.AuthDtos;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.shard.ShardResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// Admin user directory. Pages are keyset-paginated on the sort column (email, or
+// name then id) and the search is a prefix of that same column, so every page is one
+// range scan of a (role, column) or (column) index and costs the same on page 1 and
+// page 10,000, however many accounts there are. The cursor is opaque to clients. An admin
+// with a department sees only users of that department; the filter is applied to the
+// rows of the same scan.
+@Service
+public class UserDirectoryService {
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public enum SortBy { EMAIL, NAME }
+
+    private final UserRepository userRepository;
+    private final ShardResolver shardResolver;
+
+    public UserDirectoryService(UserRepository userRepository, ShardResolver shardResolver) {
+        this.userRepository = userRepository;
+        this.shardResolver = shardResolver;
+    }
+
+    @Transactional(readOnly = true)
+    public AdminDtos.UserPage page(User admin, Role role, String prefix, SortBy sortBy, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String like = likePrefix(prefix);
+        String[] after = decode(cursor);
+        List<String> departments = shardResolver.visibleTo(admin);
+        boolean all = departments.containsAll(shardResolver.shards());
+        // one extra row tells whether there is a next page
+        Limit limit = Limit.of(size + 1);
+        List<User> rows = sortBy == SortBy.NAME
+                ? userRepository.pageByName(role, like, all, departments, after[0], Long.parseLong(after[1]), limit)
+                : userRepository.pageByEmail(role, like, all, departments, after[0], limit);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) rows = rows.subList(0, size);
+        String next = null;
+        if (hasNext) {
+            User last = rows.get(rows.size() - 1);
+            next = encode(sortBy == SortBy.NAME ? last.getName() : last.getEmail(), last.getId());
+        }
+        return new AdminDtos.UserPage(rows.stream()
+                .map(u -> AuthDtos.UserDto.of(u))
+                .toList(), next);
+    }
+
+    // LIKE pattern matching values that start with prefix; % and _ in the input are literal.
+    // '!' is the escape character because a backslash would need escaping again in MySQL.
+    private static String likePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) return "%";
+        return prefix.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static String encode(String value, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // {value, id} of the last row of the previous page; before the first page every row sorts after ("", 0)
+    private static String[] decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return new String[]{"", "0"};
+        try {
+            String s = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = s.indexOf(':');
+            Long.parseLong(s.substring(0, colon));
+            return new String[]{s.substring(colon + 1), s.substring(0, colon)};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.smartgrievance.shard;
+
+import com.smartgrievance.config.ShardingProperties;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// One shard per configured department. Grievance types are routed by app.sharding.routes;
+// users with a department see only that department, users without one see all of them.
+@Component
+@ConditionalOnProperty(name = "app.sharding.mode", havingValue = "department", matchIfMissing = true)
+public class DepartmentShardResolver implements ShardResolver {
+    private final List<String> departments;
+    private final Map<FeedbackType, String> routes = new EnumMap<>(FeedbackType.class);
+
+    public DepartmentShardResolver(ShardingProperties properties) {
+        this.departments = List.copyOf(properties.departments());
+        if (departments.isEmpty()) {
+            throw new IllegalStateException("app.sharding.departments must name at least one department");
+        }
+        if (properties.routes() != null) {
+            properties.routes().forEach((type, department) -> {
+                if (!departments.contains(department)) {
+                    throw new IllegalStateException("app.sharding.routes." + type + " names unknown department " + department);
+                }
+                routes.put(type, department);
+            });
+        }
+    }
+
+    @Override
+    public String name() { return "department"; }
+
+    @Override
+    public List<String> shards() { return departments; }
+
+    @Override
+    public String shardFor(FeedbackType type) {
+        return routes.getOrDefault(type == null ? FeedbackType.OTHERS : type, departments.get(0));
+    }
+
+    @Override
+    public List<String> visibleTo(User principal) {
+        String own = principal == null ? null : principal.getDepartment();
+        return own != null && departments.contains(own) ? List.of(own) : departments;
+    }
+}
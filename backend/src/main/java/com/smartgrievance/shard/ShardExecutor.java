@@ -0,0 +1,87 @@
+package com.smartgrievance.shard;
+
+import com.smartgrievance.bulkhead.TrafficClass;
+import com.smartgrievance.config.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Runs one read per department in parallel, each in its own read-only transaction, and
+// returns the results in department order for the caller to merge. A slow or busy
+// department then only delays its own part of a cross-department read instead of
+// queueing the others behind it. The pool is bounded by app.sharding.parallelism.
+@Component
+public class ShardExecutor implements DisposableBean {
+    private final ExecutorService pool;
+    private final TransactionTemplate readOnly;
+    private final int parallelism;
+    private final MeterRegistry registry;
+
+    public ShardExecutor(ShardingProperties properties, PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.parallelism = Math.max(properties.parallelism(), 1);
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "shard-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.registry = registry;
+    }
+
+    public int parallelism() { return parallelism; }
+
+    public <T> Map<String, T> map(List<String> shards, Function<String, T> read) {
+        Map<String, T> out = new LinkedHashMap<>();
+        if (shards.size() == 1) {
+            // nothing to overlap; skip the hand-off
+            String shard = shards.get(0);
+            out.put(shard, timed(shard, () -> readOnly.execute(status -> read.apply(shard))));
+            return out;
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            // in the caller's traffic class, so the reads use its connection pool
+            java.util.function.Supplier<T> task = TrafficClass.propagate(() -> timed(shard, () -> readOnly.execute(status -> read.apply(shard))));
+            futures.add(pool.submit(task::get));
+        }
+        try {
+            for (int i = 0; i < shards.size(); i++) {
+                out.put(shards.get(i), futures.get(i).get());
+            }
+            return out;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading departments", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException r) throw r;
+            throw new IllegalStateException("Department read failed", e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private <T> T timed(String shard, java.util.function.Supplier<T> read) {
+        return Timer.builder("grievance.shard.read").tag("department", shard).register(registry).record(read);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+package com.smartgrievance.shard;
+
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.User;
+
+import java.util.List;
+
+// Decides which department (logical shard) a grievance belongs to and which departments
+// a signed-in user may read. Feedback rows carry their department, every department-scoped
+// query filters on it, and cross-department reads go through ShardExecutor one department
+// at a time, so the resolver is the single place that knows how data is partitioned.
+public interface ShardResolver {
+    String name();
+
+    // Every department, in a stable order
+    List<String> shards();
+
+    // Department a new submission of this type is filed under
+    String shardFor(FeedbackType type);
+
+    // The user's own department, or every department for users who have none
+    List<String> visibleTo(User principal);
+
+    default boolean isKnown(String shard) {
+        return shards().contains(shard);
+    }
+
+    // Rejects an unknown department; null is allowed and means "not scoped"
+    default String checkDepartment(String department) {
+        if (department == null || department.isBlank()) return null;
+        if (!isKnown(department)) {
+            throw new IllegalArgumentException("Unknown department: " + department);
+        }
+        return department;
+    }
+}
@@ -0,0 +1,27 @@
+package com.smartgrievance.shard;
+
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Turns partitioning off: everything is filed under one department and everyone sees it.
+@Component
+@ConditionalOnProperty(name = "app.sharding.mode", havingValue = "single")
+public class SingleShardResolver implements ShardResolver {
+    public static final String SHARD = "general";
+
+    @Override
+    public String name() { return "single"; }
+
+    @Override
+    public List<String> shards() { return List.of(SHARD); }
+
+    @Override
+    public String shardFor(FeedbackType type) { return SHARD; }
+
+    @Override
+    public List<String> visibleTo(User principal) { return List.of(SHARD); }
+}
@@ -0,0 +1,3 @@
+package com.smartgrievance.storage;
+
+public record BlobInfo(String key, long size, String contentType) {}
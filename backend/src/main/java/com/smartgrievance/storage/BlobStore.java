@@ -0,0 +1,47 @@
+package com.smartgrievance.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// Where uploaded files live, chosen with app.storage.type. Keys are flat names made of
+// [A-Za-z0-9._-]; every node of a deployment must see the same store.
+public interface BlobStore {
+    String name();
+
+    // size is the exact stream length, or -1 when unknown
+    BlobInfo put(String key, InputStream in, long size, String contentType) throws IOException;
+
+    Optional<BlobInfo> stat(String key) throws IOException;
+
+    // Bytes [offset, offset + length) of the blob; length -1 reads to the end
+    InputStream get(String key, long offset, long length) throws IOException;
+
+    boolean delete(String key) throws IOException;
+
+    // A URL clients can fetch the blob from directly, when the store supports it
+    default Optional<URI> presignedGet(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    // A fresh random key that keeps a short alphanumeric extension of the original name
+    static String newKey(String originalFilename) {
+        String ext = "";
+        int dot = originalFilename == null ? -1 : originalFilename.lastIndexOf('.');
+        if (dot >= 0) {
+            String candidate = originalFilename.substring(dot + 1);
+            if (candidate.matches("[A-Za-z0-9]{1,10}")) ext = "." + candidate.toLowerCase();
+        }
+        return UUID.randomUUID() + ext;
+    }
+
+    static String checkKey(String key) {
+        if (key == null || key.isEmpty() || key.length() > 200 || key.startsWith(".") || !key.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid blob key");
+        }
+        return key;
+    }
+}
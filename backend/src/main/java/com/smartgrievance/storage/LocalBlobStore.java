@@ -0,0 +1,98 @@
+package com.smartgrievance.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+// Files under app.storage.local.dir. Only correct for a single node, or when the
+// directory is a shared mount. Uploads go to a temporary file first and are moved into
+// place, so a half-written upload is never served.
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+    private final Path dir;
+
+    public LocalBlobStore(@Value("${app.storage.local.dir:uploads}") String dir) throws IOException {
+        this.dir = Files.createDirectories(Path.of(dir)).toAbsolutePath();
+    }
+
+    @Override
+    public String name() { return "local"; }
+
+    @Override
+    public BlobInfo put(String key, InputStream in, long size, String contentType) throws IOException {
+        Path target = path(key);
+        Path tmp = Files.createTempFile(dir, ".upload-", ".tmp");
+        try {
+            long written = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new BlobInfo(key, written, contentType);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        Path p = path(key);
+        if (!Files.isRegularFile(p)) return Optional.empty();
+        return Optional.of(new BlobInfo(key, Files.size(p), Files.probeContentType(p)));
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        SeekableByteChannel channel = Files.newByteChannel(path(key));
+        channel.position(offset);
+        InputStream in = Channels.newInputStream(channel);
+        return length < 0 ? in : new BoundedInputStream(in, length);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        try {
+            Files.delete(path(key));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private Path path(String key) {
+        return dir.resolve(BlobStore.checkKey(key));
+    }
+
+    private static final class BoundedInputStream extends java.io.FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.smartgrievance.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// S3 or any S3-compatible service (MinIO, Ceph, S3Mock for local runs). Uploads up to
+// one part are a single PUT; larger or unknown-length streams become a multipart upload
+// read part by part, so at most one part is buffered per upload. Reads pass a Range
+// header, and presignedGet lets clients download straight from the bucket.
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(S3BlobStore.class);
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final int partSize;
+
+    public S3BlobStore(@Value("${app.storage.s3.endpoint:}") String endpoint,
+                       @Value("${app.storage.s3.region:us-east-1}") String region,
+                       @Value("${app.storage.s3.bucket}") String bucket,
+                       @Value("${app.storage.s3.access-key:}") String accessKey,
+                       @Value("${app.storage.s3.secret-key:}") String secretKey,
+                       @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+                       @Value("${app.storage.s3.part-size-mb:8}") int partSizeMb,
+                       @Value("${app.storage.s3.create-bucket:false}") boolean createBucket) {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration s3Config = S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build();
+        var clientBuilder = S3Client.builder().region(Region.of(region)).credentialsProvider(credentials).serviceConfiguration(s3Config);
+        var presignerBuilder = S3Presigner.builder().region(Region.of(region)).credentialsProvider(credentials).serviceConfiguration(s3Config);
+        if (!endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+        this.s3 = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+        this.bucket = bucket;
+        this.partSize = Math.max(partSizeMb * 1024 * 1024, MIN_PART_SIZE);
+        if (createBucket) {
+            try {
+                s3.headBucket(b -> b.bucket(bucket));
+            } catch (NoSuchBucketException e) {
+                s3.createBucket(b -> b.bucket(bucket));
+                log.info("Created bucket {}", bucket);
+            }
+        }
+    }
+
+    @Override
+    public String name() { return "s3"; }
+
+    @Override
+    public BlobInfo put(String key, InputStream in, long size, String contentType) throws IOException {
+        BlobStore.checkKey(key);
+        String type = contentType != null ? contentType : "application/octet-stream";
+        if (size >= 0 && size <= partSize) {
+            s3.putObject(b -> b.bucket(bucket).key(key).contentType(type), RequestBody.fromInputStream(in, size));
+            return new BlobInfo(key, size, type);
+        }
+        String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(type)).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] buffer = new byte[partSize];
+            long total = 0;
+            int n;
+            while ((n = in.readNBytes(buffer, 0, partSize)) > 0) {
+                int partNumber = parts.size() + 1;
+                String etag = s3.uploadPart(b -> b.bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber),
+                        RequestBody.fromBytes(n == partSize ? buffer : java.util.Arrays.copyOf(buffer, n))).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+                total += n;
+                if (n < partSize) break;
+            }
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(parts)));
+            return new BlobInfo(key, total, type);
+        } catch (RuntimeException | IOException e) {
+            try {
+                s3.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        BlobStore.checkKey(key);
+        try {
+            HeadObjectResponse head = s3.headObject(b -> b.bucket(bucket).key(key));
+            return Optional.of(new BlobInfo(key, head.contentLength(), head.contentType()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return Optional.empty();
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        BlobStore.checkKey(key);
+        String range = offset == 0 && length < 0 ? null
+                : "bytes=" + offset + "-" + (length < 0 ? "" : String.valueOf(offset + length - 1));
+        return s3.getObject(b -> b.bucket(bucket).key(key).range(range));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        BlobStore.checkKey(key);
+        s3.deleteObject(b -> b.bucket(bucket).key(key));
+        return true;
+    }
+
+    @Override
+    public Optional<URI> presignedGet(String key, Duration ttl) {
+        BlobStore.checkKey(key);
+        try {
+            return Optional.of(presigner.presignGetObject(p -> p.signatureDuration(ttl)
+                    .getObjectRequest(g -> g.bucket(bucket).key(key))).url().toURI());
+        } catch (java.net.URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        presigner.close();
+        s3.close();
+    }
+}
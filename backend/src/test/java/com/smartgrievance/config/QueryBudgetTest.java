@@ -0,0 +1,236 @@
+package com.smartgrievance.config;
+
+import com.smartgrievance.model.Feedback;
+import com.smartgrievance.model.FeedbackStatus;
+import com.smartgrievance.model.FeedbackType;
+import com.smartgrievance.model.Role;
+import com.smartgrievance.model.SubmissionType;
+import com.smartgrievance.model.User;
+import com.smartgrievance.repository.FeedbackRepository;
+import com.smartgrievance.repository.UserRepository;
+import com.smartgrievance.service.OfficerAssignmentEngine;
+import com.smartgrievance.service.OfficerWorkQueue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls the endpoints as the role that uses them with the SQL audit on and fails when a
+// request ran more statements than its budget (app.sql-audit.budgets) or repeated a
+// select. Each scenario runs twice and only the second pass counts, so one-off cache
+// warm-up is not charged. QueryBudgetCheck in backend-benchmarks runs the same checks on
+// a larger data set.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.sql-audit.enabled=true")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+    private static final String PASSWORD = "budget123";
+    private static final int CITIZENS = 20;
+    private static final int OFFICERS = 4;
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private SqlStatementRecorder recorder;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private OfficerAssignmentEngine assignmentEngine;
+    @Autowired
+    private OfficerWorkQueue workQueue;
+
+    private final List<User> officers = new ArrayList<>();
+    private final List<User> citizens = new ArrayList<>();
+    private final List<Feedback> feedbacks = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    interface Scenario {
+        void run(int pass);
+    }
+
+    @BeforeAll
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < OFFICERS; i++) officers.add(user("Officer " + i, "officer" + i + "@budget.test", hash, Role.OFFICER));
+        for (int i = 0; i < CITIZENS; i++) citizens.add(user("Citizen " + i, "citizen" + i + "@budget.test", hash, Role.CITIZEN));
+        List<User> savedOfficers = users.saveAll(officers);
+        List<User> savedCitizens = users.saveAll(citizens);
+        officers.clear();
+        officers.addAll(savedOfficers);
+        citizens.clear();
+        citizens.addAll(savedCitizens);
+
+        FeedbackType[] types = FeedbackType.values();
+        FeedbackStatus[] statuses = {FeedbackStatus.SUBMITTED, FeedbackStatus.IN_PROGRESS, FeedbackStatus.RESOLVED};
+        List<Feedback> batch = new ArrayList<>();
+        for (int i = 0; i < CITIZENS * 6; i++) {
+            Feedback f = new Feedback();
+            f.setTitle("Seeded grievance " + i);
+            f.setDescription("Seeded by the query budget test.");
+            f.setPublic(i % 4 != 0);
+            f.setAnonymous(i % 4 == 0);
+            f.setType(types[i % types.length]);
+            f.setCitizen(citizens.get(i % CITIZENS));
+            // every citizen's first three items are SUBMITTED grievances, the second one
+            // past its deadline so it can be escalated; the rest are spread over the officers
+            if (i < CITIZENS * 3) {
+                f.setSubmissionType(SubmissionType.GRIEVANCE);
+                f.setStatus(FeedbackStatus.SUBMITTED);
+                if (i / CITIZENS == 1) f.setDeadline(LocalDateTime.now().minusDays(1));
+            } else {
+                f.setSubmissionType(i % 2 == 0 ? SubmissionType.GRIEVANCE : SubmissionType.FEEDBACK);
+                f.setStatus(statuses[i % statuses.length]);
+                if (f.getStatus() != FeedbackStatus.SUBMITTED) f.setAssignedOfficer(officers.get(i % OFFICERS));
+            }
+            batch.add(f);
+        }
+        feedbacks.addAll(feedbackRepository.saveAll(batch));
+        assignmentEngine.rebuild();
+        workQueue.rebuild();
+    }
+
+    @Test
+    void citizenEndpointsStayWithinBudget() {
+        assertWithinBudget(pass -> {
+            User citizen = citizens.get(pass);
+            String token = login(citizen.getEmail());
+            List<Feedback> own = ownedBy(citizen);
+            call(HttpMethod.GET, "/api/auth/me", null, token);
+            call(HttpMethod.GET, "/api/me", null, token);
+            call(HttpMethod.PUT, "/api/me", Map.of("name", "Citizen renamed"), token);
+            call(HttpMethod.GET, "/api/feedback/my", null, token);
+            call(HttpMethod.GET, "/api/feedback/my?includeArchived=true", null, token);
+            call(HttpMethod.GET, "/api/feedback/my?fields=id,title,status,officerName", null, token);
+            call(HttpMethod.GET, "/api/feedback/" + own.get(0).getId() + "/attachments", null, token);
+            call(HttpMethod.POST, "/api/feedback", Map.of(
+                    "title", "Budget test " + pass,
+                    "description", "Submitted by the query budget test.",
+                    "isPublic", true,
+                    "isAnonymous", false,
+                    "type", "WATER_SUPPLY",
+                    "submissionType", "GRIEVANCE"), token);
+            call(HttpMethod.POST, "/api/feedback/" + own.get(1).getId() + "/escalate", null, token);
+            call(HttpMethod.POST, "/api/feedback/" + own.get(2).getId() + "/withdraw", null, token);
+            call(HttpMethod.GET, "/api/feedback/officer/" + officers.get(pass).getEmail() + "/rating", null, token);
+            call(HttpMethod.GET, "/api/public/feedback", null, null);
+        });
+    }
+
+    @Test
+    void officerEndpointsStayWithinBudget() {
+        assertWithinBudget(pass -> {
+            User officer = officers.get(pass);
+            String token = login(officer.getEmail());
+            Feedback assigned = feedbacks.stream()
+                    .filter(f -> f.getAssignedOfficer() != null && f.getAssignedOfficer().getId().equals(officer.getId())
+                            && f.getStatus() == FeedbackStatus.IN_PROGRESS)
+                    .findFirst()
+                    .orElseThrow();
+            call(HttpMethod.GET, "/api/feedback/assigned", null, token);
+            call(HttpMethod.GET, "/api/feedback/assigned?fields=id,title,status,citizenName", null, token);
+            call(HttpMethod.GET, "/api/feedback/assigned/next?limit=10", null, token);
+            call(HttpMethod.GET, "/api/feedback/assigned/counts", null, token);
+            call(HttpMethod.GET, "/api/feedback/statistics", null, token);
+            call(HttpMethod.PUT, "/api/feedback/" + assigned.getId() + "/status?status=RESOLVED", null, token);
+            call(HttpMethod.POST, "/api/feedback/" + assigned.getId() + "/rating", Map.of("rating", 4, "comment", "ok"),
+                    login(assigned.getCitizen().getEmail()));
+        });
+    }
+
+    @Test
+    void adminEndpointsStayWithinBudget() {
+        assertWithinBudget(pass -> {
+            String token = loginAs("admin@example.com", "admin123");
+            User officer = officers.get(OFFICERS - 1 - pass);
+            // SUBMITTED grievances of citizens the other scenarios do not touch; messages
+            // only go to escalated ones
+            User owner = citizens.get(CITIZENS / 2 + pass);
+            List<Feedback> untouched = ownedBy(owner);
+            call(HttpMethod.POST, "/api/feedback/" + untouched.get(1).getId() + "/escalate", null, login(owner.getEmail()));
+            call(HttpMethod.GET, "/api/admin/departments", null, token);
+            call(HttpMethod.GET, "/api/admin/users?size=50", null, token);
+            call(HttpMethod.GET, "/api/admin/officers", null, token);
+            call(HttpMethod.GET, "/api/admin/feedbacks", null, token);
+            call(HttpMethod.GET, "/api/admin/feedbacks?fields=id,title,status,citizenName,citizenEmail,officerEmail", null, token);
+            call(HttpMethod.GET, "/api/admin/feedbacks/counts", null, token);
+            call(HttpMethod.GET, "/api/admin/feedbacks/statistics", null, token);
+            call(HttpMethod.GET, "/api/admin/feedbacks/trends?granularity=DAY", null, token);
+            call(HttpMethod.GET, "/api/admin/feedbacks/export?format=csv", null, token);
+            call(HttpMethod.PUT, "/api/admin/feedbacks/" + untouched.get(0).getId() + "/assign?officerId=" + officer.getId(), null, token);
+            call(HttpMethod.PUT, "/api/admin/feedbacks/" + untouched.get(0).getId() + "/deadline", Map.of("deadline", "2030-01-01T12:00:00"), token);
+            call(HttpMethod.PUT, "/api/admin/feedbacks/" + untouched.get(1).getId() + "/message", Map.of("message", "Please look at this"), token);
+            call(HttpMethod.GET, "/api/admin/assignments/workload", null, token);
+            call(HttpMethod.POST, "/api/admin/assignments/suggest", Map.of("limit", 20), token);
+            call(HttpMethod.PUT, "/api/admin/users/" + citizens.get(CITIZENS - 1 - pass).getId() + "/role?role=CITIZEN", null, token);
+            call(HttpMethod.DELETE, "/api/feedback/" + untouched.get(2).getId(), null, token);
+        });
+    }
+
+    private void assertWithinBudget(Scenario scenario) {
+        scenario.run(0);
+        recorder.clear();
+        failures.clear();
+        scenario.run(1);
+        List<String> violations = recorder.violations().stream()
+                .map(v -> v.kind() == SqlStatementRecorder.Kind.BUDGET
+                        ? v.endpoint() + " ran " + v.statements() + " statements, budget " + v.limit()
+                        : v.endpoint() + " ran the same select " + v.statements() + " times: " + v.sql())
+                .toList();
+        assertThat(failures).isEmpty();
+        assertThat(violations).isEmpty();
+    }
+
+    private List<Feedback> ownedBy(User citizen) {
+        return feedbacks.stream().filter(f -> f.getCitizen().getId().equals(citizen.getId())).toList();
+    }
+
+    private String login(String email) {
+        return loginAs(email, PASSWORD);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private String loginAs(String email, String password) {
+        ResponseEntity<Map> res = rest.postForEntity("/api/auth/login", Map.of("email", email, "password", password), Map.class);
+        assertThat(res.getStatusCode().value()).as("login of %s", email).isEqualTo(200);
+        return (String) res.getBody().get("token");
+    }
+
+    private void call(HttpMethod method, String path, Object body, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON, MediaType.ALL));
+        // also without a body, or the client sends a form content type
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) headers.setBearerAuth(token);
+        ResponseEntity<String> res = rest.exchange(path, method, new HttpEntity<>(body, headers), String.class);
+        if (res.getStatusCode().isError()) failures.add(method + " " + path + " returned HTTP " + res.getStatusCode().value());
+    }
+
+    private static User user(String name, String email, String hash, Role role) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setPassword(hash);
+        u.setRole(role);
+        return u;
+    }
+}
@@ -54,7 +54,7 @@ export default function OfficerProfile({ officerEmail, onClose }: OfficerProfile
 
             // Get cases handled (resolved feedbacks) - admin only
             try {
-              const feedbacks = await api.adminFeedbacks(token);
+              const feedbacks = await api.adminFeedbacks(token, 'status,officerEmail');
               const handled = feedbacks.filter((f: any) => 
                 f.officerEmail === officerEmail && f.status === 'RESOLVED'
               ).length;
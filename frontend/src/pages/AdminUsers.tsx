@@ -2,37 +2,59 @@ import { useEffect, useState } from 'react';
 import { api } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import { Link } from 'react-router-dom';
+import type { UserRole } from '../types';
+
+const PAGE_SIZE = 50;
 
 export default function AdminUsers() {
   const { token } = useAuth();
   const [users, setUsers] = useState<any[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [roleFilter, setRoleFilter] = useState<UserRole | 'ALL'>('ALL');
+  const [sort, setSort] = useState<'EMAIL' | 'NAME'>('EMAIL');
+  const [query, setQuery] = useState('');
   const [error, setError] = useState<string | null>(null);
-  const [newUser, setNewUser] = useState({ name: '', email: '', password: '', role: 'CITIZEN' });
+  const [newUser, setNewUser] = useState({ name: '', email: '', password: '', role: 'CITIZEN', department: '' });
+  const [departments, setDepartments] = useState<string[]>([]);
   const [editing, setEditing] = useState<any | null>(null);
 
-  async function load() {
+  // The server pages and searches; cursor continues the current listing
+  async function load(cursor: string | null = null) {
     if (!token) return;
     try {
       setError(null);
-      const u = await api.adminUsers(token);
-      setUsers(u);
+      const page = await api.adminUsers(token, {
+        role: roleFilter === 'ALL' ? undefined : roleFilter,
+        q: query.trim() || undefined,
+        sort,
+        cursor,
+        size: PAGE_SIZE
+      });
+      setUsers(prev => cursor ? [...prev, ...page.items] : page.items);
+      setNextCursor(page.nextCursor);
     } catch (e: any) { setError(e.message || 'Failed to load users'); }
   }
-  useEffect(() => { load(); }, [token]);
+  useEffect(() => {
+    const t = setTimeout(() => { load(); }, 250);
+    return () => clearTimeout(t);
+  }, [token, roleFilter, sort, query]);
+  useEffect(() => {
+    if (token) api.adminDepartments(token).then(setDepartments).catch(() => setDepartments([]));
+  }, [token]);
 
   async function createUser(e: React.FormEvent) {
     e.preventDefault(); if (!token) return;
     try {
       await api.adminCreateUser(token, newUser as any);
-      setNewUser({ name: '', email: '', password: '', role: 'CITIZEN' });
+      setNewUser({ name: '', email: '', password: '', role: 'CITIZEN', department: '' });
       await load();
     } catch (e: any) { setError(e.message || 'Create failed'); }
   }
   async function saveEdit(e: React.FormEvent) {
     e.preventDefault(); if (!token || !editing) return;
     try {
-      const { id, name, email, role, password } = editing;
-      await api.adminUpdateUser(token, id, { name, email, role, password: password || undefined } as any);
+      const { id, name, email, role, password, department } = editing;
+      await api.adminUpdateUser(token, id, { name, email, role, password: password || undefined, department: department || '' } as any);
       setEditing(null);
       await load();
     } catch (e: any) { setError(e.message || 'Update failed'); }
@@ -67,18 +89,35 @@ export default function AdminUsers() {
               <option value="OFFICER">OFFICER</option>
               <option value="ADMIN">ADMIN</option>
             </select>
+            <select value={newUser.department} onChange={e => setNewUser({ ...newUser, department: e.target.value })}>
+              <option value="">All departments</option>
+              {departments.map(d => <option key={d} value={d}>{d}</option>)}
+            </select>
             <button className="btn btn-primary" type="submit">Create</button>
           </div>
         </form>
       </section>
 
       <section>
-        <h3>Users ({users.length})</h3>
+        <h3>Users</h3>
+        <div className="row" style={{ marginBottom: 12 }}>
+          <input placeholder={sort === 'EMAIL' ? 'Email starts with…' : 'Name starts with…'} value={query} onChange={e => setQuery(e.target.value)} />
+          <select value={sort} onChange={e => setSort(e.target.value as 'EMAIL' | 'NAME')}>
+            <option value="EMAIL">By email</option>
+            <option value="NAME">By name</option>
+          </select>
+          <select value={roleFilter} onChange={e => setRoleFilter(e.target.value as UserRole | 'ALL')}>
+            <option value="ALL">All roles</option>
+            <option value="CITIZEN">CITIZEN</option>
+            <option value="OFFICER">OFFICER</option>
+            <option value="ADMIN">ADMIN</option>
+          </select>
+        </div>
         <ul className="list">
           {users.map(u => (
             <li key={u.id} className="list-item">
               <div className="list-main">
-                <div>{u.name} · {u.email} · <span className="badge">{u.role}</span></div>
+                <div>{u.name} · {u.email} · <span className="badge">{u.role}</span>{u.department && <> · <span className="badge">{u.department}</span></>}</div>
                 <div>
                   <button className="btn btn-outline" onClick={() => setEditing({ ...u, password: '' })}>Edit</button>
                   <button className="btn btn-outline" onClick={() => deleteUser(u.id)}>Delete</button>
@@ -94,6 +133,10 @@ export default function AdminUsers() {
                       <option value="OFFICER">OFFICER</option>
                       <option value="ADMIN">ADMIN</option>
                     </select>
+                    <select value={editing.department || ''} onChange={e => setEditing({ ...editing, department: e.target.value })}>
+                      <option value="">All departments</option>
+                      {departments.map(d => <option key={d} value={d}>{d}</option>)}
+                    </select>
                     <input placeholder="New password (optional)" type="password" value={editing.password || ''} onChange={e => setEditing({ ...editing, password: e.target.value })} />
                     <button className="btn btn-primary" type="submit">Save</button>
                     <button type="button" className="btn btn-outline" onClick={() => setEditing(null)}>Cancel</button>
@@ -103,6 +146,9 @@ export default function AdminUsers() {
             </li>
           ))}
         </ul>
+        {nextCursor && (
+          <button className="btn btn-outline" onClick={() => load(nextCursor)}>Load more</button>
+        )}
       </section>
     </div>
   );
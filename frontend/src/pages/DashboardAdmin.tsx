@@ -1,10 +1,12 @@
 import { useEffect, useState } from 'react';
+import { Link } from 'react-router-dom';
 import { api } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 
 export default function DashboardAdmin() {
   const { token } = useAuth();
   const [users, setUsers] = useState<any[]>([]);
+  const [moreUsers, setMoreUsers] = useState(false);
   const [officers, setOfficers] = useState<any[]>([]);
   const [feedbacks, setFeedbacks] = useState<any[]>([]);
   const [loading, setLoading] = useState(true);
@@ -21,9 +23,11 @@ export default function DashboardAdmin() {
       const [u, o, f] = await Promise.all([
         api.adminUsers(token),
         api.adminOfficers(token),
-        api.adminFeedbacks(token)
+        api.adminFeedbacks(token, 'id,title,status,citizenName,citizenEmail,officerEmail')
       ]);
-      setUsers(u);
+      // first page only; the full directory is paged on /admin/users
+      setUsers(u.items);
+      setMoreUsers(u.nextCursor != null);
       setOfficers(o);
       setFeedbacks(f);
     } catch (e: any) {
@@ -91,7 +95,7 @@ export default function DashboardAdmin() {
       </section>
 
       <section>
-        <h3>Users ({users.length})</h3>
+        <h3>Users ({users.length}{moreUsers ? '+' : ''})</h3>
         <ul className="list">
           {users.map(u => (
             <li key={u.id} className="list-item">
@@ -121,6 +125,7 @@ export default function DashboardAdmin() {
             </li>
           ))}
         </ul>
+        {moreUsers && <Link to="/admin/users">More users</Link>}
       </section>
 
       <section>
@@ -147,8 +152,8 @@ export default function DashboardAdmin() {
             </thead>
             <tbody>
               {feedbacks.map((f: any) => {
-                const citizen = f.isAnonymous ? 'Anonymous user' : `${f.citizen?.name || ''} · ${f.citizen?.email || ''}`;
-                const officer = f.assignedOfficer ? `${f.assignedOfficer.name || ''} · ${f.assignedOfficer.email || ''}` : '-';
+                const citizen = f.citizenEmail ? `${f.citizenName} · ${f.citizenEmail}` : f.citizenName;
+                const officer = f.officerEmail || '-';
                 return (
                   <tr key={f.id}>
                     <td>#{f.id}</td>
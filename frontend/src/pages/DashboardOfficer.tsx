@@ -1,7 +1,7 @@
 import { useEffect, useMemo, useState } from 'react';
 import { api } from '../services/api';
 import { useAuth } from '../context/AuthContext';
-import type { FeedbackType, StatisticsResponse } from '../types';
+import type { FeedbackType, StatisticsResponse, WorkQueueItem } from '../types';
 import StatisticsChart from '../components/StatisticsChart';
 
 const STATUSES = ['SUBMITTED', 'IN_PROGRESS', 'RESOLVED', 'REJECTED', 'ESCALATED'] as const;
@@ -13,6 +13,7 @@ type RowState = { [id: number]: Status };
 export default function DashboardOfficer() {
   const { token, user } = useAuth();
   const [items, setItems] = useState<any[]>([]);
+  const [nextUp, setNextUp] = useState<WorkQueueItem[]>([]);
   const [counts, setCounts] = useState<{ unresolved: number; assigned: number; rejected: number; total: number } | null>(null);
   const [rowStatus, setRowStatus] = useState<RowState>({});
   const [loading, setLoading] = useState(true);
@@ -33,12 +34,14 @@ export default function DashboardOfficer() {
     setLoading(true);
     setError(null);
     try {
-      const [data, c, stats] = await Promise.all([
+      const [data, c, stats, queue] = await Promise.all([
         api.officerAssigned(token),
         api.officerCounts(token),
-        api.officerStatistics(token).catch(() => null)
+        api.officerStatistics(token).catch(() => null),
+        api.officerQueue(token, 0, 5).catch(() => null)
       ]);
       setItems(data);
+      setNextUp(queue ? queue.items : []);
       setCounts(c);
       if (stats) setStatistics(stats);
       const initial: RowState = {};
@@ -198,6 +201,23 @@ export default function DashboardOfficer() {
         </div>
       )}
 
+      {nextUp.length > 0 && (
+        <div className="card" style={{ margin: '12px 0' }}>
+          <div className="stat-title">Next up</div>
+          <ol style={{ margin: '8px 0 0', paddingLeft: 20 }}>
+            {nextUp.map(q => (
+              <li key={q.id}>
+                <strong>#{q.id}</strong> {q.title}
+                <span className={q.overdue ? 'error' : 'muted'} style={{ marginLeft: 8 }}>
+                  {q.overdue ? 'overdue since' : 'due'} {new Date(q.dueAt).toLocaleString()}
+                  {q.escalationLevel > 0 ? ` · escalated ×${q.escalationLevel}` : ''}
+                </span>
+              </li>
+            ))}
+          </ol>
+        </div>
+      )}
+
       {loading && <div>Loading assigned feedback...</div>}
       {error && <div className="error">{error}</div>}
 
@@ -17,6 +17,8 @@ export default function FeedbackForm() {
   const [photoFile, setPhotoFile] = useState<File | null>(null);
   const [photoPreview, setPhotoPreview] = useState<string | null>(null);
   const [photoUrl, setPhotoUrl] = useState<string | null>(null);
+  const [files, setFiles] = useState<File[]>([]);
+  const [progress, setProgress] = useState<string | null>(null);
 
   async function onSubmit(e: FormEvent) {
     e.preventDefault();
@@ -29,6 +31,13 @@ export default function FeedbackForm() {
       if (submissionType === 'GRIEVANCE' && photoFile) {
         uploadedPhotoUrl = await api.uploadPhoto(token, photoFile);
       }
+      const attachmentIds: number[] = [];
+      for (const [i, file] of files.entries()) {
+        const a = await api.uploadAttachment(token, file, (sent, total) =>
+          setProgress(`Uploading ${file.name} (${i + 1}/${files.length}): ${Math.round(100 * sent / total)}%`));
+        attachmentIds.push(a.id);
+      }
+      setProgress(null);
       await api.submitFeedback(token, { 
         title, 
         description, 
@@ -36,7 +45,8 @@ export default function FeedbackForm() {
         isAnonymous, 
         type, 
         submissionType,
-        photoUrl: uploadedPhotoUrl
+        photoUrl: uploadedPhotoUrl,
+        attachmentIds
       });
       setTitle('');
       setDescription('');
@@ -47,10 +57,12 @@ export default function FeedbackForm() {
       setPhotoFile(null);
       setPhotoPreview(null);
       setPhotoUrl(null);
+      setFiles([]);
       setMessage('Submitted successfully');
     } catch (err: any) {
       setMessage(err.message || 'Submission failed');
     } finally {
+      setProgress(null);
       setLoading(false);
     }
   }
@@ -134,6 +146,18 @@ export default function FeedbackForm() {
             )}
           </label>
         )}
+        <label>
+          <span>Attachments (Optional, up to 10)</span>
+          <input
+            type="file"
+            multiple
+            accept="image/*,video/*,application/pdf"
+            onChange={(e) => setFiles(Array.from(e.target.files ?? []).slice(0, 10))}
+          />
+          {files.length > 0 && (
+            <div className="small">{files.map(f => `${f.name} (${(f.size / (1024 * 1024)).toFixed(1)} MB)`).join(', ')}</div>
+          )}
+        </label>
         <div className="row">
           <label className="checkbox">
             <input
@@ -154,6 +178,7 @@ export default function FeedbackForm() {
             <span>Anonymous</span>
           </label>
         </div>
+        {progress && <div className="info">{progress}</div>}
         {message && <div className={message.includes('success') ? 'info' : 'error'}>{message}</div>}
         <button className="btn btn-primary" disabled={loading || !canSubmit}>{loading ? 'Submitting...' : 'Submit'}</button>
       </form>
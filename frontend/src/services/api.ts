@@ -1,4 +1,4 @@
-import type { AuthResponse, FeedbackPayload, FeedbackStatusItem, User, OfficerRating } from '../types';
+import type { AuthResponse, FeedbackPayload, FeedbackStatusItem, User, UserRole, OfficerRating, TrendPoint, PublicFeedPage, FeedbackType, MutationResult, WorkQueuePage, UserPage, Attachment, UploadSession } from '../types';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api';
 
@@ -13,9 +13,9 @@ async function request<T>(path: string, options: RequestInit = {}, token?: strin
   // Ensure token is valid before adding to headers
   if (token && token.trim()) {
     headers['Authorization'] = `Bearer ${token.trim()}`;
-  } else if (!path.includes('/auth/') && !path.includes('/files/upload') && !path.includes('/officer/') && !path.includes('/rating')) {
+  } else if (!path.includes('/auth/') && !path.includes('/files/upload') && !path.includes('/officer/') && !path.includes('/rating') && !path.startsWith('/public/')) {
     // If token is required but missing, throw error
-    // Allow public endpoints: /auth/, /files/upload, and /officer/*/rating
+    // Allow public endpoints: /auth/, /files/upload, /officer/*/rating and /public/*
     throw new Error('Authentication required. Please log in again.');
   }
   const res = await fetch(`${API_BASE_URL}${path}`, {
@@ -90,37 +90,97 @@ export const api = {
     return url.startsWith('http') ? url : `${API_BASE_URL.replace('/api', '')}${url}`;
   },
 
+  // Resumable upload through /api/uploads: sends the file in chunks and, when a chunk
+  // fails, asks the server how far it got and carries on from there
+  uploadAttachment: async (token: string, file: File, onProgress?: (sent: number, total: number) => void): Promise<Attachment> => {
+    // the whole file is hashed in memory, so only smaller files carry a checksum
+    let sha256: string | undefined;
+    if (file.size <= 64 * 1024 * 1024 && crypto?.subtle) {
+      const digest = await crypto.subtle.digest('SHA-256', await file.arrayBuffer());
+      sha256 = Array.from(new Uint8Array(digest)).map(b => b.toString(16).padStart(2, '0')).join('');
+    }
+    const session = await request<UploadSession>('/uploads', {
+      method: 'POST',
+      body: JSON.stringify({ filename: file.name, contentType: file.type || undefined, size: file.size, sha256 })
+    }, token);
+    const chunkSize = Math.min(session.maxChunkBytes, 4 * 1024 * 1024);
+    const auth = { 'Authorization': `Bearer ${token.trim()}` };
+    let offset = 0;
+    let failures = 0;
+    while (offset < file.size) {
+      try {
+        const res = await fetch(`${API_BASE_URL}/uploads/${session.id}`, {
+          method: 'PUT',
+          headers: { ...auth, 'Content-Type': 'application/octet-stream', 'Upload-Offset': String(offset) },
+          body: file.slice(offset, offset + chunkSize)
+        });
+        if (!res.ok && res.status !== 409) throw new Error((await res.text()) || `HTTP ${res.status}`);
+        offset = Number(res.headers.get('Upload-Offset') ?? offset);
+        failures = 0;
+      } catch (err) {
+        if (++failures > 5) throw err;
+        await new Promise(r => setTimeout(r, 1000 * 2 ** failures));
+        const head = await fetch(`${API_BASE_URL}/uploads/${session.id}`, { method: 'HEAD', headers: auth });
+        if (!head.ok) throw err;
+        offset = Number(head.headers.get('Upload-Offset') ?? 0);
+      }
+      onProgress?.(offset, file.size);
+    }
+    return request<Attachment>(`/uploads/${session.id}/complete`, { method: 'POST' }, token);
+  },
+
+  feedbackAttachments: (token: string, id: number | string) =>
+    request<Attachment[]>(`/feedback/${id}/attachments`, {}, token),
+
+  // Public transparency feed (no login)
+  publicFeed: (params: { type?: FeedbackType; status?: string; page?: number; size?: number } = {}) => {
+    const q = new URLSearchParams();
+    if (params.type) q.set('type', params.type);
+    if (params.status) q.set('status', params.status);
+    q.set('page', String(params.page ?? 0));
+    q.set('size', String(params.size ?? 20));
+    return request<PublicFeedPage>(`/public/feedback?${q.toString()}`);
+  },
+
   // Citizen status
-  myFeedback: (token: string) =>
-    request<FeedbackStatusItem[]>('/feedback/my', {}, token),
+  myFeedback: (token: string, includeArchived = false) =>
+    request<FeedbackStatusItem[]>(`/feedback/my${includeArchived ? '?includeArchived=true' : ''}`, {}, token),
 
   escalateGrievance: (token: string, id: number) =>
-    request<any>(`/feedback/${id}/escalate`, {
+    request<MutationResult>(`/feedback/${id}/escalate`, {
       method: 'POST',
       body: JSON.stringify({})
     }, token),
   withdrawFeedback: (token: string, id: number) =>
-    request<any>(`/feedback/${id}/withdraw`, { method: 'POST' }, token),
+    request<MutationResult>(`/feedback/${id}/withdraw`, { method: 'POST' }, token),
   deleteFeedback: (token: string, id: number) =>
     request<void>(`/feedback/${id}`, { method: 'DELETE' }, token),
 
   // Admin
-  adminUsers: (token: string) =>
-    request<User[]>('/admin/users', {}, token),
+  adminUsers: (token: string, params: { role?: UserRole; q?: string; sort?: 'EMAIL'|'NAME'; cursor?: string | null; size?: number } = {}) => {
+    const query = new URLSearchParams();
+    if (params.role) query.set('role', params.role);
+    if (params.q) query.set('q', params.q);
+    if (params.sort) query.set('sort', params.sort);
+    if (params.cursor) query.set('cursor', params.cursor);
+    if (params.size) query.set('size', String(params.size));
+    return request<UserPage>(`/admin/users?${query.toString()}`, {}, token);
+  },
   adminOfficers: (token: string) =>
     request<User[]>('/admin/officers', {}, token),
-  adminFeedbacks: (token: string) =>
-    request<any[]>('/admin/feedbacks', {}, token),
+  // fields narrows the rows to those keys (e.g. 'id,title,status')
+  adminFeedbacks: (token: string, fields?: string) =>
+    request<any[]>(fields ? `/admin/feedbacks?fields=${encodeURIComponent(fields)}` : '/admin/feedbacks', {}, token),
   adminAssignFeedback: (token: string, id: number, officerId: number) =>
     request<void>(`/admin/feedbacks/${id}/assign?officerId=${encodeURIComponent(String(officerId))}`,
       { method: 'PUT' }, token),
   adminAssignDeadline: (token: string, id: number, deadline: string) =>
-    request<any>(`/admin/feedbacks/${id}/deadline`, {
+    request<MutationResult>(`/admin/feedbacks/${id}/deadline`, {
       method: 'PUT',
       body: JSON.stringify({ deadline })
     }, token),
   adminSendMessage: (token: string, id: number, message: string) =>
-    request<any>(`/admin/feedbacks/${id}/message`, {
+    request<void>(`/admin/feedbacks/${id}/message`, {
       method: 'PUT',
       body: JSON.stringify({ message })
     }, token),
@@ -129,27 +189,34 @@ export const api = {
       '/admin/feedbacks/counts', {}, token),
   adminStatistics: (token: string) =>
     request<any>('/admin/feedbacks/statistics', {}, token),
-  adminCreateUser: (token: string, payload: { name: string; email: string; password: string; role: 'ADMIN'|'OFFICER'|'CITIZEN' }) =>
+  adminTrends: (token: string, from: string, to: string, granularity: 'HOUR'|'DAY' = 'DAY') =>
+    request<TrendPoint[]>(`/admin/feedbacks/trends?from=${encodeURIComponent(from)}&to=${encodeURIComponent(to)}&granularity=${granularity}`,
+      {}, token),
+  adminCreateUser: (token: string, payload: { name: string; email: string; password: string; role: 'ADMIN'|'OFFICER'|'CITIZEN'; department?: string }) =>
     request<User>('/admin/users', { method: 'POST', body: JSON.stringify(payload) }, token),
-  adminUpdateUser: (token: string, id: number, payload: { name: string; email: string; role?: 'ADMIN'|'OFFICER'|'CITIZEN'; password?: string }) =>
+  adminUpdateUser: (token: string, id: number, payload: { name: string; email: string; role?: 'ADMIN'|'OFFICER'|'CITIZEN'; password?: string; department?: string }) =>
     request<User>(`/admin/users/${id}`, { method: 'PUT', body: JSON.stringify(payload) }, token),
+  adminDepartments: (token: string) =>
+    request<string[]>('/admin/departments', {}, token),
   adminDeleteUser: (token: string, id: number) =>
     request<void>(`/admin/users/${id}`, { method: 'DELETE' }, token),
 
   // Officer
-  officerAssigned: (token: string) =>
-    request<any[]>('/feedback/assigned', {}, token),
+  officerAssigned: (token: string, fields?: string) =>
+    request<any[]>(fields ? `/feedback/assigned?fields=${encodeURIComponent(fields)}` : '/feedback/assigned', {}, token),
+  officerQueue: (token: string, offset = 0, limit = 10) =>
+    request<WorkQueuePage>(`/feedback/assigned/next?offset=${offset}&limit=${limit}`, {}, token),
   officerCounts: (token: string) =>
     request<{ unresolved: number; assigned: number; rejected: number; total: number }>(
       '/feedback/assigned/counts', {}, token),
   officerUpdateStatus: (token: string, id: number, status: 'SUBMITTED'|'IN_PROGRESS'|'RESOLVED'|'REJECTED'|'ESCALATED') =>
-    request<any>(`/feedback/${id}/status?status=${encodeURIComponent(status)}`, { method: 'PUT' }, token),
+    request<MutationResult>(`/feedback/${id}/status?status=${encodeURIComponent(status)}`, { method: 'PUT' }, token),
   officerStatistics: (token: string) =>
     request<any>('/feedback/statistics', {}, token),
 
   // Rating
   submitRating: (token: string, id: number, rating: number, comment?: string) =>
-    request<any>(`/feedback/${id}/rating`, {
+    request<void>(`/feedback/${id}/rating`, {
       method: 'POST',
       body: JSON.stringify({ rating, comment: comment || '' })
     }, token),
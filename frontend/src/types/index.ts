@@ -5,6 +5,13 @@ export interface User {
   name: string;
   email: string;
   role: UserRole;
+  department?: string | null;
+}
+
+// One page of the admin user directory; nextCursor is null on the last page
+export interface UserPage {
+  items: User[];
+  nextCursor: string | null;
 }
 
 export interface AuthResponse {
@@ -22,6 +29,26 @@ export interface FeedbackPayload {
   photoUrl?: string | null;
   type: FeedbackType;
   submissionType: SubmissionType;
+  attachmentIds?: number[];
+}
+
+// A file uploaded through /api/uploads; url is served by /api/files
+export interface Attachment {
+  id: number;
+  url: string;
+  filename: string;
+  contentType: string | null;
+  size: number;
+  sha256: string | null;
+}
+
+export interface UploadSession {
+  id: string;
+  filename: string;
+  size: number;
+  offset: number;
+  maxChunkBytes: number;
+  expiresAt: string;
 }
 
 export interface FeedbackStatusItem {
@@ -43,6 +70,35 @@ export interface FeedbackStatusItem {
   officerEmail?: string | null;
 }
 
+// Returned by status, escalate, withdraw and deadline changes
+export interface MutationResult {
+  id: number;
+  status: string;
+  version: number;
+  updatedAt: string;
+}
+
+// Officer work queue, most urgent first
+export interface WorkQueueItem {
+  id: number;
+  title: string;
+  status: string;
+  type: string | null;
+  submissionType: string;
+  createdAt: string;
+  deadline: string | null;
+  escalationLevel: number;
+  dueAt: string;
+  overdue: boolean;
+  citizenName: string;
+}
+
+export interface WorkQueuePage {
+  items: WorkQueueItem[];
+  offset: number;
+  total: number;
+}
+
 export interface OfficerRating {
   officerEmail: string;
   averageRating: number | null;
@@ -62,6 +118,35 @@ export interface StatisticsResponse {
   submissionTypeDistribution: Record<string, number>;
 }
 
+export interface TrendPoint {
+  bucket: string;
+  type: FeedbackType;
+  submissionType: SubmissionType;
+  fromStatus: string; // 'NEW' for submissions
+  toStatus: string;
+  count: number;
+}
+
+export interface PublicFeedItem {
+  id: number;
+  title: string;
+  description: string;
+  type: FeedbackType;
+  submissionType: SubmissionType;
+  status: string;
+  createdAt: string;
+  updatedAt: string;
+  citizenName: string;
+  photoUrl?: string | null;
+}
+
+export interface PublicFeedPage {
+  items: PublicFeedItem[];
+  page: number;
+  size: number;
+  hasNext: boolean;
+}
+
 export type FeedbackType =
   | 'INFRASTRUCTURE'
   | 'PUBLIC_SAFETY'